@@ -4,4 +4,6 @@ repositories {
 
 dependencies {
     compileOnly(libs.worldedit)
+
+    testImplementation(libs.worldedit)
 }
\ No newline at end of file
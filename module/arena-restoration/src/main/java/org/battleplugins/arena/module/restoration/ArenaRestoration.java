@@ -1,23 +1,46 @@
 package org.battleplugins.arena.module.restoration;
 
+import com.sk89q.worldedit.extent.clipboard.Clipboard;
 import com.sk89q.worldedit.extent.clipboard.io.BuiltInClipboardFormat;
 import org.battleplugins.arena.Arena;
+import org.battleplugins.arena.BattleArena;
 import org.battleplugins.arena.competition.Competition;
+import org.battleplugins.arena.competition.map.CompetitionMap;
+import org.battleplugins.arena.competition.map.LiveCompetitionMap;
+import org.battleplugins.arena.config.ArenaConfigParser;
+import org.battleplugins.arena.config.ParseException;
 import org.battleplugins.arena.event.BattleArenaPostInitializeEvent;
+import org.battleplugins.arena.event.BattleArenaReloadedEvent;
 import org.battleplugins.arena.event.action.EventActionType;
 import org.battleplugins.arena.event.arena.ArenaCreateExecutorEvent;
 import org.battleplugins.arena.messages.Message;
 import org.battleplugins.arena.messages.Messages;
 import org.battleplugins.arena.module.ArenaModule;
+import org.battleplugins.arena.module.ArenaModuleContainer;
 import org.battleplugins.arena.module.ArenaModuleInitializer;
 import org.bukkit.Bukkit;
+import org.bukkit.configuration.Configuration;
+import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.event.EventHandler;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A module that adds an action to restore arenas.
+ * <p>
+ * Block changes within the maps of competitions are recorded while the
+ * competitions run, so that arenas can be restored by rolling back only
+ * the changed blocks rather than pasting the full schematic.
  */
 @ArenaModule(id = ArenaRestoration.ID, name = "Arena Restoration", description = "Adds an action to restore arenas at a given point.", authors = "BattlePlugins")
 public class ArenaRestoration implements ArenaModuleInitializer {
@@ -29,6 +52,14 @@ public class ArenaRestoration implements ArenaModuleInitializer {
     public static final Message SCHEMATIC_CREATED = Messages.success("arena-restoration-schematic-created", "Schematic created for map <secondary>{}</secondary>.");
     public static final Message FAILED_TO_CREATE_SCHEMATIC = Messages.error("arena-restoration-failed-to-create-schematic", "Failed to create schematic! Check the console for more information.");
 
+    private final BlockChangeListener blockChangeListener = new BlockChangeListener(this);
+
+    private RestorationConfig config;
+    private SchematicCache schematicCache;
+
+    // Incremented for every preload, so that an outdated preload stops
+    private int preloadId;
+
     @EventHandler
     public void onPostInitialize(BattleArenaPostInitializeEvent event) {
         // Check that we have WorldEdit installed
@@ -36,9 +67,122 @@ public class ArenaRestoration implements ArenaModuleInitializer {
             event.getBattleArena().module(ArenaRestoration.ID).ifPresent(container -> {
                 container.disable("WorldEdit is required for the arena restoration module to work!");
             });
+
+            return;
+        }
+
+        if (this.onLoad(event.getBattleArena(), true)) {
+            Bukkit.getPluginManager().registerEvents(this.blockChangeListener, event.getBattleArena());
+
+            // Maps are loaded after this event, so preload on the next tick
+            Bukkit.getScheduler().runTask(event.getBattleArena(), () -> this.preloadSchematics(event.getBattleArena()));
         }
     }
 
+    @EventHandler
+    public void onReloaded(BattleArenaReloadedEvent event) {
+        if (this.onLoad(event.getBattleArena(), false)) {
+            this.preloadSchematics(event.getBattleArena());
+        }
+    }
+
+    private boolean onLoad(BattleArena plugin, boolean initial) {
+        ArenaModuleContainer<ArenaRestoration> container = plugin
+                .<ArenaRestoration>module(ID)
+                .orElseThrow();
+
+        Path configPath = plugin.getDataFolder().toPath().resolve("arena-restoration.yml");
+        if (Files.notExists(configPath)) {
+            InputStream inputStream = container.getResource("arena-restoration.yml");
+            try {
+                Files.copy(inputStream, configPath);
+            } catch (Exception e) {
+                plugin.error("Failed to copy arena-restoration.yml to data folder!", e);
+
+                if (initial) {
+                    container.disable("Failed to copy arena-restoration.yml to data folder!");
+                }
+                return false;
+            }
+        }
+
+        Configuration config = YamlConfiguration.loadConfiguration(configPath.toFile());
+        try {
+            this.config = ArenaConfigParser.newInstance(configPath, RestorationConfig.class, config, plugin);
+        } catch (ParseException e) {
+            ParseException.handle(e);
+
+            if (initial) {
+                container.disable("Failed to parse arena-restoration.yml!");
+            }
+            return false;
+        }
+
+        long cacheSize = this.config.getSchematicCacheSize() * 1024L * 1024L;
+        if (this.schematicCache == null) {
+            this.schematicCache = new SchematicCache(cacheSize);
+        } else {
+            this.schematicCache.setMaxSize(cacheSize);
+        }
+
+        return true;
+    }
+
+    private void preloadSchematics(BattleArena plugin) {
+        if (!this.config.isPreloadSchematics()) {
+            return;
+        }
+
+        List<MapSchematic> schematics = new ArrayList<>();
+        for (Arena arena : plugin.getArenas()) {
+            if (!arena.isModuleEnabled(ID)) {
+                continue;
+            }
+
+            for (LiveCompetitionMap map : plugin.getMaps(arena)) {
+                Path path = this.getSchematicPath(arena, map);
+                if (Files.exists(path)) {
+                    schematics.add(new MapSchematic(arena, map, path));
+                }
+            }
+        }
+
+        this.preloadId++;
+        this.preloadNext(plugin, schematics.iterator(), this.preloadId);
+    }
+
+    private void preloadNext(BattleArena plugin, Iterator<MapSchematic> schematics, int preloadId) {
+        // Schematics are preloaded one at a time, so that the room left
+        // in the cache is known before reading each of them
+        if (preloadId != this.preloadId || !schematics.hasNext() || !this.schematicCache.hasRoom()) {
+            return;
+        }
+
+        MapSchematic schematic = schematics.next();
+
+        // Parse off the main thread, as schematics can be large
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                FileTime modified = Files.getLastModifiedTime(schematic.path());
+                Clipboard clipboard = SchematicCache.read(schematic.path());
+                return clipboard == null ? null : new LoadedSchematic(modified, clipboard);
+            } catch (IOException e) {
+                plugin.error("Failed to preload schematic for map {} in arena {}!", schematic.map().getName(), schematic.arena().getName(), e);
+                return null;
+            }
+        }).thenAcceptAsync(loaded -> {
+            if (preloadId != this.preloadId) {
+                return;
+            }
+
+            if (loaded != null) {
+                this.schematicCache.put(schematic.path(), loaded.modified(), loaded.clipboard());
+            }
+
+            this.preloadNext(plugin, schematics, preloadId);
+        }, Bukkit.getScheduler().getMainThreadExecutor(plugin));
+    }
+
     @EventHandler
     public void onCreateExecutor(ArenaCreateExecutorEvent event) {
         if (!event.getArena().isModuleEnabled(ID)) {
@@ -48,12 +192,35 @@ public class ArenaRestoration implements ArenaModuleInitializer {
         event.registerSubExecutor(new ArenaRestorationExecutor(this, event.getArena()));
     }
 
+    public int getMaxJournalSize() {
+        return this.config.getMaxJournalSize();
+    }
+
+    @Nullable
+    BlockChangeJournal getJournal(Competition<?> competition) {
+        return this.blockChangeListener.getJournal(competition);
+    }
+
+    SchematicCache getSchematicCache() {
+        return this.schematicCache;
+    }
+
     public Path getSchematicPath(Arena arena, Competition<?> competition) {
+        return this.getSchematicPath(arena, competition.getMap());
+    }
+
+    public Path getSchematicPath(Arena arena, CompetitionMap map) {
         return arena.getPlugin().getDataFolder().toPath()
                 .resolve("schematics")
                 .resolve(arena.getName().toLowerCase(Locale.ROOT))
-                .resolve(competition.getMap().getName().toLowerCase(Locale.ROOT) + "." +
+                .resolve(map.getName().toLowerCase(Locale.ROOT) + "." +
                         BuiltInClipboardFormat.SPONGE_SCHEMATIC.getPrimaryFileExtension()
                 );
     }
+
+    private record MapSchematic(Arena arena, LiveCompetitionMap map, Path path) {
+    }
+
+    private record LoadedSchematic(FileTime modified, Clipboard clipboard) {
+    }
 }
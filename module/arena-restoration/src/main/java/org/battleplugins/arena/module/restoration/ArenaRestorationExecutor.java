@@ -69,6 +69,7 @@ public class ArenaRestorationExecutor implements SubCommandExecutor {
 
         try (ClipboardWriter writer = BuiltInClipboardFormat.SPONGE_SCHEMATIC.getWriter(Files.newOutputStream(path))) {
             writer.write(clipboard);
+            this.module.getSchematicCache().invalidate(path);
             ArenaRestoration.SCHEMATIC_CREATED.send(player, competition.getMap().getName());
         } catch (IOException e) {
             ArenaRestoration.FAILED_TO_CREATE_SCHEMATIC.send(player);
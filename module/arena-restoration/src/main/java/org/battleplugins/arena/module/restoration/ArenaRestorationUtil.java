@@ -1,19 +1,11 @@
 package org.battleplugins.arena.module.restoration;
 
-import com.sk89q.worldedit.EditSession;
-import com.sk89q.worldedit.WorldEdit;
-import com.sk89q.worldedit.WorldEditException;
-import com.sk89q.worldedit.bukkit.BukkitAdapter;
 import com.sk89q.worldedit.extent.clipboard.Clipboard;
-import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormat;
-import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormats;
-import com.sk89q.worldedit.extent.clipboard.io.ClipboardReader;
-import com.sk89q.worldedit.function.operation.Operation;
-import com.sk89q.worldedit.function.operation.Operations;
 import com.sk89q.worldedit.math.BlockVector3;
-import com.sk89q.worldedit.session.ClipboardHolder;
 import org.battleplugins.arena.Arena;
 import org.battleplugins.arena.competition.LiveCompetition;
+import org.battleplugins.arena.competition.map.MapClipboard;
+import org.battleplugins.arena.competition.map.PasteScheduler;
 import org.battleplugins.arena.competition.map.options.Bounds;
 
 import java.io.IOException;
@@ -23,6 +15,16 @@ import java.nio.file.Path;
 class ArenaRestorationUtil {
 
     public static void restoreArena(ArenaRestoration module, Arena arena, LiveCompetition<?> competition, Bounds bounds) {
+        BlockChangeJournal journal = module.getJournal(competition);
+        if (journal != null && journal.canRollback()) {
+            // Only blocks which have changed need to be restored
+            int changes = journal.size();
+            journal.rollback();
+
+            arena.getPlugin().debug("Restored {} changed block(s) in map {} for arena {}.", changes, competition.getMap().getName(), arena.getName());
+            return;
+        }
+
         Path path = module.getSchematicPath(arena, competition);
         if (Files.notExists(path)) {
             // No schematic found
@@ -31,31 +33,48 @@ class ArenaRestorationUtil {
         }
 
         // Restore the arena
+        SchematicCache cache = module.getSchematicCache();
         Clipboard clipboard;
-        ClipboardFormat format = ClipboardFormats.findByFile(path.toFile());
-        if (format == null) {
-            // Invalid format
-            arena.getPlugin().warn("Could not restore map {} for arena {} as the schematic format is invalid!", competition.getMap().getName(), arena.getName());
-            return;
-        }
-
-        try (ClipboardReader reader = format.getReader(Files.newInputStream(path))) {
-            clipboard = reader.read();
+        try {
+            clipboard = cache.get(path);
         } catch (IOException e) {
             // Error reading schematic
             arena.getPlugin().error("Failed to restore map {} for arena {} due to an error reading the schematic!", competition.getMap().getName(), arena.getName(), e);
             return;
         }
 
-        try (EditSession session = WorldEdit.getInstance().newEditSession(BukkitAdapter.adapt(competition.getMap().getWorld()))) {
-            Operation operation = new ClipboardHolder(clipboard).createPaste(session)
-                    .to(BlockVector3.at(bounds.getMinX(), bounds.getMinY(), bounds.getMinZ()))
-                    .build();
+        if (clipboard == null) {
+            // Invalid format
+            arena.getPlugin().warn("Could not restore map {} for arena {} as the schematic format is invalid!", competition.getMap().getName(), arena.getName());
+            return;
+        }
+
+        arena.getPlugin().debug("Restoring map {} for arena {}. Schematic cache: {} hit(s), {} miss(es), {} eviction(s), {} bytes used.",
+                competition.getMap().getName(), arena.getName(), cache.getHits(), cache.getMisses(), cache.getEvictions(), cache.getSize()
+        );
+
+        // Restore over multiple ticks, and keep players from joining until done
+        BlockVector3 position = BlockVector3.at(bounds.getMinX(), bounds.getMinY(), bounds.getMinZ())
+                .add(clipboard.getRegion().getMinimumPoint().subtract(clipboard.getOrigin()));
+
+        PasteScheduler.PasteTask task = arena.getPlugin().getCompetitionManager().getPasteScheduler().schedule(
+                "restoration of map " + competition.getMap().getName(),
+                MapClipboard.of(clipboard),
+                competition.getMap().getWorld(),
+                position.getX(),
+                position.getY(),
+                position.getZ()
+        );
+
+        competition.awaitMapPreparation(task.getFuture());
 
-            Operations.complete(operation);
-        } catch (WorldEditException e) {
-            // Error restoring schematic
-            arena.getPlugin().error("Failed to restore map {} for arena {} due to an error restoring the schematic!", competition.getMap().getName(), arena.getName(), e);
+        // Once the map is intact, start recording changes from it
+        if (journal != null) {
+            task.getFuture().thenAccept(restored -> {
+                if (restored) {
+                    journal.reset();
+                }
+            });
         }
     }
 }
@@ -0,0 +1,229 @@
+package org.battleplugins.arena.module.restoration;
+
+import org.battleplugins.arena.competition.LiveCompetition;
+import org.battleplugins.arena.competition.map.options.Bounds;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
+
+import java.util.Arrays;
+
+/**
+ * A journal of the blocks changed within the bounds of a {@link LiveCompetition}'s
+ * map, used to restore the map by rolling back only the blocks which changed.
+ * <p>
+ * The original state of a block is recorded the first time its position
+ * is changed, and later changes to the same position are ignored. Positions
+ * are packed into a single long and kept in an open-addressed hash table, so
+ * the journal stays compact even with many changes.
+ * <p>
+ * Once more blocks have changed than the journal may hold, it overflows and
+ * stops recording, after which the map must be restored in full.
+ */
+class BlockChangeJournal {
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final LiveCompetition<?> competition;
+    private final int maxSize;
+
+    private long[] positions;
+    private BlockState[] states;
+    private int size;
+
+    private boolean overflowed;
+
+    // Whether the map was known to be intact when recording started
+    private boolean complete;
+
+    BlockChangeJournal(LiveCompetition<?> competition, int maxSize) {
+        this.competition = competition;
+        this.maxSize = maxSize;
+
+        this.clear();
+    }
+
+    LiveCompetition<?> getCompetition() {
+        return this.competition;
+    }
+
+    /**
+     * Returns whether the given block is within the bounds of the map.
+     *
+     * @param block the block to check
+     * @return whether the block is within the bounds of the map
+     */
+    boolean isInside(Block block) {
+        Bounds bounds = this.competition.getMap().getBounds();
+        World world = this.competition.getMap().getWorld();
+        return bounds != null && block.getWorld().equals(world) && bounds.isInside(block.getX(), block.getY(), block.getZ());
+    }
+
+    /**
+     * Records the current state of the given block, if the block is within
+     * the bounds of the map and has not been recorded already.
+     *
+     * @param block the block which is about to change
+     */
+    void record(Block block) {
+        if (this.overflowed || !this.isInside(block)) {
+            return;
+        }
+
+        long position = pack(block.getX(), block.getY(), block.getZ());
+        int slot = this.find(position);
+        if (this.positions[slot] == EMPTY) {
+            this.insert(slot, position, block.getState());
+        }
+    }
+
+    /**
+     * Records the given original state of a block, if the block is within
+     * the bounds of the map and has not been recorded already.
+     *
+     * @param state the state of the block before it changed
+     */
+    void record(BlockState state) {
+        if (!this.isInside(state.getBlock())) {
+            return;
+        }
+
+        this.record(state.getX(), state.getY(), state.getZ(), state);
+    }
+
+    /**
+     * Records the given original state of the block at the given position,
+     * if the position has not been recorded already. The position must be
+     * within the bounds of the map.
+     *
+     * @param x the X coordinate of the block
+     * @param y the Y coordinate of the block
+     * @param z the Z coordinate of the block
+     * @param state the state of the block before it changed
+     */
+    void record(int x, int y, int z, BlockState state) {
+        if (this.overflowed) {
+            return;
+        }
+
+        long position = pack(x, y, z);
+        int slot = this.find(position);
+        if (this.positions[slot] == EMPTY) {
+            this.insert(slot, position, state);
+        }
+    }
+
+    /**
+     * Marks this journal as incomplete, for when a block within the map
+     * changed in a way which could not be recorded. The map is then
+     * restored in full rather than rolled back.
+     */
+    void markIncomplete() {
+        this.complete = false;
+    }
+
+    /**
+     * Returns whether rolling back this journal fully restores the map.
+     *
+     * @return whether this journal can restore the map
+     */
+    boolean canRollback() {
+        return this.complete && !this.overflowed;
+    }
+
+    /**
+     * Gets the number of positions recorded in this journal.
+     *
+     * @return the number of recorded positions
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Restores every recorded block to its original state, and
+     * starts recording again from the restored map.
+     */
+    void rollback() {
+        for (BlockState state : this.states) {
+            if (state != null) {
+                state.update(true, false);
+            }
+        }
+
+        this.reset();
+    }
+
+    /**
+     * Starts recording again, after the map has been restored in full.
+     */
+    void reset() {
+        this.clear();
+        this.complete = true;
+    }
+
+    private void clear() {
+        this.positions = new long[16];
+        this.states = new BlockState[16];
+        this.size = 0;
+        this.overflowed = false;
+
+        Arrays.fill(this.positions, EMPTY);
+    }
+
+    private void insert(int slot, long position, BlockState state) {
+        if (this.size >= this.maxSize) {
+            // Too many changes to keep track of, so free up
+            // the memory and restore the map in full instead
+            this.positions = new long[0];
+            this.states = new BlockState[0];
+            this.size = 0;
+            this.overflowed = true;
+            return;
+        }
+
+        this.positions[slot] = position;
+        this.states[slot] = state;
+        this.size++;
+
+        // Keep the table at most half full
+        if (this.size * 2 > this.positions.length) {
+            this.grow();
+        }
+    }
+
+    private int find(long position) {
+        int mask = this.positions.length - 1;
+        int slot = hash(position) & mask;
+        while (this.positions[slot] != EMPTY && this.positions[slot] != position) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldPositions = this.positions;
+        BlockState[] oldStates = this.states;
+
+        this.positions = new long[oldPositions.length * 2];
+        this.states = new BlockState[oldStates.length * 2];
+        Arrays.fill(this.positions, EMPTY);
+
+        for (int i = 0; i < oldPositions.length; i++) {
+            if (oldPositions[i] != EMPTY) {
+                int slot = this.find(oldPositions[i]);
+                this.positions[slot] = oldPositions[i];
+                this.states[slot] = oldStates[i];
+            }
+        }
+    }
+
+    static long pack(int x, int y, int z) {
+        return ((x & 0x3FFFFFFL) << 38) | ((z & 0x3FFFFFFL) << 12) | (y & 0xFFFL);
+    }
+
+    private static int hash(long position) {
+        long hash = position * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
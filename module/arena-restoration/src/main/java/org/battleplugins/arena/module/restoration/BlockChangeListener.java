@@ -0,0 +1,248 @@
+package org.battleplugins.arena.module.restoration;
+
+import io.papermc.paper.event.block.BlockDestroyEvent;
+import org.battleplugins.arena.competition.Competition;
+import org.battleplugins.arena.competition.LiveCompetition;
+import org.battleplugins.arena.event.arena.ArenaCreateCompetitionEvent;
+import org.battleplugins.arena.event.arena.ArenaRemoveCompetitionEvent;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.data.Directional;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockBurnEvent;
+import org.bukkit.event.block.BlockDispenseEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockFadeEvent;
+import org.bukkit.event.block.BlockFertilizeEvent;
+import org.bukkit.event.block.BlockFormEvent;
+import org.bukkit.event.block.BlockFromToEvent;
+import org.bukkit.event.block.BlockGrowEvent;
+import org.bukkit.event.block.BlockIgniteEvent;
+import org.bukkit.event.block.BlockMultiPlaceEvent;
+import org.bukkit.event.block.BlockPistonExtendEvent;
+import org.bukkit.event.block.BlockPistonRetractEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.block.LeavesDecayEvent;
+import org.bukkit.event.block.SpongeAbsorbEvent;
+import org.bukkit.event.entity.EntityChangeBlockEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.player.PlayerBucketEmptyEvent;
+import org.bukkit.event.player.PlayerBucketFillEvent;
+import org.bukkit.event.world.StructureGrowEvent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records block changes within the maps of competitions into
+ * their {@link BlockChangeJournal journals}.
+ * <p>
+ * Every handler runs before the change is applied, so the
+ * current state of a block is its state before the change.
+ */
+class BlockChangeListener implements Listener {
+    private final ArenaRestoration module;
+
+    private final Map<Competition<?>, BlockChangeJournal> journals = new HashMap<>();
+
+    // Kept separately for fast iteration, as block events are frequent
+    private final List<BlockChangeJournal> journalList = new ArrayList<>();
+
+    BlockChangeListener(ArenaRestoration module) {
+        this.module = module;
+    }
+
+    BlockChangeJournal getJournal(Competition<?> competition) {
+        return this.journals.get(competition);
+    }
+
+    @EventHandler
+    public void onCreateCompetition(ArenaCreateCompetitionEvent event) {
+        if (!event.getArena().isModuleEnabled(ArenaRestoration.ID) || !(event.getCompetition() instanceof LiveCompetition<?> competition)) {
+            return;
+        }
+
+        BlockChangeJournal journal = new BlockChangeJournal(competition, this.module.getMaxJournalSize());
+        this.journals.put(competition, journal);
+        this.journalList.add(journal);
+    }
+
+    @EventHandler
+    public void onRemoveCompetition(ArenaRemoveCompetitionEvent event) {
+        BlockChangeJournal journal = this.journals.remove(event.getCompetition());
+        if (journal != null) {
+            this.journalList.remove(journal);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event) {
+        this.record(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        // The block has already been placed, so use the replaced state
+        if (event instanceof BlockMultiPlaceEvent multiPlaceEvent) {
+            for (BlockState state : multiPlaceEvent.getReplacedBlockStates()) {
+                this.record(state);
+            }
+        } else {
+            this.record(event.getBlockReplacedState());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent event) {
+        this.record(event.getBlock());
+        this.record(event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent event) {
+        this.record(event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBurn(BlockBurnEvent event) {
+        this.record(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockIgnite(BlockIgniteEvent event) {
+        this.record(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockFromTo(BlockFromToEvent event) {
+        this.record(event.getToBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockFade(BlockFadeEvent event) {
+        this.record(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockForm(BlockFormEvent event) {
+        // Also covers blocks spreading, such as fire and grass
+        this.record(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockGrow(BlockGrowEvent event) {
+        this.record(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onLeavesDecay(LeavesDecayEvent event) {
+        this.record(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockDestroy(BlockDestroyEvent event) {
+        // Blocks broken by physics, such as torches losing their support
+        this.record(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onStructureGrow(StructureGrowEvent event) {
+        for (BlockState state : event.getBlocks()) {
+            this.record(state.getBlock());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockFertilize(BlockFertilizeEvent event) {
+        this.record(event.getBlock());
+        for (BlockState state : event.getBlocks()) {
+            this.record(state.getBlock());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onSpongeAbsorb(SpongeAbsorbEvent event) {
+        this.record(event.getBlock());
+        for (BlockState state : event.getBlocks()) {
+            this.record(state.getBlock());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockDispense(BlockDispenseEvent event) {
+        // Only buckets and blocks change the world where they are dispensed
+        Material type = event.getItem().getType();
+        if (!type.isBlock() && type != Material.BUCKET && !type.name().endsWith("_BUCKET")) {
+            return;
+        }
+
+        if (event.getBlock().getBlockData() instanceof Directional directional) {
+            this.record(event.getBlock().getRelative(directional.getFacing()));
+            return;
+        }
+
+        // The block which changed is not known
+        for (BlockChangeJournal journal : this.journalList) {
+            if (journal.isInside(event.getBlock())) {
+                journal.markIncomplete();
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonExtend(BlockPistonExtendEvent event) {
+        this.record(event.getBlock().getRelative(event.getDirection()));
+        for (Block block : event.getBlocks()) {
+            this.record(block);
+            this.record(block.getRelative(event.getDirection()));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonRetract(BlockPistonRetractEvent event) {
+        this.record(event.getBlock().getRelative(event.getDirection().getOppositeFace()));
+        for (Block block : event.getBlocks()) {
+            this.record(block);
+            this.record(block.getRelative(event.getDirection()));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityChangeBlock(EntityChangeBlockEvent event) {
+        this.record(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBucketEmpty(PlayerBucketEmptyEvent event) {
+        this.record(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBucketFill(PlayerBucketFillEvent event) {
+        this.record(event.getBlock());
+    }
+
+    private void record(Block block) {
+        for (BlockChangeJournal journal : this.journalList) {
+            journal.record(block);
+        }
+    }
+
+    private void record(BlockState state) {
+        for (BlockChangeJournal journal : this.journalList) {
+            journal.record(state);
+        }
+    }
+
+    private void record(List<Block> blocks) {
+        for (Block block : blocks) {
+            this.record(block);
+        }
+    }
+}
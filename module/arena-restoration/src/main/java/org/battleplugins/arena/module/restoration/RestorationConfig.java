@@ -0,0 +1,27 @@
+package org.battleplugins.arena.module.restoration;
+
+import org.battleplugins.arena.config.ArenaOption;
+
+public class RestorationConfig {
+
+    @ArenaOption(name = "max-journal-size", description = "The maximum number of changed blocks to keep track of for each competition.", required = true)
+    private int maxJournalSize;
+
+    @ArenaOption(name = "schematic-cache-size", description = "The maximum amount of memory, in megabytes, to use for keeping schematics in memory.", required = true)
+    private int schematicCacheSize;
+
+    @ArenaOption(name = "preload-schematics", description = "Whether schematics should be loaded into memory on startup.", required = true)
+    private boolean preloadSchematics;
+
+    public int getMaxJournalSize() {
+        return this.maxJournalSize;
+    }
+
+    public int getSchematicCacheSize() {
+        return this.schematicCacheSize;
+    }
+
+    public boolean isPreloadSchematics() {
+        return this.preloadSchematics;
+    }
+}
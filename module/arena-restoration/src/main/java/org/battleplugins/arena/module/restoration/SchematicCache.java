@@ -0,0 +1,171 @@
+package org.battleplugins.arena.module.restoration;
+
+import com.sk89q.worldedit.extent.clipboard.Clipboard;
+import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormat;
+import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormats;
+import com.sk89q.worldedit.extent.clipboard.io.ClipboardReader;
+import com.sk89q.worldedit.math.BlockVector3;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A cache of parsed schematics, so that restoring the same map
+ * repeatedly does not read and parse its schematic every time.
+ * <p>
+ * Schematics are cached by path, and read again if the file has been
+ * modified since it was cached. The cache is bounded by the estimated
+ * memory used by the cached schematics, evicting the least recently
+ * used schematics first.
+ * <p>
+ * Schematics may be {@link #read(Path) read} on any thread, but the
+ * cache itself must only be accessed from the main thread.
+ */
+class SchematicCache {
+    // Rough memory used per block of a clipboard, including its
+    // block state reference and the overhead of the clipboard
+    private static final long BYTES_PER_BLOCK = 8;
+
+    private final Map<Path, Entry> entries = new LinkedHashMap<>(16, 0.75F, true);
+
+    private long maxSize;
+    private long size;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    SchematicCache(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Gets the schematic at the given path, reading it from
+     * disk if it is not cached or has been modified.
+     *
+     * @param path the path of the schematic
+     * @return the schematic, or null if the schematic format is unknown
+     * @throws IOException if the schematic could not be read
+     */
+    @Nullable
+    Clipboard get(Path path) throws IOException {
+        FileTime modified = Files.getLastModifiedTime(path);
+
+        Entry entry = this.entries.get(path);
+        if (entry != null && entry.modified().equals(modified)) {
+            this.hits++;
+            return entry.clipboard();
+        }
+
+        this.misses++;
+
+        Clipboard clipboard = read(path);
+        if (clipboard != null) {
+            this.put(path, modified, clipboard);
+        }
+
+        return clipboard;
+    }
+
+    /**
+     * Adds the given schematic, read from the given path, to this cache.
+     *
+     * @param path the path the schematic was read from
+     * @param modified the modification time of the file when it was read
+     * @param clipboard the schematic
+     */
+    void put(Path path, FileTime modified, Clipboard clipboard) {
+        this.invalidate(path);
+
+        BlockVector3 dimensions = clipboard.getDimensions();
+        long entrySize = (long) dimensions.getX() * dimensions.getY() * dimensions.getZ() * BYTES_PER_BLOCK;
+        if (entrySize > this.maxSize) {
+            return; // Would evict everything else, so not worth caching
+        }
+
+        this.entries.put(path, new Entry(modified, clipboard, entrySize));
+        this.size += entrySize;
+
+        this.evict();
+    }
+
+    /**
+     * Removes the schematic at the given path from this cache.
+     *
+     * @param path the path of the schematic
+     */
+    void invalidate(Path path) {
+        Entry entry = this.entries.remove(path);
+        if (entry != null) {
+            this.size -= entry.size();
+        }
+    }
+
+    /**
+     * Returns whether there is room in this cache for more schematics.
+     *
+     * @return whether this cache is not full
+     */
+    boolean hasRoom() {
+        return this.size < this.maxSize;
+    }
+
+    void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+        this.evict();
+    }
+
+    long getHits() {
+        return this.hits;
+    }
+
+    long getMisses() {
+        return this.misses;
+    }
+
+    long getEvictions() {
+        return this.evictions;
+    }
+
+    long getSize() {
+        return this.size;
+    }
+
+    private void evict() {
+        // Least recently used entries are iterated first
+        Iterator<Entry> iterator = this.entries.values().iterator();
+        while (this.size > this.maxSize && iterator.hasNext()) {
+            this.size -= iterator.next().size();
+            iterator.remove();
+            this.evictions++;
+        }
+    }
+
+    /**
+     * Reads the schematic at the given path from disk.
+     *
+     * @param path the path of the schematic
+     * @return the schematic, or null if the schematic format is unknown
+     * @throws IOException if the schematic could not be read
+     */
+    @Nullable
+    static Clipboard read(Path path) throws IOException {
+        ClipboardFormat format = ClipboardFormats.findByFile(path.toFile());
+        if (format == null) {
+            return null;
+        }
+
+        try (ClipboardReader reader = format.getReader(Files.newInputStream(path))) {
+            return reader.read();
+        }
+    }
+
+    private record Entry(FileTime modified, Clipboard clipboard, long size) {
+    }
+}
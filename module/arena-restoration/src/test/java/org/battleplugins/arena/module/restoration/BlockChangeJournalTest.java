@@ -0,0 +1,125 @@
+package org.battleplugins.arena.module.restoration;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BlockChangeJournalTest {
+
+    @Test
+    public void testRecordsEachPositionOnce() {
+        BlockChangeJournal journal = newJournal(100);
+        journal.record(1, 64, 1, null);
+        journal.record(1, 64, 1, null);
+        journal.record(1, 65, 1, null);
+
+        assertEquals(2, journal.size());
+        assertTrue(journal.canRollback());
+    }
+
+    @Test
+    public void testGrowKeepsRecordedPositions() {
+        BlockChangeJournal journal = newJournal(10_000);
+        for (int i = 0; i < 1_000; i++) {
+            journal.record(i - 500, -64 + i % 7, -i * 3, null);
+        }
+
+        assertEquals(1_000, journal.size());
+
+        // Every position must still be found after the table has grown
+        for (int i = 0; i < 1_000; i++) {
+            journal.record(i - 500, -64 + i % 7, -i * 3, null);
+        }
+
+        assertEquals(1_000, journal.size());
+        assertTrue(journal.canRollback());
+    }
+
+    @Test
+    public void testOverflow() {
+        BlockChangeJournal journal = newJournal(8);
+        for (int i = 0; i < 8; i++) {
+            journal.record(i, 0, 0, null);
+        }
+
+        assertEquals(8, journal.size());
+        assertTrue(journal.canRollback());
+
+        // Recorded positions do not count towards the limit again
+        journal.record(0, 0, 0, null);
+        assertTrue(journal.canRollback());
+
+        journal.record(8, 0, 0, null);
+        assertFalse(journal.canRollback());
+        assertEquals(0, journal.size());
+
+        // Nothing is recorded once overflowed
+        journal.record(9, 0, 0, null);
+        assertEquals(0, journal.size());
+        assertFalse(journal.canRollback());
+
+        journal.reset();
+        assertTrue(journal.canRollback());
+
+        journal.record(9, 0, 0, null);
+        assertEquals(1, journal.size());
+    }
+
+    @Test
+    public void testIncomplete() {
+        BlockChangeJournal journal = new BlockChangeJournal(null, 8);
+
+        // Nothing is known about the map until it has been restored once
+        assertFalse(journal.canRollback());
+
+        journal.reset();
+        journal.markIncomplete();
+        assertFalse(journal.canRollback());
+    }
+
+    @Test
+    public void testPackNegativeCoordinates() {
+        int[] horizontal = { -30_000_000, -513, -1, 0, 1, 512, 29_999_999 };
+        int[] vertical = { -2048, -64, -1, 0, 1, 319, 2047 };
+
+        Set<Long> packed = new HashSet<>();
+        for (int x : horizontal) {
+            for (int y : vertical) {
+                for (int z : horizontal) {
+                    long position = BlockChangeJournal.pack(x, y, z);
+
+                    // Must never collide with the marker for empty slots
+                    assertNotEquals(Long.MIN_VALUE, position);
+                    packed.add(position);
+                }
+            }
+        }
+
+        assertEquals(horizontal.length * vertical.length * horizontal.length, packed.size());
+    }
+
+    @Test
+    public void testRecordNegativeCoordinates() {
+        BlockChangeJournal journal = newJournal(100);
+        journal.record(-1, -1, -1, null);
+        journal.record(1, -1, -1, null);
+        journal.record(-1, 1, -1, null);
+        journal.record(-1, -1, 1, null);
+        journal.record(-1, -1, -1, null);
+
+        assertEquals(4, journal.size());
+    }
+
+    private static BlockChangeJournal newJournal(int maxSize) {
+        // Positions are recorded directly, so the competition is never used
+        BlockChangeJournal journal = new BlockChangeJournal(null, maxSize);
+        journal.reset();
+        return journal;
+    }
+}
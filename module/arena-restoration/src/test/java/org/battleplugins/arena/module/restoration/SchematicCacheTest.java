@@ -0,0 +1,135 @@
+package org.battleplugins.arena.module.restoration;
+
+import com.sk89q.worldedit.extent.clipboard.Clipboard;
+import com.sk89q.worldedit.math.BlockVector3;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SchematicCacheTest {
+    // The estimated size of a 10x10x10 clipboard
+    private static final long CLIPBOARD_SIZE = 10 * 10 * 10 * 8;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testHit() throws IOException {
+        SchematicCache cache = new SchematicCache(CLIPBOARD_SIZE);
+        Path path = this.schematic("a");
+        Clipboard clipboard = clipboard(10);
+        put(cache, path, clipboard);
+
+        assertSame(clipboard, cache.get(path));
+        assertEquals(1, cache.getHits());
+        assertEquals(0, cache.getMisses());
+        assertEquals(CLIPBOARD_SIZE, cache.getSize());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() throws IOException {
+        SchematicCache cache = new SchematicCache(CLIPBOARD_SIZE * 2);
+        Path a = this.schematic("a");
+        Path b = this.schematic("b");
+        Path c = this.schematic("c");
+
+        Clipboard clipboardA = clipboard(10);
+        Clipboard clipboardC = clipboard(10);
+        put(cache, a, clipboardA);
+        put(cache, b, clipboard(10));
+        assertEquals(CLIPBOARD_SIZE * 2, cache.getSize());
+        assertFalse(cache.hasRoom());
+
+        // Using a makes b the least recently used
+        assertSame(clipboardA, cache.get(a));
+
+        put(cache, c, clipboardC);
+        assertEquals(1, cache.getEvictions());
+        assertEquals(CLIPBOARD_SIZE * 2, cache.getSize());
+
+        assertSame(clipboardA, cache.get(a));
+        assertSame(clipboardC, cache.get(c));
+        assertEquals(3, cache.getHits());
+        assertEquals(0, cache.getMisses());
+    }
+
+    @Test
+    public void testReplaceAndInvalidate() throws IOException {
+        SchematicCache cache = new SchematicCache(CLIPBOARD_SIZE * 8);
+        Path path = this.schematic("a");
+        put(cache, path, clipboard(10));
+        put(cache, path, clipboard(20));
+
+        // Only the latest schematic of a path counts towards the size
+        assertEquals(CLIPBOARD_SIZE * 8, cache.getSize());
+        assertEquals(0, cache.getEvictions());
+
+        cache.invalidate(path);
+        assertEquals(0, cache.getSize());
+        assertTrue(cache.hasRoom());
+
+        // Invalidating twice must not count the entry twice
+        cache.invalidate(path);
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void testOversizedNotCached() throws IOException {
+        SchematicCache cache = new SchematicCache(CLIPBOARD_SIZE);
+        Path small = this.schematic("small");
+        put(cache, small, clipboard(10));
+        put(cache, this.schematic("large"), clipboard(11));
+
+        // Too large to cache, and does not evict what is already cached
+        assertEquals(CLIPBOARD_SIZE, cache.getSize());
+        assertEquals(0, cache.getEvictions());
+        cache.get(small);
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void testShrinkEvicts() throws IOException {
+        SchematicCache cache = new SchematicCache(CLIPBOARD_SIZE * 3);
+        Path a = this.schematic("a");
+        Path b = this.schematic("b");
+        Path c = this.schematic("c");
+        put(cache, a, clipboard(10));
+        put(cache, b, clipboard(10));
+        put(cache, c, clipboard(10));
+
+        cache.setMaxSize(CLIPBOARD_SIZE);
+        assertEquals(2, cache.getEvictions());
+        assertEquals(CLIPBOARD_SIZE, cache.getSize());
+
+        cache.get(c);
+        assertEquals(1, cache.getHits());
+    }
+
+    private Path schematic(String name) throws IOException {
+        return Files.createFile(this.directory.resolve(name + ".schem"));
+    }
+
+    private static void put(SchematicCache cache, Path path, Clipboard clipboard) throws IOException {
+        cache.put(path, Files.getLastModifiedTime(path), clipboard);
+    }
+
+    private static Clipboard clipboard(int size) {
+        BlockVector3 dimensions = BlockVector3.at(size, size, size);
+        return (Clipboard) Proxy.newProxyInstance(SchematicCacheTest.class.getClassLoader(), new Class<?>[] { Clipboard.class }, (self, method, args) -> switch (method.getName()) {
+            case "getDimensions" -> dimensions;
+            case "equals" -> self == args[0];
+            case "hashCode" -> System.identityHashCode(self);
+            case "toString" -> "Clipboard" + dimensions;
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+}
@@ -1,19 +1,18 @@
 package org.battleplugins.arena.module.autoarena;
 
-import org.battleplugins.arena.Arena;
 import org.battleplugins.arena.ArenaPlayer;
-import org.battleplugins.arena.BattleArenaApi;
-import org.battleplugins.arena.competition.Competition;
+import org.battleplugins.arena.competition.JoinResult;
 import org.battleplugins.arena.competition.LiveCompetition;
 import org.battleplugins.arena.competition.PlayerRole;
-import org.battleplugins.arena.competition.map.options.Bounds;
 import org.battleplugins.arena.event.player.ArenaLeaveEvent;
+import org.battleplugins.arena.event.player.PlayerMapTransitionEvent;
 import org.battleplugins.arena.module.ArenaModule;
 import org.battleplugins.arena.module.ArenaModuleInitializer;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
-import org.bukkit.event.player.PlayerMoveEvent;
 
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A module that automatically places players into an arena when they walk into an arena's bounds.
@@ -22,39 +21,41 @@ import java.util.List;
 public class AutoArena implements ArenaModuleInitializer {
     public static final String ID = "auto-arena";
 
-    @EventHandler
-    public void onMove(PlayerMoveEvent event) {
-        ArenaPlayer player = ArenaPlayer.getArenaPlayer(event.getPlayer());
+    @EventHandler(ignoreCancelled = true)
+    public void onMapTransition(PlayerMapTransitionEvent event) {
+        ArenaPlayer player = event.getArenaPlayer();
 
         // Player is in an arena - let's check if their current arena has this module
-        // enabled and if so, remove them from the arena if they are outside the bounds
-        if (player != null && player.getArena().isModuleEnabled(ID)) {
-            Bounds bounds = player.getCompetition().getMap().getBounds();
-            if (bounds != null && !bounds.isInside(event.getTo())) {
+        // enabled and if so, remove them from the arena if they left its bounds
+        if (player != null) {
+            if (player.getArena().isModuleEnabled(ID) && event.getFrom() == player.getCompetition()) {
                 player.getCompetition().leave(player, ArenaLeaveEvent.Cause.PLUGIN);
             }
 
             return;
         }
 
-        // Player is not in an arena - let's check if they are in the bounds of a map
-        for (Arena arena : BattleArenaApi.get().getArenas()) {
-            if (!arena.isModuleEnabled(ID)) {
-                continue;
-            }
+        // Player is not in an arena - let's check if they walked into the bounds of a map.
+        // This is called again while they stay in the map, so joining is retried if
+        // the competition cannot be joined right now, such as when it is full
+        LiveCompetition<?> competition = event.getTo();
+        if (competition == null || !competition.getArena().isModuleEnabled(ID)) {
+            return;
+        }
 
-            List<Competition<?>> competitions = BattleArenaApi.get().getCompetitions(arena);
-            for (Competition<?> competition : competitions) {
-                if (!(competition instanceof LiveCompetition<?> liveCompetition)) {
-                    continue;
-                }
-
-                Bounds bounds = liveCompetition.getMap().getBounds();
-                if (liveCompetition.getMap().getWorld().equals(event.getPlayer().getWorld()) && bounds != null && bounds.isInside(event.getTo())) {
-                    liveCompetition.join(event.getPlayer(), PlayerRole.PLAYING);
-                    return;
-                }
-            }
+        Player bukkitPlayer = event.getPlayer();
+        CompletableFuture<JoinResult> canJoin = competition.canJoin(bukkitPlayer, PlayerRole.PLAYING);
+        if (canJoin.isDone()) {
+            join(competition, bukkitPlayer, canJoin.join());
+        } else {
+            canJoin.thenAcceptAsync(result -> join(competition, bukkitPlayer, result), Bukkit.getScheduler().getMainThreadExecutor(competition.getArena().getPlugin()));
+        }
+    }
+
+    private static void join(LiveCompetition<?> competition, Player player, JoinResult result) {
+        // The player may have joined another arena while the competition decided
+        if (result == JoinResult.SUCCESS && player.isOnline() && ArenaPlayer.getArenaPlayer(player) == null) {
+            competition.join(player, PlayerRole.PLAYING);
         }
     }
 }
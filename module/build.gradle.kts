@@ -1,6 +1,12 @@
 subprojects {
     dependencies {
         compileOnlyApi(project(":plugin"))
+
+        testImplementation(project(":plugin"))
+        testImplementation(libs.paper.api)
+        testImplementation(platform(libs.junit.bom))
+        testImplementation(libs.junit.jupiter)
+        testRuntimeOnly(libs.junit.platform.launcher)
     }
 
     tasks.jar {
@@ -11,4 +17,8 @@ subprojects {
         archiveFileName.set("${project.name}.jar")
         archiveClassifier.set("")
     }
+
+    tasks.test {
+        useJUnitPlatform()
+    }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ plugins {
     id("xyz.jpenilla.run-paper") version "2.3.0"
     id("com.modrinth.minotaur") version "2.+"
     id("com.github.johnrengelman.shadow") version "8.1.1"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 val supportedVersions = listOf(
@@ -19,6 +20,13 @@ dependencies {
     implementation(libs.bstats.bukkit)
     compileOnlyApi(libs.paper.api)
     compileOnly(libs.worldedit)
+
+    testImplementation(platform(libs.junit.bom))
+    testImplementation(libs.junit.jupiter)
+    testRuntimeOnly(libs.junit.platform.launcher)
+
+    // Benchmarks load plugin classes outside of a server
+    jmhImplementation(libs.paper.api)
 }
 
 java {
@@ -42,6 +50,10 @@ tasks {
         archiveClassifier.set("unshaded")
     }
 
+    test {
+        useJUnitPlatform()
+    }
+
     shadowJar {
         from("src/main/java/resources") {
             include("*")
@@ -84,6 +96,10 @@ tasks {
     }
 }
 
+jmh {
+    jmhVersion = libs.versions.jmh.get()
+}
+
 publishing {
     val isSnapshot = "SNAPSHOT" in version.toString()
 
@@ -0,0 +1,177 @@
+package org.battleplugins.arena.competition.map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compares creating a copy of a map by cloning its region files, as
+ * done by {@link RegionTemplate}, with pasting its blocks from a compact
+ * {@link MapClipboard}, across several map sizes.
+ * <p>
+ * Neither a server nor WorldEdit is available to benchmarks, so both
+ * sides are modelled on their own. Region files are generated with a
+ * size typical of a built map, and copied with a regular file copy, which
+ * is the slowest path {@link RegionTemplate} takes. Pasting walks the runs
+ * of a compact clipboard in the same order as {@link MapClipboard#paste}
+ * and writes each block into an in-memory array rather than through an
+ * edit session, so it is a lower bound of the cost of a real paste.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegionTemplateBenchmark {
+    private static final int REGION_SIZE = 512;
+    private static final int CHUNK_SIZE = 16;
+
+    // Region files hold a header of chunk locations and timestamps,
+    // followed by each compressed chunk in 4 KiB sectors
+    private static final int HEADER_BYTES = 8192;
+    private static final int CHUNK_BYTES = 8192;
+
+    private static final int HEIGHT = 64;
+
+    /**
+     * The length of each side of the map, in blocks.
+     */
+    @Param({ "64", "256", "512", "1024" })
+    public int size;
+
+    private Path directory;
+    private Path template;
+    private int clones;
+
+    private int[] palette;
+    private int[] runBlocks;
+    private int[] runEnds;
+    private int[] blocks;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.directory = Files.createTempDirectory("ba-region-benchmark");
+        this.template = Files.createDirectories(this.directory.resolve("template").resolve("region"));
+
+        Random random = new Random(this.size);
+        int regions = (this.size + REGION_SIZE - 1) / REGION_SIZE;
+        int chunksPerRegion = Math.min(this.size, REGION_SIZE) / CHUNK_SIZE;
+        for (int regionX = 0; regionX < regions; regionX++) {
+            for (int regionZ = 0; regionZ < regions; regionZ++) {
+                byte[] data = new byte[HEADER_BYTES + chunksPerRegion * chunksPerRegion * CHUNK_BYTES];
+                random.nextBytes(data);
+                Files.write(this.template.resolve("r." + regionX + "." + regionZ + ".mca"), data);
+            }
+        }
+
+        this.setupClipboard(random);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteClones() throws IOException {
+        try (Stream<Path> clones = Files.list(this.directory)) {
+            for (Path clone : clones.toList()) {
+                if (!clone.getFileName().toString().equals("template")) {
+                    delete(clone);
+                }
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        delete(this.directory);
+    }
+
+    @Benchmark
+    public int cloneRegionFiles() throws IOException {
+        Path target = Files.createDirectories(this.directory.resolve("clone-" + this.clones++).resolve("region"));
+        try (Stream<Path> files = Files.list(this.template)) {
+            for (Path file : files.toList()) {
+                Files.copy(file, target.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+
+        return this.clones;
+    }
+
+    @Benchmark
+    public int[] pasteClipboard() {
+        int sizeX = this.size;
+        int sizeZ = this.size;
+        int index = 0;
+        for (int run = 0; run < this.runEnds.length; run++) {
+            int block = this.palette[this.runBlocks[run]];
+            for (; index < this.runEnds[run]; index++) {
+                int relX = index % sizeX;
+                int relZ = (index / sizeX) % sizeZ;
+                int relY = index / (sizeX * sizeZ);
+                this.blocks[(relY * sizeZ + relZ) * sizeX + relX] = block;
+            }
+        }
+
+        return this.blocks;
+    }
+
+    private void setupClipboard(Random random) {
+        // A few solid layers of ground, with scattered builds above
+        // and air filling the rest, similar to a typical arena map
+        int volume = this.size * this.size * HEIGHT;
+        int groundEnd = this.size * this.size * 4;
+
+        this.palette = new int[] { 0, 1, 2, 3, 4, 5, 6, 7 };
+        int[] runBlocks = new int[64];
+        int[] runEnds = new int[64];
+        int runCount = 0;
+
+        int index = groundEnd;
+        runBlocks[runCount] = 1;
+        runEnds[runCount++] = index;
+        while (index < volume) {
+            int length = Math.min(volume - index, 1 + random.nextInt(random.nextInt(8) == 0 ? 16 : 512));
+            int block = runBlocks[runCount - 1] == 0 ? 1 + random.nextInt(this.palette.length - 1) : 0;
+
+            if (runCount == runEnds.length) {
+                runBlocks = Arrays.copyOf(runBlocks, runCount * 2);
+                runEnds = Arrays.copyOf(runEnds, runCount * 2);
+            }
+
+            index += length;
+            runBlocks[runCount] = block;
+            runEnds[runCount++] = index;
+        }
+
+        this.runBlocks = Arrays.copyOf(runBlocks, runCount);
+        this.runEnds = Arrays.copyOf(runEnds, runCount);
+        this.blocks = new int[volume];
+    }
+
+    private static void delete(Path path) throws IOException {
+        try (Stream<Path> files = Files.walk(path)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package org.battleplugins.arena.event;
+
+import org.battleplugins.arena.competition.Competition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Compares calling {@link ArenaEventHandler} methods through the invokers
+ * generated by {@link HandlerPlan} with calling them through
+ * {@link Method#invoke(Object, Object...)}, as was done previously.
+ * <p>
+ * Registration is compared as well, between binding the cached plan of
+ * a listener class and scanning the methods of every listener instance.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandlerPlanBenchmark {
+    private final BenchmarkListener listener = new BenchmarkListener();
+    private final BenchmarkEvent event = new BenchmarkEvent();
+
+    private Method eventMethod;
+    private Method contextMethod;
+
+    private Consumer<Object> eventInvoker;
+    private BiConsumer<Object, Object> contextInvoker;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        this.eventMethod = BenchmarkListener.class.getDeclaredMethod("onEvent", BenchmarkEvent.class);
+        this.contextMethod = BenchmarkListener.class.getDeclaredMethod("onContext", BenchmarkEvent.class, Competition.class);
+        this.eventMethod.setAccessible(true);
+        this.contextMethod.setAccessible(true);
+
+        for (HandlerPlan.HandlerMethod handler : HandlerPlan.of(BenchmarkListener.class).getHandlers()) {
+            if (handler.kind() == HandlerPlan.ParameterKind.EVENT) {
+                this.eventInvoker = handler.bindEvent(this.listener);
+            } else {
+                this.contextInvoker = handler.bindContext(this.listener);
+            }
+        }
+    }
+
+    @Benchmark
+    public int reflectiveEvent() throws ReflectiveOperationException {
+        this.eventMethod.invoke(this.listener, this.event);
+        return this.listener.calls;
+    }
+
+    @Benchmark
+    public int generatedEvent() {
+        this.eventInvoker.accept(this.event);
+        return this.listener.calls;
+    }
+
+    @Benchmark
+    public int reflectiveContext() throws ReflectiveOperationException {
+        this.contextMethod.invoke(this.listener, this.event, null);
+        return this.listener.calls;
+    }
+
+    @Benchmark
+    public int generatedContext() {
+        this.contextInvoker.accept(this.event, null);
+        return this.listener.calls;
+    }
+
+    @Benchmark
+    public void reflectiveRegister(Blackhole blackhole) {
+        // The previous registration, which scanned every listener instance
+        List<Method> methods = new ArrayList<>();
+        for (Method method : new BenchmarkListener().getClass().getDeclaredMethods()) {
+            method.setAccessible(true);
+            if (method.isAnnotationPresent(ArenaEventHandler.class)) {
+                methods.add(method);
+            }
+        }
+
+        blackhole.consume(methods);
+    }
+
+    @Benchmark
+    public void generatedRegister(Blackhole blackhole) {
+        BenchmarkListener listener = new BenchmarkListener();
+        for (HandlerPlan.HandlerMethod handler : HandlerPlan.of(listener.getClass()).getHandlers()) {
+            blackhole.consume(handler.kind() == HandlerPlan.ParameterKind.EVENT ? handler.bindEvent(listener) : handler.bindContext(listener));
+        }
+    }
+
+    public static class BenchmarkEvent {
+    }
+
+    public static class BenchmarkListener implements ArenaListener {
+        int calls;
+
+        @ArenaEventHandler
+        public void onEvent(BenchmarkEvent event) {
+            this.calls++;
+        }
+
+        @ArenaEventHandler
+        public void onContext(BenchmarkEvent event, Competition<?> competition) {
+            this.calls++;
+        }
+
+        public void onUnrelated() {
+            this.calls--;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package org.battleplugins.arena.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.NoSuchFileException;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares lookups in {@link PolymorphicHashMap} with the previous
+ * implementation, which streamed over every entry on each lookup.
+ * <p>
+ * The map is keyed by a few classes of the exception hierarchy, and
+ * looked up with subclasses of them, similar to how event classes are
+ * looked up in the event manager.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolymorphicHashMapBenchmark {
+    private static final Class<?>[] KEYS = {
+            IOException.class,
+            IllegalArgumentException.class,
+            IllegalStateException.class,
+            UnsupportedOperationException.class,
+            NullPointerException.class,
+            IndexOutOfBoundsException.class,
+            ClassCastException.class,
+            ArithmeticException.class
+    };
+
+    private static final Class<?>[] LOOKUPS = {
+            FileNotFoundException.class,
+            NoSuchFileException.class,
+            NumberFormatException.class,
+            ConcurrentModificationException.class,
+            ArrayIndexOutOfBoundsException.class,
+            UncheckedIOException.class // Not present
+    };
+
+    private final Map<Class<?>, Integer> polymorphicMap = new PolymorphicHashMap<>();
+    private final Map<Class<?>, Integer> streamScanMap = new StreamScanMap<>();
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < KEYS.length; i++) {
+            this.polymorphicMap.put(KEYS[i], i);
+            this.streamScanMap.put(KEYS[i], i);
+        }
+    }
+
+    @Benchmark
+    public void polymorphicGet(Blackhole blackhole) {
+        for (Class<?> lookup : LOOKUPS) {
+            blackhole.consume(this.polymorphicMap.get(lookup));
+        }
+    }
+
+    @Benchmark
+    public void streamScanGet(Blackhole blackhole) {
+        for (Class<?> lookup : LOOKUPS) {
+            blackhole.consume(this.streamScanMap.get(lookup));
+        }
+    }
+
+    /**
+     * The previous implementation of {@link PolymorphicHashMap}.
+     */
+    private static class StreamScanMap<K extends Class<?>, V> extends HashMap<K, V> {
+
+        @Override
+        public boolean containsKey(Object key) {
+            return this.findEntry(key).isPresent();
+        }
+
+        @Override
+        public V get(Object key) {
+            return this.findEntry(key).map(Map.Entry::getValue).orElse(null);
+        }
+
+        private Optional<Map.Entry<K, V>> findEntry(Object key) {
+            return this.entrySet()
+                    .stream()
+                    .filter(e -> e.getKey().isAssignableFrom((Class<?>) key))
+                    .findFirst();
+        }
+    }
+}
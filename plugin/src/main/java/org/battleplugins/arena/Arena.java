@@ -19,6 +19,7 @@ import org.battleplugins.arena.config.context.VictoryConditionContextProvider;
 import org.battleplugins.arena.event.ArenaEventManager;
 import org.battleplugins.arena.event.ArenaEventType;
 import org.battleplugins.arena.event.ArenaListener;
+import org.battleplugins.arena.event.EventInterest;
 import org.battleplugins.arena.event.action.EventAction;
 import org.battleplugins.arena.options.ArenaOptionType;
 import org.battleplugins.arena.options.Lives;
@@ -29,9 +30,11 @@ import org.battleplugins.arena.resolver.ResolverKeys;
 import org.battleplugins.arena.resolver.ResolverProvider;
 import org.battleplugins.arena.util.Describable;
 import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
 import java.nio.file.Path;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -109,6 +112,9 @@ public class Arena implements ArenaLike, ArenaListener, ConfigHolder, Resolvable
     private final ArenaEventManager eventManager;
     private final Map<String, ConfigurationSection> config = new HashMap<>();
 
+    private Resolver resolver;
+    private EventInterest eventInterest;
+
     public Arena() {
         this.eventManager = new ArenaEventManager(this);
     }
@@ -269,11 +275,47 @@ public class Arena implements ArenaLike, ArenaListener, ConfigHolder, Resolvable
 
     /**
      * Gets the {@link EventAction actions} for this arena.
+     * <p>
+     * The returned map cannot be modified, use {@link #setEventActions(Map)}
+     * to change the actions of this arena instead.
      *
      * @return the event actions for this arena
      */
     public final Map<ArenaEventType<?>, List<EventAction>> getEventActions() {
-        return this.eventActions;
+        return this.eventActions == null ? Map.of() : Collections.unmodifiableMap(this.eventActions);
+    }
+
+    /**
+     * Sets the {@link EventAction actions} for this arena.
+     * <p>
+     * Competitions which are already in progress use the new
+     * actions once their current phase ends.
+     *
+     * @param eventActions the event actions for this arena
+     */
+    public final void setEventActions(Map<ArenaEventType<?>, List<EventAction>> eventActions) {
+        this.eventActions = new HashMap<>(eventActions);
+
+        // Drop everything derived from the previous actions
+        this.eventInterest = null;
+        this.eventManager.invalidatePipelines();
+    }
+
+    /**
+     * Gets the {@link ArenaEventType event types} this arena has
+     * {@link EventAction actions} for.
+     * <p>
+     * This method is internal and should not be used by other plugins.
+     *
+     * @return the event types this arena has actions for
+     */
+    @ApiStatus.Internal
+    public final EventInterest getEventInterest() {
+        if (this.eventInterest == null) {
+            this.eventInterest = this.eventActions == null ? EventInterest.NONE : EventInterest.of(this.eventActions.keySet());
+        }
+
+        return this.eventInterest;
     }
 
     /**
@@ -338,8 +380,14 @@ public class Arena implements ArenaLike, ArenaListener, ConfigHolder, Resolvable
 
     @Override
     public Resolver resolve() {
-        return Resolver.builder()
-                .define(ResolverKeys.ARENA, ResolverProvider.simple(this, Arena::getName))
-                .build();
+        // Nothing in the arena resolver changes, so it can be shared
+        // by every resolver built on top of it
+        if (this.resolver == null) {
+            this.resolver = Resolver.builder()
+                    .define(ResolverKeys.ARENA, ResolverProvider.simple(this, Arena::getName))
+                    .build();
+        }
+
+        return this.resolver;
     }
 }
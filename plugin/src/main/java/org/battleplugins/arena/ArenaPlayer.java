@@ -3,6 +3,9 @@ package org.battleplugins.arena;
 import org.battleplugins.arena.competition.LiveCompetition;
 import org.battleplugins.arena.competition.PlayerRole;
 import org.battleplugins.arena.competition.PlayerStorage;
+import org.battleplugins.arena.event.ArenaEventType;
+import org.battleplugins.arena.event.player.ArenaLifeDepleteEvent;
+import org.battleplugins.arena.event.player.ArenaLivesExhaustEvent;
 import org.battleplugins.arena.event.player.ArenaStatChangeEvent;
 import org.battleplugins.arena.event.player.ArenaTeamJoinEvent;
 import org.battleplugins.arena.event.player.ArenaTeamLeaveEvent;
@@ -14,21 +17,24 @@ import org.battleplugins.arena.resolver.ResolverProvider;
 import org.battleplugins.arena.stat.ArenaStat;
 import org.battleplugins.arena.stat.ArenaStats;
 import org.battleplugins.arena.stat.StatHolder;
+import org.battleplugins.arena.stat.StatSlots;
 import org.battleplugins.arena.team.ArenaTeam;
 import org.bukkit.entity.Player;
-import org.bukkit.metadata.FixedMetadataValue;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 /**
  * Represents a player in an active competition.
  */
 public class ArenaPlayer implements StatHolder, Resolvable {
-    private static final String ARENA_PLAYER_META_KEY = "arena-player";
+    private static final Map<ArenaStat<?>, ResolverKey<Object>> STAT_KEYS = new ConcurrentHashMap<>();
 
     private final Player player;
     private final Arena arena;
@@ -36,7 +42,7 @@ public class ArenaPlayer implements StatHolder, Resolvable {
 
     private final PlayerStorage storage;
 
-    private final Map<ArenaStat<?>, Object> stats = new HashMap<>();
+    private final StatSlots stats = new StatSlots();
     private final Map<Class<?>, Object> metadata = new HashMap<>();
 
     private PlayerRole role;
@@ -44,18 +50,20 @@ public class ArenaPlayer implements StatHolder, Resolvable {
     @Nullable
     private ArenaTeam team;
 
+    private Resolver resolver;
+
     public ArenaPlayer(Player player, Arena arena, LiveCompetition<?> competition) {
         this.player = player;
         this.arena = arena;
         this.competition = competition;
         this.storage = new PlayerStorage(this);
 
-        this.setMetadata();
-
         // Register default stats
         for (ArenaStat<?> stat : ArenaStats.values()) {
-            this.stats.put(stat, stat.getDefaultValue());
+            this.setDefault(stat);
         }
+
+        ArenaPlayerRegistry.register(this);
     }
 
     /**
@@ -152,21 +160,14 @@ public class ArenaPlayer implements StatHolder, Resolvable {
         }
 
         this.team = team;
+        this.resolver = null;
     }
 
     /**
-     * Removes the metadata associated with this player.
+     * Removes this player from the {@link ArenaPlayerRegistry}.
      */
     public void remove() {
-        this.removeMetadata();
-    }
-
-    void setMetadata() {
-        this.player.setMetadata(ARENA_PLAYER_META_KEY, new FixedMetadataValue(this.arena.getPlugin(), this));
-    }
-
-    void removeMetadata() {
-        this.player.removeMetadata(ARENA_PLAYER_META_KEY, this.arena.getPlugin());
+        ArenaPlayerRegistry.unregister(this);
     }
 
     /**
@@ -192,7 +193,7 @@ public class ArenaPlayer implements StatHolder, Resolvable {
     @Override
     @Nullable
     public <T> T getStat(ArenaStat<T> stat) {
-        return (T) this.stats.get(stat);
+        return this.stats.get(stat);
     }
 
     /**
@@ -215,15 +216,63 @@ public class ArenaPlayer implements StatHolder, Resolvable {
      * @param <T> the type of the stat
      */
     @Override
-    @SuppressWarnings("unchecked")
     public <T> void computeStat(ArenaStat<T> stat, Function<? super T, ? extends T> computeFunction) {
-        this.stats.compute(stat, (key, oldValue) -> {
-            T newValue = computeFunction.apply((T) oldValue);
-            return this.statChange(stat, (T) oldValue, newValue);
-        });
+        if (!this.stats.has(stat)) {
+            // A new stat needs to be added to the resolver
+            this.resolver = null;
+        }
+
+        T oldValue = this.stats.get(stat);
+        T newValue = this.statChange(stat, oldValue, computeFunction.apply(oldValue));
+        this.stats.set(stat, newValue);
+
+        this.competition.getTeamManager().updateStat(this, stat, oldValue, newValue);
+
+        // Handled here rather than by listening for stat changes, so that
+        // stat change events are only created when something listens for them
+        if (stat == ArenaStats.LIVES) {
+            this.onLivesChange((Integer) oldValue, (Integer) newValue);
+        }
+    }
+
+    /**
+     * Calls the given consumer for every stat this player has a value for.
+     * <p>
+     * This method is internal and should not be used by other plugins.
+     *
+     * @param consumer the consumer to call
+     */
+    @ApiStatus.Internal
+    public void forEachStat(BiConsumer<ArenaStat<?>, Object> consumer) {
+        this.stats.forEach(consumer);
+    }
+
+    private void onLivesChange(@Nullable Integer oldValue, @Nullable Integer newValue) {
+        if (newValue == null || (oldValue != null && oldValue < newValue)) {
+            return;
+        }
+
+        if (newValue == 0) {
+            this.arena.getEventManager().callEvent(new ArenaLivesExhaustEvent(this.arena, this));
+            return;
+        }
+
+        if (newValue < 0) {
+            return;
+        }
+
+        this.arena.getEventManager().callEvent(new ArenaLifeDepleteEvent(this.arena, this, newValue));
+    }
+
+    private <T> void setDefault(ArenaStat<T> stat) {
+        this.stats.set(stat, stat.getDefaultValue());
     }
 
     private <T> T statChange(ArenaStat<T> stat, T oldValue, T newValue) {
+        if (!this.arena.getEventManager().isListening(ArenaEventType.ON_STAT_CHANGE, this.competition)) {
+            return newValue;
+        }
+
         ArenaStatChangeEvent<T> event = new ArenaStatChangeEvent<>(this.competition, this, stat, oldValue, newValue);
         this.arena.getEventManager().callEvent(event);
         return event.getNewValue();
@@ -280,7 +329,9 @@ public class ArenaPlayer implements StatHolder, Resolvable {
      */
     public void resetState() {
         // TODO: Save stats in a remote location (BattleTracker)
+        this.stats.forEach((stat, value) -> this.competition.getTeamManager().updateStat(this, stat, value, null));
         this.stats.clear();
+        this.resolver = null;
 
         this.competition.getTeamManager().leaveTeam(this);
         this.competition.findAndJoinTeamIfApplicable(this);
@@ -294,18 +345,26 @@ public class ArenaPlayer implements StatHolder, Resolvable {
 
     @Override
     public Resolver resolve() {
-        Resolver.Builder builder = this.competition.resolve().toBuilder()
-                .define(ResolverKeys.PLAYER, ResolverProvider.simple(this, this.player::getName));
-
-        if (this.team != null) {
-            builder.define(ResolverKeys.TEAM, ResolverProvider.simple(this.team, ArenaTeam::getName, ArenaTeam::getFormattedName));
-        }
-
-        for (Map.Entry<ArenaStat<?>, Object> entry : this.stats.entrySet()) {
-            ResolverKey<Object> statKey = ResolverKey.create("stat_" + entry.getKey().getKey(), Object.class);
-            builder.define(statKey, ResolverProvider.simple(entry.getValue(), String::valueOf));
+        // Stat values are evaluated on lookup, so the player's own providers
+        // only need to be recreated when the team or tracked stats change
+        if (this.resolver == null) {
+            Resolver.Builder builder = Resolver.builder()
+                    .define(ResolverKeys.PLAYER, ResolverProvider.simple(this, this.player::getName));
+
+            if (this.team != null) {
+                builder.define(ResolverKeys.TEAM, ResolverProvider.simple(this.team, ArenaTeam::getName, ArenaTeam::getFormattedName));
+            }
+
+            this.stats.forEach((stat, value) -> {
+                ResolverKey<Object> statKey = STAT_KEYS.computeIfAbsent(stat, key -> ResolverKey.create("stat_" + key.getKey(), Object.class));
+                builder.define(statKey, ResolverProvider.lazy(() -> this.stats.get(stat), String::valueOf));
+            });
+
+            this.resolver = builder.build();
         }
 
+        Resolver.Builder builder = this.competition.resolve().toBuilder();
+        this.resolver.mergeInto(builder);
         return builder.build();
     }
 
@@ -335,10 +394,10 @@ public class ArenaPlayer implements StatHolder, Resolvable {
      */
     @Nullable
     public static ArenaPlayer getArenaPlayer(Player player) {
-        if (player == null || !player.hasMetadata(ARENA_PLAYER_META_KEY)) {
+        if (player == null) {
             return null;
         }
 
-        return (ArenaPlayer) player.getMetadata(ARENA_PLAYER_META_KEY).get(0).value();
+        return ArenaPlayerRegistry.get(player);
     }
 }
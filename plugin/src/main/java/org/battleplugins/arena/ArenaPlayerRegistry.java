@@ -0,0 +1,123 @@
+package org.battleplugins.arena;
+
+import org.battleplugins.arena.competition.Competition;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The registry of every {@link ArenaPlayer} currently in a competition.
+ * <p>
+ * Players are added when they join a competition and removed when they
+ * leave it. The registry can safely be read from any thread.
+ */
+public final class ArenaPlayerRegistry {
+    private static final Map<UUID, ArenaPlayer> PLAYERS = new ConcurrentHashMap<>();
+    private static final Map<Arena, Integer> ARENA_COUNTS = new ConcurrentHashMap<>();
+    private static final Map<Competition<?>, Integer> COMPETITION_COUNTS = new ConcurrentHashMap<>();
+
+    private ArenaPlayerRegistry() {
+    }
+
+    /**
+     * Gets the {@link ArenaPlayer} associated with the given player.
+     *
+     * @param player the player to get the arena player of
+     * @return the arena player associated with the given player, or
+     *         null if the player is not in a competition
+     */
+    @Nullable
+    public static ArenaPlayer get(Player player) {
+        return PLAYERS.get(player.getUniqueId());
+    }
+
+    /**
+     * Gets the {@link ArenaPlayer} associated with the given player
+     * {@link UUID}.
+     *
+     * @param uuid the uuid of the player
+     * @return the arena player associated with the given uuid, or
+     *         null if the player is not in a competition
+     */
+    @Nullable
+    public static ArenaPlayer get(UUID uuid) {
+        return PLAYERS.get(uuid);
+    }
+
+    /**
+     * Returns all the {@link ArenaPlayer players} currently in a
+     * competition.
+     *
+     * @return all the players currently in a competition
+     */
+    public static Collection<ArenaPlayer> getPlayers() {
+        return Collections.unmodifiableCollection(PLAYERS.values());
+    }
+
+    /**
+     * Returns the number of players currently in a competition.
+     *
+     * @return the number of players in a competition
+     */
+    public static int getPlayerCount() {
+        return PLAYERS.size();
+    }
+
+    /**
+     * Returns the number of players currently in a competition
+     * of the given {@link Arena}.
+     *
+     * @param arena the arena to get the player count of
+     * @return the number of players in the arena
+     */
+    public static int getPlayerCount(Arena arena) {
+        return ARENA_COUNTS.getOrDefault(arena, 0);
+    }
+
+    /**
+     * Returns the number of players currently in the given
+     * {@link Competition}.
+     *
+     * @param competition the competition to get the player count of
+     * @return the number of players in the competition
+     */
+    public static int getPlayerCount(Competition<?> competition) {
+        return COMPETITION_COUNTS.getOrDefault(competition, 0);
+    }
+
+    static void register(ArenaPlayer player) {
+        ArenaPlayer previous = PLAYERS.put(player.getPlayer().getUniqueId(), player);
+        if (previous == player) {
+            return;
+        }
+
+        if (previous != null) {
+            decrement(previous);
+        }
+
+        ARENA_COUNTS.merge(player.getArena(), 1, Integer::sum);
+        COMPETITION_COUNTS.merge(player.getCompetition(), 1, Integer::sum);
+    }
+
+    static void unregister(ArenaPlayer player) {
+        if (PLAYERS.remove(player.getPlayer().getUniqueId(), player)) {
+            decrement(player);
+        }
+    }
+
+    private static void decrement(ArenaPlayer player) {
+        decrement(ARENA_COUNTS, player.getArena());
+        decrement(COMPETITION_COUNTS, player.getCompetition());
+    }
+
+    private static <K> void decrement(Map<K, Integer> counts, K key) {
+        // Remove the count once it reaches zero, so that
+        // competitions which have ended are not retained
+        counts.computeIfPresent(key, (k, count) -> count <= 1 ? null : count - 1);
+    }
+}
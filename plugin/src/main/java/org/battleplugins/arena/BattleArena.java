@@ -12,6 +12,9 @@ import org.battleplugins.arena.competition.event.EventScheduler;
 import org.battleplugins.arena.competition.event.EventType;
 import org.battleplugins.arena.competition.map.LiveCompetitionMap;
 import org.battleplugins.arena.competition.map.MapType;
+import org.battleplugins.arena.competition.map.MovementService;
+import org.battleplugins.arena.competition.map.RegionTemplate;
+import org.battleplugins.arena.competition.map.options.Bounds;
 import org.battleplugins.arena.config.ArenaConfigParser;
 import org.battleplugins.arena.config.ParseException;
 import org.battleplugins.arena.event.BattleArenaPreInitializeEvent;
@@ -24,17 +27,21 @@ import org.battleplugins.arena.module.ArenaModuleLoader;
 import org.battleplugins.arena.module.ModuleLoadException;
 import org.battleplugins.arena.team.ArenaTeams;
 import org.battleplugins.arena.util.CommandInjector;
+import org.battleplugins.arena.util.DeletionService;
 import org.battleplugins.arena.util.LoggerHolder;
 import org.battleplugins.arena.util.Util;
 import org.battleplugins.arena.util.Version;
 import org.bstats.bukkit.Metrics;
 import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.block.Block;
 import org.bukkit.command.PluginCommand;
 import org.bukkit.configuration.Configuration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
@@ -46,13 +53,13 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -69,10 +76,15 @@ public class BattleArena extends JavaPlugin implements LoggerHolder, BattleArena
     final Map<String, Arena> arenas = new HashMap<>();
 
     private final Map<Arena, List<LiveCompetitionMap>> arenaMaps = new HashMap<>();
+
+    // The maps of every arena by the world they are in, so that
+    // block changes only need to check the maps in their world
+    private final Map<UUID, List<LiveCompetitionMap>> worldMaps = new HashMap<>();
     private final Map<String, ArenaLoader> arenaLoaders = new HashMap<>();
 
     private final CompetitionManager competitionManager = new CompetitionManager(this);
     private final EventScheduler eventScheduler = new EventScheduler();
+    private final DeletionService deletionService = new DeletionService(this, Bukkit.getWorldContainer().toPath().resolve(".ba-trash"));
 
     private BattleArenaConfig config;
     private ArenaModuleLoader moduleLoader;
@@ -111,6 +123,14 @@ public class BattleArena extends JavaPlugin implements LoggerHolder, BattleArena
     @Override
     public void onEnable() {
         Bukkit.getPluginManager().registerEvents(new BattleArenaListener(this), this);
+        Bukkit.getPluginManager().registerEvents(new MovementService(), this);
+
+        // Start deleting folders left in the trash by a previous run
+        this.deletionService.start();
+
+        if (Bukkit.getPluginManager().getPlugin("WorldEdit") != null) {
+            WorldEditListener.register(this);
+        }
 
         // Register default arenas
         this.registerArena(this, "Arena", Arena.class);
@@ -181,11 +201,27 @@ public class BattleArena extends JavaPlugin implements LoggerHolder, BattleArena
         new BattleArenaShutdownEvent(this).callEvent();
 
         this.disable();
+
+        this.deletionService.stop();
     }
 
     private void disable() {
+        // Players waiting to join cannot be placed once the arenas are unloaded
+        this.competitionManager.closeJoinQueue();
+
+        // Delete prepared dynamic maps, cancel pastes into copies which are
+        // still being prepared, and stop maps of the competitions closed
+        // below from being returned to their pools
+        this.competitionManager.closeDynamicMapPools();
+
+        // Finish the remaining pastes, such as restorations of maps in use,
+        // as there may be no ticks left to spread them over
+        this.competitionManager.getPasteScheduler().flush();
+
         // Close all active competitions
         this.competitionManager.completeAllActiveCompetitions();
+        this.competitionManager.finishClearingDynamicMaps();
+        this.competitionManager.closeSlotGrids();
 
         // Stop all scheduled events
         this.eventScheduler.stopAllEvents();
@@ -199,6 +235,7 @@ public class BattleArena extends JavaPlugin implements LoggerHolder, BattleArena
 
         this.arenas.clear();
         this.arenaMaps.clear();
+        this.worldMaps.clear();
         this.arenaLoaders.clear();
 
         this.config = null;
@@ -229,6 +266,13 @@ public class BattleArena extends JavaPlugin implements LoggerHolder, BattleArena
             }
         }
 
+        // Prepare dynamic maps ahead of players joining
+        for (Map.Entry<Arena, List<LiveCompetitionMap>> entry : this.arenaMaps.entrySet()) {
+            for (LiveCompetitionMap map : entry.getValue()) {
+                this.competitionManager.prepareDynamicMap(entry.getKey(), map);
+            }
+        }
+
         // Initialize events
         for (Map.Entry<String, List<EventOptions>> entry : this.config.getEvents().entrySet()) {
             Arena arena = this.getArena(entry.getKey());
@@ -395,6 +439,80 @@ public class BattleArena extends JavaPlugin implements LoggerHolder, BattleArena
                 .orElse(null);
     }
 
+    /**
+     * Gets every {@link MapType#DYNAMIC dynamic} map with bounds in the given world.
+     *
+     * @param world the world to get the maps in
+     * @return the dynamic maps in the given world
+     */
+    List<LiveCompetitionMap> getDynamicMaps(World world) {
+        List<LiveCompetitionMap> maps = this.worldMaps.get(world.getUID());
+        if (maps == null) {
+            return List.of();
+        }
+
+        List<LiveCompetitionMap> dynamicMaps = new ArrayList<>();
+        for (LiveCompetitionMap map : maps) {
+            if (map.getType() == MapType.DYNAMIC && map.getBounds() != null) {
+                dynamicMaps.add(map);
+            }
+        }
+
+        return dynamicMaps;
+    }
+
+    /**
+     * Invalidates the clipboard of every {@link MapType#DYNAMIC dynamic} map
+     * containing the given block position, after the block has been modified.
+     *
+     * @param world the world which was modified
+     * @param x the block X coordinate
+     * @param y the block Y coordinate
+     * @param z the block Z coordinate
+     */
+    void invalidateMapClipboards(World world, int x, int y, int z) {
+        List<LiveCompetitionMap> maps = this.worldMaps.get(world.getUID());
+        if (maps == null) {
+            return;
+        }
+
+        // The type of a map may be changed in the editor, so it is checked here
+        for (LiveCompetitionMap map : maps) {
+            Bounds bounds = map.getBounds();
+            if (map.getType() == MapType.DYNAMIC && bounds != null && bounds.isInside(x, y, z)) {
+                map.invalidateClipboard();
+            }
+        }
+    }
+
+    /**
+     * Invalidates the clipboard of every {@link MapType#DYNAMIC dynamic} map
+     * containing any of the given blocks, after the blocks have been modified.
+     *
+     * @param world the world which was modified
+     * @param blocks the blocks which were modified
+     */
+    void invalidateMapClipboards(World world, List<Block> blocks) {
+        List<LiveCompetitionMap> maps = this.worldMaps.get(world.getUID());
+        if (maps == null) {
+            return;
+        }
+
+        for (LiveCompetitionMap map : maps) {
+            Bounds bounds = map.getBounds();
+            if (map.getType() != MapType.DYNAMIC || bounds == null) {
+                continue;
+            }
+
+            for (Block block : blocks) {
+                if (bounds.isInside(block.getX(), block.getY(), block.getZ())) {
+                    map.invalidateClipboard();
+                    break;
+                }
+            }
+        }
+    }
+
     /**
      * Adds a new {@link LiveCompetitionMap} to the given {@link Arena}.
      *
@@ -403,6 +521,9 @@ public class BattleArena extends JavaPlugin implements LoggerHolder, BattleArena
      */
     public void addArenaMap(Arena arena, LiveCompetitionMap map) {
         this.arenaMaps.computeIfAbsent(arena, k -> new ArrayList<>()).add(map);
+        if (map.getWorld() != null) {
+            this.worldMaps.computeIfAbsent(map.getWorld().getUID(), k -> new ArrayList<>()).add(map);
+        }
     }
 
     /**
@@ -413,6 +534,12 @@ public class BattleArena extends JavaPlugin implements LoggerHolder, BattleArena
      */
     public void removeArenaMap(Arena arena, LiveCompetitionMap map) {
         this.arenaMaps.computeIfAbsent(arena, k -> new ArrayList<>()).remove(map);
+        if (map.getWorld() != null) {
+            List<LiveCompetitionMap> worldMaps = this.worldMaps.get(map.getWorld().getUID());
+            if (worldMaps != null && worldMaps.remove(map) && worldMaps.isEmpty()) {
+                this.worldMaps.remove(map.getWorld().getUID());
+            }
+        }
 
         // If the map is removed, also remove the competition if applicable
         for (Competition<?> competition : this.competitionManager.getCompetitions(arena)) {
@@ -421,6 +548,8 @@ public class BattleArena extends JavaPlugin implements LoggerHolder, BattleArena
             }
         }
 
+        this.competitionManager.closeDynamicMapPool(map);
+
         // Now remove the map from the file system
         Path mapPath = arena.getMapPath().resolve(map.getName().toLowerCase(Locale.ROOT) + ".yml");
         try {
@@ -535,6 +664,32 @@ public class BattleArena extends JavaPlugin implements LoggerHolder, BattleArena
         return this.eventScheduler;
     }
 
+    /**
+     * Returns the {@link DeletionService}, which is responsible for
+     * deleting folders such as dynamic map worlds in the background.
+     * <p>
+     * This method is internal and should not be used by other plugins.
+     *
+     * @return the deletion service
+     */
+    @ApiStatus.Internal
+    public DeletionService getDeletionService() {
+        return this.deletionService;
+    }
+
+    /**
+     * Returns the {@link CompetitionManager}, which is responsible for
+     * managing and matchmaking competitions.
+     * <p>
+     * This method is internal and should not be used by other plugins.
+     *
+     * @return the competition manager
+     */
+    @ApiStatus.Internal
+    public CompetitionManager getCompetitionManager() {
+        return this.competitionManager;
+    }
+
     /**
      * Returns an in-memory representation of the configuration.
      *
@@ -756,17 +911,11 @@ public class BattleArena extends JavaPlugin implements LoggerHolder, BattleArena
     }
 
     private void clearDynamicMaps() {
+        RegionTemplate.deleteAll();
+
         for (File file : Bukkit.getWorldContainer().listFiles()) {
             if (file.isDirectory() && file.getName().startsWith("ba-dynamic")) {
-                try {
-                    try (Stream<Path> pathsToDelete = Files.walk(file.toPath())) {
-                        for (Path path : pathsToDelete.sorted(Comparator.reverseOrder()).toList()) {
-                            Files.deleteIfExists(path);
-                        }
-                    }
-                } catch (IOException e) {
-                    this.error("Failed to delete dynamic map {}", file.getName(), e);
-                }
+                this.deletionService.delete(file.toPath());
             }
         }
     }
@@ -1,6 +1,7 @@
 package org.battleplugins.arena;
 
 import org.battleplugins.arena.competition.event.EventOptions;
+import org.battleplugins.arena.competition.map.DynamicMapMode;
 import org.battleplugins.arena.config.ArenaOption;
 import org.battleplugins.arena.config.Updater;
 import org.battleplugins.arena.config.updater.ConfigUpdater;
@@ -27,6 +28,21 @@ public class BattleArenaConfig {
     @ArenaOption(name = "max-dynamic-maps", description = "The maximum number of dynamic maps an Arena can have allocated at once.", required = true)
     private int maxDynamicMaps;
 
+    @ArenaOption(name = "dynamic-map-pool-size", description = "The number of dynamic maps to keep prepared for each map, ready for players to join.", required = true)
+    private int dynamicMapPoolSize;
+
+    @ArenaOption(name = "dynamic-map-mode", description = "Where copies of dynamic maps are placed.", required = true)
+    private DynamicMapMode dynamicMapMode;
+
+    @ArenaOption(name = "dynamic-map-slot-size", description = "The size of each slot in the slot grid, in blocks.", required = true)
+    private int dynamicMapSlotSize;
+
+    @ArenaOption(name = "compact-map-clipboards", description = "Whether the in-memory copies of dynamic maps should be stored in a compact form.", required = true)
+    private boolean compactMapClipboards;
+
+    @ArenaOption(name = "paste-budget", description = "The number of milliseconds per tick which can be spent pasting maps.", required = true)
+    private int pasteBudget;
+
     @ArenaOption(name = "randomized-arena-join", description = "Whether players should be randomly placed in an Arena when joining without specifying a map.", required = true)
     private boolean randomizedArenaJoin;
 
@@ -55,6 +71,26 @@ public class BattleArenaConfig {
         return this.maxDynamicMaps;
     }
 
+    public int getDynamicMapPoolSize() {
+        return this.dynamicMapPoolSize;
+    }
+
+    public DynamicMapMode getDynamicMapMode() {
+        return this.dynamicMapMode;
+    }
+
+    public int getDynamicMapSlotSize() {
+        return this.dynamicMapSlotSize;
+    }
+
+    public boolean isCompactMapClipboards() {
+        return this.compactMapClipboards;
+    }
+
+    public int getPasteBudget() {
+        return this.pasteBudget;
+    }
+
     public boolean isRandomizedArenaJoin() {
         return this.randomizedArenaJoin;
     }
@@ -84,6 +120,49 @@ public class BattleArenaConfig {
                                 "with players waiting will always be prioritized though, even with this setting",
                                 "enabled."
                         ));
+                    },
+                    "3.2", (config, instance) -> {
+                        config.set("dynamic-map-pool-size", 0);
+                        config.setComments("dynamic-map-pool-size", List.of(
+                                "The number of dynamic maps to keep prepared for each map, so that",
+                                "players joining do not have to wait for a new map to be created.",
+                                "Prepared maps count towards the max-dynamic-maps limit, but are",
+                                "discarded whenever a competition needs the room. Set to 0 to",
+                                "disable this."
+                        ));
+                    },
+                    "3.3", (config, instance) -> {
+                        config.set("dynamic-map-mode", "world");
+                        config.setComments("dynamic-map-mode", List.of(
+                                "Where copies of dynamic maps are placed. Options:",
+                                "- world: each copy is placed in its own world",
+                                "- slot_grid: copies are placed side by side in a single world per",
+                                "  arena, which is much cheaper than creating a world for each copy",
+                                "- region_files: each copy is placed in its own world, created by copying",
+                                "  the region files of the map, which is much faster for large maps"
+                        ));
+
+                        config.set("dynamic-map-slot-size", 1024);
+                        config.setComments("dynamic-map-slot-size", List.of(
+                                "The size of each slot in the slot grid, in blocks. Maps which do not",
+                                "fit in a slot are placed in their own world instead."
+                        ));
+                    },
+                    "3.4", (config, instance) -> {
+                        config.set("compact-map-clipboards", false);
+                        config.setComments("compact-map-clipboards", List.of(
+                                "Whether the in-memory copies of dynamic maps, which new dynamic maps",
+                                "are created from, should be stored in a compact form. This uses far",
+                                "less memory for large maps, but makes creating dynamic maps slower."
+                        ));
+                    },
+                    "3.5", (config, instance) -> {
+                        config.set("paste-budget", 10);
+                        config.setComments("paste-budget", List.of(
+                                "The number of milliseconds per tick which can be spent pasting maps,",
+                                "such as when preparing dynamic maps or restoring arenas. Pastes which",
+                                "do not fit within this budget are continued on the following ticks."
+                        ));
                     });
         }
     }
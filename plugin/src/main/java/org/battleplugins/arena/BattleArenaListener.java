@@ -4,11 +4,18 @@ import io.papermc.paper.event.player.AsyncChatEvent;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import org.battleplugins.arena.editor.ArenaEditorWizard;
 import org.battleplugins.arena.event.BattleArenaPostInitializeEvent;
+import org.bukkit.block.Block;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
 import org.bukkit.event.server.ServerLoadEvent;
 
+import java.util.List;
+
 class BattleArenaListener implements Listener {
     private final BattleArena plugin;
 
@@ -39,4 +46,39 @@ class BattleArenaListener implements Listener {
             });
         }
     }
+
+    // Dynamic maps keep an in-memory copy of their blocks, which
+    // needs to be captured again once the original map is edited
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event) {
+        this.onBlockChange(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        this.onBlockChange(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent event) {
+        this.onBlocksChange(event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent event) {
+        this.onBlocksChange(event.blockList());
+    }
+
+    private void onBlockChange(Block block) {
+        this.plugin.invalidateMapClipboards(block.getWorld(), block.getX(), block.getY(), block.getZ());
+    }
+
+    private void onBlocksChange(List<Block> blocks) {
+        if (blocks.isEmpty()) {
+            return;
+        }
+
+        this.plugin.invalidateMapClipboards(blocks.get(0).getWorld(), blocks);
+    }
 }
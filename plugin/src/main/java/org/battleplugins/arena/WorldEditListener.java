@@ -0,0 +1,95 @@
+package org.battleplugins.arena;
+
+import com.sk89q.worldedit.EditSession;
+import com.sk89q.worldedit.WorldEdit;
+import com.sk89q.worldedit.WorldEditException;
+import com.sk89q.worldedit.event.extent.EditSessionEvent;
+import com.sk89q.worldedit.extent.AbstractDelegateExtent;
+import com.sk89q.worldedit.extent.Extent;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.util.eventbus.Subscribe;
+import com.sk89q.worldedit.world.block.BlockStateHolder;
+import org.battleplugins.arena.competition.map.LiveCompetitionMap;
+import org.battleplugins.arena.competition.map.options.Bounds;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+
+import java.util.List;
+
+/**
+ * Listens for WorldEdit edits, which are not reported through
+ * Bukkit events, so that the in-memory copies of dynamic maps
+ * can be captured again once the original map is edited.
+ */
+class WorldEditListener {
+    private final BattleArena plugin;
+
+    private WorldEditListener(BattleArena plugin) {
+        this.plugin = plugin;
+    }
+
+    @Subscribe
+    public void onEditSession(EditSessionEvent event) {
+        // Sessions without an actor are opened by plugins, including every
+        // session BattleArena opens itself to paste and restore maps
+        if (event.getStage() != EditSession.Stage.BEFORE_CHANGE || event.getWorld() == null || event.getActor() == null) {
+            return;
+        }
+
+        World world = Bukkit.getWorld(event.getWorld().getName());
+        if (world == null) {
+            return;
+        }
+
+        List<LiveCompetitionMap> maps = this.plugin.getDynamicMaps(world);
+        if (maps.isEmpty()) {
+            return;
+        }
+
+        // The region of an edit is not known up front, so watch the
+        // blocks it changes, which also skips edits that change nothing
+        event.setExtent(new MapChangeExtent(event.getExtent(), maps));
+    }
+
+    private void invalidate(LiveCompetitionMap map) {
+        // Edits may be made asynchronously
+        if (Bukkit.isPrimaryThread()) {
+            map.invalidateClipboard();
+        } else {
+            Bukkit.getScheduler().runTask(this.plugin, map::invalidateClipboard);
+        }
+    }
+
+    static void register(BattleArena plugin) {
+        WorldEdit.getInstance().getEventBus().register(new WorldEditListener(plugin));
+    }
+
+    /**
+     * An extent which invalidates the clipboard of a map the first
+     * time a block within its bounds is changed.
+     */
+    private class MapChangeExtent extends AbstractDelegateExtent {
+        private final List<LiveCompetitionMap> maps;
+        private final boolean[] invalidated;
+
+        MapChangeExtent(Extent extent, List<LiveCompetitionMap> maps) {
+            super(extent);
+
+            this.maps = maps;
+            this.invalidated = new boolean[maps.size()];
+        }
+
+        @Override
+        public <T extends BlockStateHolder<T>> boolean setBlock(BlockVector3 location, T block) throws WorldEditException {
+            for (int i = 0; i < this.maps.size(); i++) {
+                Bounds bounds = this.maps.get(i).getBounds();
+                if (!this.invalidated[i] && bounds != null && bounds.isInside(location.getBlockX(), location.getBlockY(), location.getBlockZ())) {
+                    this.invalidated[i] = true;
+                    WorldEditListener.this.invalidate(this.maps.get(i));
+                }
+            }
+
+            return super.setBlock(location, block);
+        }
+    }
+}
@@ -37,7 +37,6 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ThreadLocalRandom;
 
 public class ArenaCommandExecutor extends BaseCommandExecutor {
     private static final CompetitionMap RANDOM_MAP_MARKER = new CompetitionMap() {
@@ -72,7 +71,7 @@ public class ArenaCommandExecutor extends BaseCommandExecutor {
 
     @ArenaCommand(commands = { "join", "j" }, description = "Join an arena.", permissionNode = "join.map")
     public void join(Player player, @Argument(name = "map") CompetitionMap map) {
-        if (ArenaPlayer.getArenaPlayer(player) != null) {
+        if (ArenaPlayer.getArenaPlayer(player) != null || this.arena.getPlugin().getCompetitionManager().isQueued(player)) {
             Messages.ALREADY_IN_ARENA.send(player);
             return;
         }
@@ -115,14 +114,16 @@ public class ArenaCommandExecutor extends BaseCommandExecutor {
 
         // If any player is already in an arena, deny them entry
         for (Player toJoin : players) {
-            if (ArenaPlayer.getArenaPlayer(toJoin) != null) {
+            if (ArenaPlayer.getArenaPlayer(toJoin) != null || this.arena.getPlugin().getCompetitionManager().isQueued(toJoin)) {
                 Messages.CANNOT_JOIN_ARENA_MEMBER_IN_ARENA.send(player);
                 return;
             }
         }
 
-        List<Competition<?>> competitions = map == RANDOM_MAP_MARKER ? this.arena.getPlugin().getCompetitions(this.arena) : this.arena.getPlugin().getCompetitions(this.arena, map.getName());
-        this.arena.getPlugin().findJoinableCompetition(competitions, players, PlayerRole.PLAYING).whenCompleteAsync((result, e) -> {
+        // Joins are placed together at the end of the tick, so that players
+        // joining at the same time fill competitions before new ones are made
+        String mapName = map == RANDOM_MAP_MARKER ? null : map.getName();
+        this.arena.getPlugin().getCompetitionManager().queueJoin(this.arena, players, PlayerRole.PLAYING, mapName).whenComplete((result, e) -> {
             if (e != null) {
                 Messages.ARENA_ERROR.send(player, e.getMessage());
                 this.arena.getPlugin().error("An error occurred while joining the arena", e);
@@ -130,57 +131,31 @@ public class ArenaCommandExecutor extends BaseCommandExecutor {
             }
 
             Competition<?> competition = result.competition();
-            if (competition != null) {
-                competition.join(players, PlayerRole.PLAYING);
-
-                for (Player toJoin : players) {
-                    Messages.ARENA_JOINED.send(toJoin, competition.getMap().getName());
-                }
-            } else {
+            if (competition == null) {
                 List<LiveCompetitionMap> maps = this.arena.getPlugin().getMaps(this.arena);
                 if (maps.isEmpty()) {
                     Messages.NO_MAPS_FOR_ARENA.send(player);
                     return;
                 }
 
-                String mapName = map.getName();
-                if (map == RANDOM_MAP_MARKER) {
-                    // Select a random map
-                    mapName = maps.get(ThreadLocalRandom.current().nextInt(maps.size())).getName();
+                // No competition - something happened that stopped the
+                // dynamic arena from being created. Not much we can do here,
+                // but info will be in console in the event of an error
+                if (result.result() != JoinResult.NOT_JOINABLE && result.result().message() != null) {
+                    result.result().message().send(player);
+                } else {
+                    Messages.ARENA_NOT_JOINABLE.send(player);
                 }
 
-                // Try and create a dynamic competition if possible
-                this.arena.getPlugin()
-                        .getOrCreateCompetition(this.arena, players, PlayerRole.PLAYING, mapName)
-                        .whenComplete((newResult, ex) -> {
-                            if (ex != null) {
-                                Messages.ARENA_ERROR.send(player, ex.getMessage());
-                                this.arena.getPlugin().error("An error occurred while joining the arena", ex);
-                                return;
-                            }
-
-                            if (newResult.competition() == null) {
-                                // No competition - something happened that stopped the
-                                // dynamic arena from being created. Not much we can do here,
-                                // but info will be in console in the event of an error
-                                if (newResult.result() != JoinResult.NOT_JOINABLE && newResult.result().message() != null) {
-                                    newResult.result().message().send(player);
-                                } else if (result.result() != JoinResult.NOT_JOINABLE && result.result().message() != null) {
-                                   result.result().message().send(player);
-                                } else {
-                                    Messages.ARENA_NOT_JOINABLE.send(player);
-                                }
-
-                                return;
-                            }
-
-                            for (Player toJoin : players) {
-                                newResult.competition().join(toJoin, PlayerRole.PLAYING);
-                                Messages.ARENA_JOINED.send(toJoin, newResult.competition().getMap().getName());
-                            }
-                        });
+                return;
+            }
+
+            for (Player toJoin : players) {
+                if (toJoin.isOnline()) {
+                    Messages.ARENA_JOINED.send(toJoin, competition.getMap().getName());
+                }
             }
-        }, Bukkit.getScheduler().getMainThreadExecutor(this.arena.getPlugin()));
+        });
     }
 
     @ArenaCommand(commands = "kick", description = "Kick a player from the arena.", permissionNode = "kick")
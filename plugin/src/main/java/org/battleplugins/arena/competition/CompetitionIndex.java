@@ -0,0 +1,234 @@
+package org.battleplugins.arena.competition;
+
+import org.battleplugins.arena.Arena;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * An index of the {@link Competition competitions} of an {@link Arena},
+ * used to find a competition for players to join without scanning
+ * every open competition.
+ * <p>
+ * Competitions are grouped by map name, as well as kept in a single group
+ * for requests which accept any map. Each group is ordered so that competitions
+ * which are in a joinable phase come first, followed by competitions
+ * with the most players. The index must be {@link #update(Competition) updated}
+ * whenever the phase, player count or map readiness of a competition changes.
+ */
+final class CompetitionIndex {
+    private static final Comparator<Slot> ORDER = Comparator.comparing(Slot::joinable).reversed()
+            .thenComparing(Comparator.comparingInt(Slot::players).reversed())
+            .thenComparingLong(Slot::order)
+            .thenComparingLong(Slot::sequence);
+
+    private final List<Competition<?>> competitions = new ArrayList<>();
+    private final Map<String, List<Competition<?>>> competitionsByMap = new HashMap<>();
+    private final Map<String, NavigableSet<Slot>> slotsByMap = new HashMap<>();
+    private final NavigableSet<Slot> allSlots = new TreeSet<>(ORDER);
+    private final Map<Competition<?>, Slot> slots = new HashMap<>();
+
+    private long nextSequence;
+
+    /**
+     * Adds the given {@link Competition} to this index.
+     *
+     * @param competition the competition to add
+     * @param order the order of the competition among competitions with
+     *              the same number of players
+     */
+    void add(Competition<?> competition, long order) {
+        if (this.slots.containsKey(competition)) {
+            return;
+        }
+
+        String mapName = key(competition);
+        this.competitions.add(competition);
+        this.competitionsByMap.computeIfAbsent(mapName, k -> new ArrayList<>()).add(competition);
+
+        Slot slot = new Slot(competition, isJoinable(competition), competition.getAlivePlayerCount(), order, this.nextSequence++);
+        this.slots.put(competition, slot);
+        this.slotsByMap.computeIfAbsent(mapName, k -> new TreeSet<>(ORDER)).add(slot);
+        this.allSlots.add(slot);
+    }
+
+    /**
+     * Removes the given {@link Competition} from this index.
+     *
+     * @param competition the competition to remove
+     * @return whether the competition was in this index
+     */
+    boolean remove(Competition<?> competition) {
+        Slot slot = this.slots.remove(competition);
+        if (slot == null) {
+            return false;
+        }
+
+        String mapName = key(competition);
+        this.competitions.remove(competition);
+
+        List<Competition<?>> mapCompetitions = this.competitionsByMap.get(mapName);
+        mapCompetitions.remove(competition);
+        if (mapCompetitions.isEmpty()) {
+            this.competitionsByMap.remove(mapName);
+        }
+
+        NavigableSet<Slot> mapSlots = this.slotsByMap.get(mapName);
+        mapSlots.remove(slot);
+        if (mapSlots.isEmpty()) {
+            this.slotsByMap.remove(mapName);
+        }
+
+        this.allSlots.remove(slot);
+
+        return true;
+    }
+
+    /**
+     * Re-positions the given {@link Competition} in this index after
+     * its phase, player count or map readiness has changed.
+     *
+     * @param competition the competition to update
+     */
+    void update(Competition<?> competition) {
+        Slot slot = this.slots.get(competition);
+        if (slot == null) {
+            return;
+        }
+
+        boolean joinable = isJoinable(competition);
+        int players = competition.getAlivePlayerCount();
+        if (slot.joinable() == joinable && slot.players() == players) {
+            return;
+        }
+
+        // The ordering of a slot cannot change while it is in the
+        // set, so the slot is replaced rather than modified
+        NavigableSet<Slot> mapSlots = this.slotsByMap.get(key(competition));
+        mapSlots.remove(slot);
+        this.allSlots.remove(slot);
+
+        Slot updated = new Slot(competition, joinable, players, slot.order(), slot.sequence());
+        mapSlots.add(updated);
+        this.allSlots.add(updated);
+        this.slots.put(competition, updated);
+    }
+
+    /**
+     * Returns all the competitions in this index.
+     *
+     * @return all competitions in this index
+     */
+    List<Competition<?>> getCompetitions() {
+        return List.copyOf(this.competitions);
+    }
+
+    /**
+     * Returns all the competitions in this index with the given map name.
+     *
+     * @param name the name of the map
+     * @return all competitions with the given map name
+     */
+    List<Competition<?>> getCompetitions(String name) {
+        List<Competition<?>> competitions = this.competitionsByMap.get(name.toLowerCase(Locale.ROOT));
+        return competitions == null ? List.of() : List.copyOf(competitions);
+    }
+
+    /**
+     * Returns the best competition with the given map name for players
+     * to join.
+     *
+     * @param name the name of the map, or null for any map
+     * @param role the role the players are joining as
+     * @return the best competition to join, or null if there is none
+     */
+    @Nullable
+    Competition<?> first(@Nullable String name, PlayerRole role) {
+        NavigableSet<Slot> slots = name == null ? this.allSlots : this.slotsByMap.get(name.toLowerCase(Locale.ROOT));
+        if (slots == null || slots.isEmpty()) {
+            return null;
+        }
+
+        return candidate(slots.first(), role);
+    }
+
+    /**
+     * Returns the next best competition for players to join, after the
+     * given competition has rejected them.
+     *
+     * @param competition the competition which rejected the players
+     * @param name the name of the map, or null for any map
+     * @param role the role the players are joining as
+     * @return the next best competition to join, or null if there is none
+     */
+    @Nullable
+    Competition<?> next(Competition<?> competition, @Nullable String name, PlayerRole role) {
+        Slot slot = this.slots.get(competition);
+        if (slot == null) {
+            return null;
+        }
+
+        NavigableSet<Slot> slots = name == null ? this.allSlots : this.slotsByMap.get(key(competition));
+        return candidate(slots.higher(slot), role);
+    }
+
+    /**
+     * Compares competitions in the same order as this index, using
+     * their current phase and player count.
+     *
+     * @return a comparator ordering competitions from best to worst
+     */
+    static Comparator<Competition<?>> order() {
+        return Comparator.<Competition<?>, Boolean>comparing(CompetitionIndex::isJoinable).reversed()
+                .thenComparing(Comparator.<Competition<?>>comparingInt(Competition::getAlivePlayerCount).reversed());
+    }
+
+    @Nullable
+    private static Competition<?> candidate(@Nullable Slot slot, PlayerRole role) {
+        if (slot == null) {
+            return null;
+        }
+
+        // Joinable competitions are ordered first, so once one is found
+        // which is not joinable, no remaining competition will be
+        if (role == PlayerRole.PLAYING && !slot.joinable()) {
+            return null;
+        }
+
+        return slot.competition();
+    }
+
+    private static boolean isJoinable(Competition<?> competition) {
+        if (competition instanceof LiveCompetition<?> liveCompetition) {
+            return liveCompetition.isMapReady() && liveCompetition.getPhaseManager().getCurrentPhase().canJoin();
+        }
+
+        // Cannot know whether other competitions can be joined
+        // without asking them, so treat them as joinable
+        return true;
+    }
+
+    private static String key(Competition<?> competition) {
+        return competition.getMap().getName().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The position of a competition in the index.
+     *
+     * @param competition the competition
+     * @param joinable whether the competition is in a joinable phase
+     * @param players the number of players in the competition
+     * @param order the order of the competition among competitions with
+     *              the same number of players
+     * @param sequence the order the competition was added in
+     */
+    private record Slot(Competition<?> competition, boolean joinable, int players, long order, long sequence) {
+    }
+}
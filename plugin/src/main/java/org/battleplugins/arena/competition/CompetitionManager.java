@@ -4,6 +4,9 @@ import org.battleplugins.arena.Arena;
 import org.battleplugins.arena.ArenaPlayer;
 import org.battleplugins.arena.BattleArena;
 import org.battleplugins.arena.competition.map.LiveCompetitionMap;
+import org.battleplugins.arena.competition.map.MapSlotGrid;
+import org.battleplugins.arena.competition.map.ChunkTickets;
+import org.battleplugins.arena.competition.map.PasteScheduler;
 import org.battleplugins.arena.competition.map.MapType;
 import org.battleplugins.arena.competition.phase.CompetitionPhaseType;
 import org.battleplugins.arena.competition.phase.phases.VictoryPhase;
@@ -12,41 +15,95 @@ import org.battleplugins.arena.event.arena.ArenaRemoveCompetitionEvent;
 import org.battleplugins.arena.event.player.ArenaLeaveEvent;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Stream;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.UnaryOperator;
 
 public class CompetitionManager {
-    private final Map<Arena, List<Competition<?>>> competitions = new HashMap<>();
+    private final Map<Arena, CompetitionIndex> competitions = new HashMap<>();
+    private final Map<LiveCompetitionMap, DynamicMapPool> pools = new HashMap<>();
+    private final Map<Arena, MapSlotGrid> slotGrids = new HashMap<>();
+
+    // Dynamic maps which are cleared once players have been teleported out of them
+    private final Set<LiveCompetitionMap> awaitingTeleports = new HashSet<>();
 
     private final BattleArena plugin;
+    private final JoinQueue joinQueue;
+    private final PasteScheduler pasteScheduler;
+    private final ChunkTickets chunkTickets;
 
     public CompetitionManager(BattleArena plugin) {
         this.plugin = plugin;
+        this.joinQueue = new JoinQueue(plugin, this);
+        this.pasteScheduler = new PasteScheduler(plugin);
+        this.chunkTickets = new ChunkTickets(plugin);
     }
 
     public List<Competition<?>> getCompetitions(Arena arena) {
-        List<Competition<?>> competitions = this.competitions.get(arena);
-        return competitions == null ? List.of() : List.copyOf(competitions);
+        CompetitionIndex index = this.competitions.get(arena);
+        return index == null ? List.of() : index.getCompetitions();
     }
 
     public List<Competition<?>> getCompetitions(Arena arena, String name) {
-        List<Competition<?>> competitions = this.getCompetitions(arena);
-        return competitions.stream()
-                .filter(competition -> competition.getMap().getName().equalsIgnoreCase(name))
-                .toList();
+        CompetitionIndex index = this.competitions.get(arena);
+        if (index == null || name == null) {
+            return List.of();
+        }
+
+        return index.getCompetitions(name);
+    }
+
+    /**
+     * Queues the given players to join a {@link Competition} in the given {@link Arena}.
+     * <p>
+     * Requests are collected over the course of a tick and placed together,
+     * so that open competitions are filled before new dynamic competitions
+     * are created. The players are placed in the same competition, and have
+     * already joined it by the time the returned future is completed.
+     * <p>
+     * This method must be called from the main thread.
+     *
+     * @param arena the arena to join
+     * @param players the players to join together
+     * @param role the role of the players
+     * @param name the name of the map to join, or null for any map
+     * @return a future completed with the result once the players have been placed
+     */
+    public CompletableFuture<CompetitionResult> queueJoin(Arena arena, Collection<Player> players, PlayerRole role, @Nullable String name) {
+        return this.joinQueue.queue(arena, players, role, name);
+    }
+
+    /**
+     * Returns whether the given player is queued to join a {@link Competition}.
+     *
+     * @param player the player to check
+     * @return whether the player is queued to join a competition
+     */
+    public boolean isQueued(Player player) {
+        return this.joinQueue.isQueued(player);
+    }
+
+    /**
+     * Completes every queued join request which has not been placed yet,
+     * as the arenas they are for are being unloaded.
+     * <p>
+     * This method is internal and should not be used by other plugins.
+     */
+    @ApiStatus.Internal
+    public void closeJoinQueue() {
+        this.joinQueue.close();
     }
 
     public CompletableFuture<CompetitionResult> getOrCreateCompetition(Arena arena, Player player, PlayerRole role, @Nullable String name) {
@@ -55,120 +112,361 @@ public class CompetitionManager {
 
     public CompletableFuture<CompetitionResult> getOrCreateCompetition(Arena arena, Collection<Player> players, PlayerRole role, @Nullable String name) {
         // See if we can join any already open competitions
-        List<Competition<?>> openCompetitions = this.getCompetitions(arena, name);
-        CompletableFuture<CompetitionResult> joinableCompetition = this.findJoinableCompetition(openCompetitions, players, role);
+        CompletableFuture<CompetitionResult> joinableCompetition = this.findIndexedCompetition(arena, players, role, name);
         return joinableCompetition.thenApplyAsync(result -> {
             if (result.competition() != null) {
                 return result;
             }
 
             CompetitionResult invalidResult = new CompetitionResult(null, !result.result().canJoin() ? result.result() : JoinResult.NOT_JOINABLE);
-            if (arena.getType() == CompetitionType.EVENT) {
-                // Cannot create non-requested dynamic competitions for events
-                return invalidResult;
-            }
 
-            List<LiveCompetitionMap> maps = this.plugin.getMaps(arena);
-            if (maps == null) {
-                // No maps, return
+            // Create a new competition if possible
+            Competition<?> competition = this.createDynamicCompetition(arena, name);
+            if (competition == null) {
+                // No open competitions found or unable to create a new one
                 return invalidResult;
             }
 
-            // Ensure we have WorldEdit installed
-            if (this.plugin.getServer().getPluginManager().getPlugin("WorldEdit") == null) {
-                this.plugin.error("WorldEdit is required to create dynamic competitions! Not proceeding with creating a new dynamic competition.");
-                return invalidResult;
-            }
+            return new CompetitionResult(competition, JoinResult.SUCCESS);
+        }, Bukkit.getScheduler().getMainThreadExecutor(this.plugin));
+    }
 
-            // Check if we have exceeded the maximum number of dynamic maps
-            List<Competition<?>> allCompetitions = this.getCompetitions(arena);
-            long dynamicMaps = allCompetitions.stream()
-                    .map(Competition::getMap)
-                    .filter(map -> map.getType() == MapType.DYNAMIC)
-                    .count();
+    /**
+     * Creates a new dynamic {@link Competition} for the given {@link Arena},
+     * and adds it to this manager.
+     *
+     * @param arena the arena to create the competition for
+     * @param name the name of the map to create the competition on, or
+     *             null to use any dynamic map
+     * @return the created competition, or null if no competition could be created
+     */
+    @Nullable
+    Competition<?> createDynamicCompetition(Arena arena, @Nullable String name) {
+        if (arena.getType() == CompetitionType.EVENT) {
+            // Cannot create non-requested dynamic competitions for events
+            return null;
+        }
 
-            if (dynamicMaps >= this.plugin.getMainConfig().getMaxDynamicMaps() && this.plugin.getMainConfig().getMaxDynamicMaps() != -1) {
-                this.plugin.warn("Exceeded maximum number of dynamic maps for arena {}! Not proceeding with creating a new dynamic competition.", arena.getName());
-                return invalidResult;
-            }
+        List<LiveCompetitionMap> maps = this.plugin.getMaps(arena);
+        if (maps == null) {
+            // No maps, return
+            return null;
+        }
 
-            // Create a new competition if possible
+        // Ensure we have WorldEdit installed
+        if (this.plugin.getServer().getPluginManager().getPlugin("WorldEdit") == null) {
+            this.plugin.error("WorldEdit is required to create dynamic competitions! Not proceeding with creating a new dynamic competition.");
+            return null;
+        }
 
-            if (name == null) {
-                // Shuffle results if map name is not requested
-                maps = new ArrayList<>(maps);
-                Collections.shuffle(maps);
+        if (name == null) {
+            // Shuffle results if map name is not requested
+            maps = new ArrayList<>(maps);
+            Collections.shuffle(maps);
+        }
+
+        boolean exceededCapacity = false;
+        for (LiveCompetitionMap map : maps) {
+            if (map.getType() != MapType.DYNAMIC) {
+                continue;
             }
 
-            for (LiveCompetitionMap map : maps) {
-                if (map.getType() != MapType.DYNAMIC) {
+            if ((name == null || map.getName().equalsIgnoreCase(name))) {
+                // Use a prepared copy of the map if one is ready
+                LiveCompetitionMap copy = this.getPool(arena, map).take();
+                Competition<?> competition;
+                if (copy != null) {
+                    competition = copy.createCompetition(arena);
+                } else if (this.reserveDynamicMap(arena)) {
+                    competition = map.createDynamicCompetition(arena);
+                } else {
+                    exceededCapacity = true;
                     continue;
                 }
 
-                if ((name == null || map.getName().equalsIgnoreCase(name))) {
-                    Competition<?> competition = map.createDynamicCompetition(arena);
-                    if (competition == null) {
-                        this.plugin.warn("Failed to create dynamic competition for map {} in arena {}!", map.getName(), arena.getName());
-                        continue;
-                    }
-
-                    this.addCompetition(arena, competition);
-                    return new CompetitionResult(competition, JoinResult.SUCCESS);
+                if (competition == null) {
+                    this.plugin.warn("Failed to create dynamic competition for map {} in arena {}!", map.getName(), arena.getName());
+                    continue;
                 }
+
+                this.addCompetition(arena, competition);
+                return competition;
             }
+        }
 
-            // No open competitions found or unable to create a new one
-            return invalidResult;
-        }, Bukkit.getScheduler().getMainThreadExecutor(this.plugin));
+        if (exceededCapacity) {
+            this.plugin.warn("Exceeded maximum number of dynamic maps for arena {}! Not proceeding with creating a new dynamic competition.", arena.getName());
+        }
+
+        return null;
     }
 
-    public CompletableFuture<CompetitionResult> findJoinableCompetition(List<Competition<?>> competitions, Player player, PlayerRole role) {
-        return this.findJoinableCompetition(competitions, List.of(player), role);
+    /**
+     * Starts preparing copies of the given {@link MapType#DYNAMIC dynamic}
+     * map, so that competitions can be created for it without delay.
+     * <p>
+     * This method is internal and should not be used by other plugins.
+     *
+     * @param arena the arena the map belongs to
+     * @param map the map to prepare copies of
+     */
+    @ApiStatus.Internal
+    public void prepareDynamicMap(Arena arena, LiveCompetitionMap map) {
+        if (arena.getType() == CompetitionType.EVENT || map.getType() != MapType.DYNAMIC) {
+            return;
+        }
+
+        if (this.plugin.getServer().getPluginManager().getPlugin("WorldEdit") == null) {
+            return;
+        }
+
+        this.getPool(arena, map).refill();
     }
 
-    public CompletableFuture<CompetitionResult> findJoinableCompetition(List<Competition<?>> competitions, Collection<Player> players, PlayerRole role) {
-        return this.findJoinableCompetition(competitions, players, role, null);
+    /**
+     * Closes the pool of prepared copies of the given map, deleting
+     * the prepared copies.
+     * <p>
+     * This method is internal and should not be used by other plugins.
+     *
+     * @param map the map to close the pool of
+     */
+    @ApiStatus.Internal
+    public void closeDynamicMapPool(LiveCompetitionMap map) {
+        DynamicMapPool pool = this.pools.remove(map);
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    /**
+     * Closes every pool of prepared dynamic maps, deleting the
+     * prepared copies.
+     * <p>
+     * This method is internal and should not be used by other plugins.
+     */
+    @ApiStatus.Internal
+    public void closeDynamicMapPools() {
+        for (DynamicMapPool pool : this.pools.values()) {
+            pool.close();
+        }
+
+        this.pools.clear();
+    }
+
+    /**
+     * Gets the {@link MapSlotGrid} which copies of the dynamic maps
+     * of the given {@link Arena} are placed in, creating it if needed.
+     * <p>
+     * This method is internal and should not be used by other plugins.
+     *
+     * @param arena the arena to get the slot grid for
+     * @return the slot grid for the arena
+     */
+    @ApiStatus.Internal
+    public MapSlotGrid getSlotGrid(Arena arena) {
+        return this.slotGrids.computeIfAbsent(arena, k -> new MapSlotGrid(arena, this.plugin.getMainConfig().getDynamicMapSlotSize()));
+    }
+
+    /**
+     * Gets the {@link PasteScheduler} used to paste maps over multiple ticks.
+     * <p>
+     * This method is internal and should not be used by other plugins.
+     *
+     * @return the paste scheduler
+     */
+    @ApiStatus.Internal
+    public PasteScheduler getPasteScheduler() {
+        return this.pasteScheduler;
+    }
+
+    /**
+     * Gets the {@link ChunkTickets} used to keep chunks loaded.
+     * <p>
+     * This method is internal and should not be used by other plugins.
+     *
+     * @return the chunk tickets
+     */
+    @ApiStatus.Internal
+    public ChunkTickets getChunkTickets() {
+        return this.chunkTickets;
+    }
+
+    /**
+     * Closes every {@link MapSlotGrid}, unloading their worlds.
+     * <p>
+     * This method is internal and should not be used by other plugins.
+     */
+    @ApiStatus.Internal
+    public void closeSlotGrids() {
+        for (MapSlotGrid grid : this.slotGrids.values()) {
+            grid.close();
+        }
+
+        this.slotGrids.clear();
+    }
+
+    /**
+     * Returns whether the given {@link Arena} has room for more
+     * dynamic maps, counting both maps used by competitions and
+     * maps prepared ahead of time.
+     *
+     * @param arena the arena to check
+     * @return whether the arena has room for more dynamic maps
+     */
+    boolean hasDynamicCapacity(Arena arena) {
+        int maxDynamicMaps = this.plugin.getMainConfig().getMaxDynamicMaps();
+        if (maxDynamicMaps == -1) {
+            return true;
+        }
+
+        long allocated = this.getDynamicCompetitionCount(arena);
+        for (DynamicMapPool pool : this.pools.values()) {
+            if (pool.getArena() == arena) {
+                allocated += pool.size();
+            }
+        }
+
+        return allocated < maxDynamicMaps;
     }
 
-    private CompletableFuture<CompetitionResult> findJoinableCompetition(List<Competition<?>> competitions, Player player, PlayerRole role, @Nullable JoinResult lastResult) {
-        return this.findJoinableCompetition(competitions, List.of(player), role, lastResult);
+    /**
+     * Makes room for a new dynamic map used by a competition in the given
+     * {@link Arena}. Prepared copies which are not in use never prevent a
+     * competition from being created, so they are discarded until the arena
+     * is back within its maximum number of dynamic maps.
+     *
+     * @param arena the arena to make room in
+     * @return whether a new dynamic map can be created for a competition
+     */
+    private boolean reserveDynamicMap(Arena arena) {
+        int maxDynamicMaps = this.plugin.getMainConfig().getMaxDynamicMaps();
+        if (maxDynamicMaps == -1) {
+            return true;
+        }
+
+        if (this.getDynamicCompetitionCount(arena) >= maxDynamicMaps) {
+            return false;
+        }
+
+        // Copies which are still being prepared are discarded once they
+        // are ready if the arena is still over its maximum by then
+        while (!this.hasDynamicCapacity(arena) && this.evictPooledCopy(arena)) {
+            // Evict until there is room
+        }
+
+        return true;
     }
 
-    private CompletableFuture<CompetitionResult> findJoinableCompetition(List<Competition<?>> competitions, Collection<Player> players, PlayerRole role, @Nullable JoinResult lastResult) {
+    private boolean evictPooledCopy(Arena arena) {
+        for (DynamicMapPool pool : this.pools.values()) {
+            if (pool.getArena() == arena && pool.evict()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private long getDynamicCompetitionCount(Arena arena) {
+        return this.getCompetitions(arena).stream()
+                .map(Competition::getMap)
+                .filter(map -> map.getType() == MapType.DYNAMIC)
+                .count();
+    }
+
+    private DynamicMapPool getPool(Arena arena, LiveCompetitionMap map) {
+        return this.pools.computeIfAbsent(map, k -> new DynamicMapPool(this.plugin, this, arena, map));
+    }
+
+    public CompletableFuture<CompetitionResult> findJoinableCompetition(List<Competition<?>> competitions, Player player, PlayerRole role) {
+        return this.findJoinableCompetition(competitions, List.of(player), role);
+    }
+
+    public CompletableFuture<CompetitionResult> findJoinableCompetition(List<Competition<?>> competitions, Collection<Player> players, PlayerRole role) {
         if (competitions.isEmpty()) {
-            return CompletableFuture.completedFuture(new CompetitionResult(null, lastResult == null ? JoinResult.NOT_JOINABLE : lastResult));
+            return CompletableFuture.completedFuture(new CompetitionResult(null, JoinResult.NOT_JOINABLE));
         }
 
+        List<Competition<?>> candidates = new ArrayList<>(competitions);
         if (this.plugin.getMainConfig().isRandomizedArenaJoin()) {
-            competitions = new ArrayList<>(competitions);
-            Collections.shuffle(competitions);
+            Collections.shuffle(candidates);
+        }
+
+        // Try the competitions with the most number of players first
+        candidates.sort(CompetitionIndex.order());
+
+        Iterator<Competition<?>> iterator = candidates.iterator();
+        return this.findJoinableCompetition(iterator.next(), previous -> iterator.hasNext() ? iterator.next() : null, players, role, null);
+    }
+
+    private CompletableFuture<CompetitionResult> findIndexedCompetition(Arena arena, Collection<Player> players, PlayerRole role, @Nullable String name) {
+        CompetitionIndex index = this.competitions.get(arena);
+        if (index == null || name == null) {
+            return CompletableFuture.completedFuture(new CompetitionResult(null, JoinResult.NOT_JOINABLE));
         }
 
-        // Select the competition with the most number of players
-        Competition<?> competition = competitions.stream()
-                .max(Comparator.comparingInt(Competition::getAlivePlayerCount))
-                .orElseThrow(); // Should never throw but just in case
+        return this.findJoinableCompetition(index.first(name, role), previous -> index.next(previous, name, role), players, role, null);
+    }
+
+    private CompletableFuture<CompetitionResult> findJoinableCompetition(@Nullable Competition<?> candidate, UnaryOperator<Competition<?>> next,
+                                                                         Collection<Player> players, PlayerRole role, @Nullable JoinResult lastResult) {
+        while (candidate != null) {
+            CompletableFuture<JoinResult> result = candidate.canJoin(players, role);
+            if (!result.isDone()) {
+                // Continue with the next candidate once this one has decided
+                Competition<?> competition = candidate;
+                return result.thenCompose(joinResult -> joinResult == JoinResult.SUCCESS
+                        ? CompletableFuture.completedFuture(new CompetitionResult(competition, JoinResult.SUCCESS))
+                        : this.findJoinableCompetition(next.apply(competition), next, players, role, joinResult)
+                );
+            }
 
-        CompletableFuture<JoinResult> result = competition.canJoin(players, role);
-        JoinResult joinResult = result.join();
-        if (joinResult == JoinResult.SUCCESS) {
-            return CompletableFuture.completedFuture(new CompetitionResult(competition, JoinResult.SUCCESS));
-        } else {
-            List<Competition<?>> remainingCompetitions = new ArrayList<>(competitions);
-            remainingCompetitions.remove(competition);
+            JoinResult joinResult = result.join();
+            if (joinResult == JoinResult.SUCCESS) {
+                return CompletableFuture.completedFuture(new CompetitionResult(candidate, JoinResult.SUCCESS));
+            }
 
-            return this.findJoinableCompetition(remainingCompetitions, players, role, joinResult);
+            lastResult = joinResult;
+            candidate = next.apply(candidate);
+        }
+
+        return CompletableFuture.completedFuture(new CompetitionResult(null, lastResult == null ? JoinResult.NOT_JOINABLE : lastResult));
+    }
+
+    @Nullable
+    CompetitionIndex getIndex(Arena arena) {
+        return this.competitions.get(arena);
+    }
+
+    /**
+     * Updates the position of the given {@link Competition} in the
+     * matchmaking index after its phase or player count has changed.
+     * <p>
+     * This method is internal and should not be used by other plugins.
+     *
+     * @param arena the arena the competition is in
+     * @param competition the competition to update
+     */
+    @ApiStatus.Internal
+    public void updateCompetition(Arena arena, Competition<?> competition) {
+        CompetitionIndex index = this.competitions.get(arena);
+        if (index != null) {
+            index.update(competition);
         }
     }
 
     public void addCompetition(Arena arena, Competition<?> competition) {
-        this.competitions.computeIfAbsent(arena, k -> new ArrayList<>()).add(competition);
+        // Break ties between equally filled competitions randomly if requested,
+        // while keeping the order stable so that every join sees the same result
+        long order = this.plugin.getMainConfig().isRandomizedArenaJoin() ? ThreadLocalRandom.current().nextLong() : 0;
+        this.competitions.computeIfAbsent(arena, k -> new CompetitionIndex()).add(competition, order);
         this.plugin.getServer().getPluginManager().callEvent(new ArenaCreateCompetitionEvent(arena, competition));
     }
 
     @SuppressWarnings("unchecked")
     public void removeCompetition(Arena arena, Competition<?> competition) {
-        List<Competition<?>> competitions = this.competitions.get(arena);
+        CompetitionIndex competitions = this.competitions.get(arena);
         if (competitions == null) {
             return;
         }
@@ -218,36 +516,80 @@ public class CompetitionManager {
         this.plugin.getServer().getPluginManager().callEvent(event);
 
         if (competition.getMap().getType() == MapType.DYNAMIC && competition.getMap() instanceof LiveCompetitionMap map) {
-            this.clearDynamicMap(map);
+            // Return the map to its pool to be restored and reused if
+            // there is room, rather than deleting the world
+            DynamicMapPool pool = map.getParentMap() == null ? null : this.pools.get(map.getParentMap());
+            if (pool == null || !pool.release(map)) {
+                this.clearDynamicMap(map);
+            }
+
+            // Room may have been freed up for other maps to prepare copies
+            for (DynamicMapPool arenaPool : this.pools.values()) {
+                if (arenaPool.getArena() == arena) {
+                    arenaPool.refill();
+                }
+            }
         }
     }
 
     public void completeAllActiveCompetitions() {
-        for (Map.Entry<Arena, List<Competition<?>>> entry : Map.copyOf(this.competitions).entrySet()) {
-            for (Competition<?> competition : List.copyOf(entry.getValue())) {
+        for (Map.Entry<Arena, CompetitionIndex> entry : Map.copyOf(this.competitions).entrySet()) {
+            for (Competition<?> competition : entry.getValue().getCompetitions()) {
                 this.removeCompetition(entry.getKey(), competition);
             }
         }
     }
 
-    private void clearDynamicMap(LiveCompetitionMap map) {
+    /**
+     * Immediately finishes teleporting players out of dynamic maps which are
+     * waiting for those teleports before being cleared, and clears the maps.
+     * Used when shutting down, as the teleports may not finish in time.
+     * <p>
+     * This method is internal and should not be used by other plugins.
+     */
+    @ApiStatus.Internal
+    public void finishClearingDynamicMaps() {
+        for (LiveCompetitionMap map : List.copyOf(this.awaitingTeleports)) {
+            map.finishPendingTeleports();
+
+            this.awaitingTeleports.remove(map);
+            this.doClearDynamicMap(map);
+        }
+    }
+
+    void clearDynamicMap(LiveCompetitionMap map) {
         if (map.getType() != MapType.DYNAMIC) {
             return;
         }
 
-        Bukkit.unloadWorld(map.getWorld(), false);
-        if (!map.getWorld().getWorldFolder().exists()) {
+        // Players who left may still be being teleported out of the map, and
+        // the world cannot be unloaded or the slot cleared while they are in it
+        CompletableFuture<Void> teleports = map.getPendingTeleports();
+        if (!teleports.isDone()) {
+            if (this.awaitingTeleports.add(map)) {
+                teleports.whenCompleteAsync((result, e) -> {
+                    if (this.awaitingTeleports.remove(map)) {
+                        this.doClearDynamicMap(map);
+                    }
+                }, Bukkit.getScheduler().getMainThreadExecutor(this.plugin));
+            }
+
             return;
         }
 
-        try {
-            try (Stream<Path> pathsToDelete = Files.walk(map.getWorld().getWorldFolder().toPath())) {
-                for (Path path : pathsToDelete.sorted(Comparator.reverseOrder()).toList()) {
-                    Files.deleteIfExists(path);
-                }
-            }
-        } catch (IOException e) {
-            this.plugin.error("Failed to delete dynamic map {}", map.getName(), e);
+        this.doClearDynamicMap(map);
+    }
+
+    private void doClearDynamicMap(LiveCompetitionMap map) {
+        // Copies in a slot grid share their world, so only the slot is cleared
+        MapSlotGrid.Slot slot = map.getSlot();
+        if (slot != null) {
+            slot.release(map.getBounds());
+            return;
         }
+
+        Bukkit.unloadWorld(map.getWorld(), false);
+        this.chunkTickets.clear(map.getWorld());
+        this.plugin.getDeletionService().delete(map.getWorld().getWorldFolder().toPath());
     }
 }
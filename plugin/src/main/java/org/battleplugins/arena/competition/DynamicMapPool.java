@@ -0,0 +1,291 @@
+package org.battleplugins.arena.competition;
+
+import org.battleplugins.arena.Arena;
+import org.battleplugins.arena.BattleArena;
+import org.battleplugins.arena.competition.map.LiveCompetitionMap;
+import org.battleplugins.arena.competition.map.MapType;
+import org.battleplugins.arena.competition.map.PasteScheduler;
+import org.battleplugins.arena.competition.map.options.Bounds;
+import org.battleplugins.arena.util.Util;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A pool of prepared copies of a {@link MapType#DYNAMIC dynamic}
+ * {@link LiveCompetitionMap}, ready to be used by new competitions.
+ * <p>
+ * Preparing a copy involves creating a world, loading the chunks the
+ * map covers and copying the map into them, which is far too slow to
+ * do while players are waiting to join. The pool prepares copies ahead
+ * of time, one per tick, and copies used by competitions which have
+ * ended are restored and returned to the pool rather than deleted.
+ * Copies are pasted over multiple ticks by the {@link PasteScheduler},
+ * and only handed out once they have been pasted in full.
+ * <p>
+ * All methods must be called from the main thread.
+ */
+final class DynamicMapPool {
+    private final BattleArena plugin;
+    private final CompetitionManager competitionManager;
+    private final Arena arena;
+    private final LiveCompetitionMap map;
+
+    private final Deque<LiveCompetitionMap> ready = new ArrayDeque<>();
+
+    // Pastes into copies which are being prepared or restored
+    private final Set<PasteScheduler.PasteTask> pastes = new HashSet<>();
+
+    // The number of copies which are being prepared, pasted or restored
+    private int pending;
+
+    private boolean scheduled;
+    private boolean closed;
+
+    DynamicMapPool(BattleArena plugin, CompetitionManager competitionManager, Arena arena, LiveCompetitionMap map) {
+        this.plugin = plugin;
+        this.competitionManager = competitionManager;
+        this.arena = arena;
+        this.map = map;
+    }
+
+    /**
+     * Takes a prepared copy of the map out of this pool.
+     *
+     * @return a prepared copy, or null if none are ready
+     */
+    @Nullable
+    LiveCompetitionMap take() {
+        LiveCompetitionMap copy = this.ready.poll();
+
+        // Start preparing a replacement
+        this.refill();
+        return copy;
+    }
+
+    /**
+     * Returns a copy used by a competition which has ended to this pool.
+     * The copy is restored before it is made available again.
+     *
+     * @param copy the copy to return
+     * @return whether the copy was accepted, or false if the pool is
+     *         full and the copy should be deleted instead
+     */
+    boolean release(LiveCompetitionMap copy) {
+        if (this.closed || this.size() >= this.plugin.getMainConfig().getDynamicMapPoolSize()) {
+            return false;
+        }
+
+        this.pending++;
+
+        // Restore on the next tick, as the competition which used
+        // the copy may still be in the process of ending
+        Bukkit.getScheduler().runTask(this.plugin, () -> {
+            if (this.closed) {
+                this.pending--;
+                this.competitionManager.clearDynamicMap(copy);
+                return;
+            }
+
+            this.restore(copy).thenAccept(restored -> this.onPrepared(copy, restored));
+        });
+
+        return true;
+    }
+
+    /**
+     * Starts preparing copies until this pool reaches its target
+     * size, or the arena has no room for more dynamic maps.
+     */
+    void refill() {
+        if (this.closed || this.scheduled || !this.needsCopy()) {
+            return;
+        }
+
+        this.scheduled = true;
+        Bukkit.getScheduler().runTask(this.plugin, this::prepare);
+    }
+
+    /**
+     * Closes this pool, deleting every prepared copy. Pastes into copies
+     * which are still being prepared are cancelled, and copies which
+     * are still being created are deleted once they are ready.
+     */
+    void close() {
+        this.closed = true;
+
+        // Cancelled pastes complete as unsuccessful, deleting their copies
+        for (PasteScheduler.PasteTask paste : List.copyOf(this.pastes)) {
+            paste.cancel();
+        }
+
+        for (LiveCompetitionMap copy : this.ready) {
+            this.competitionManager.clearDynamicMap(copy);
+        }
+
+        this.ready.clear();
+    }
+
+    /**
+     * Discards a prepared copy which is ready to be used, making
+     * room for a dynamic map which is needed by a competition.
+     *
+     * @return whether a copy was discarded
+     */
+    boolean evict() {
+        LiveCompetitionMap copy = this.ready.pollLast();
+        if (copy == null) {
+            return false;
+        }
+
+        this.competitionManager.clearDynamicMap(copy);
+        return true;
+    }
+
+    /**
+     * Returns the number of copies in this pool, including copies
+     * which are still being prepared or restored.
+     *
+     * @return the number of copies in this pool
+     */
+    int size() {
+        return this.ready.size() + this.pending;
+    }
+
+    Arena getArena() {
+        return this.arena;
+    }
+
+    private boolean needsCopy() {
+        return this.size() < this.plugin.getMainConfig().getDynamicMapPoolSize() && this.competitionManager.hasDynamicCapacity(this.arena);
+    }
+
+    private void prepare() {
+        this.scheduled = false;
+        if (this.closed || !this.needsCopy()) {
+            return;
+        }
+
+        // Counted as pending while the copy is created, as copies created
+        // from region files are copied in the background first
+        this.pending++;
+        this.map.createDynamicCopyAsync(this.arena).whenCompleteAsync((copy, e) -> {
+            this.pending--;
+            if (e != null || copy == null) {
+                this.plugin.warn("Failed to create dynamic map copy for map {} in arena {}!", this.map.getName(), this.arena.getName(), e);
+                return;
+            }
+
+            if (this.closed) {
+                this.competitionManager.clearDynamicMap(copy);
+                return;
+            }
+
+            this.pending++;
+            this.loadChunks(copy).whenCompleteAsync((result, ex) -> this.onChunksLoaded(copy, ex), Bukkit.getScheduler().getMainThreadExecutor(this.plugin));
+        }, Bukkit.getScheduler().getMainThreadExecutor(this.plugin));
+
+        // Prepare the next copy on the following tick, so that
+        // world creation is spread out rather than done all at once
+        this.refill();
+    }
+
+    private void onChunksLoaded(LiveCompetitionMap copy, @Nullable Throwable e) {
+        this.pending--;
+        if (e != null) {
+            this.plugin.error("Failed to load chunks for dynamic map copy of map {} in arena {}!", this.map.getName(), this.arena.getName(), e);
+        }
+
+        if (e != null || this.closed) {
+            this.competitionManager.clearDynamicMap(copy);
+            return;
+        }
+
+        // Copies created from region files already hold the blocks of the map
+        if (copy.isClonedFromRegionFiles()) {
+            this.makeReady(copy);
+            return;
+        }
+
+        // Only made available once every block has been pasted
+        this.pending++;
+        this.copyInto(copy).thenAccept(copied -> this.onPrepared(copy, copied));
+    }
+
+    private CompletableFuture<Boolean> copyInto(LiveCompetitionMap copy) {
+        PasteScheduler.PasteTask paste = this.map.scheduleCopyInto(copy);
+        if (paste == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        this.pastes.add(paste);
+        return paste.getFuture().whenComplete((copied, e) -> this.pastes.remove(paste));
+    }
+
+    private CompletableFuture<Void> loadChunks(LiveCompetitionMap copy) {
+        Bounds bounds = copy.getBounds();
+        if (bounds == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // Keep the chunks of the map loaded for as long as the copy
+        // exists, so they are ready when players are teleported in
+        World world = copy.getWorld();
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        for (int x = bounds.getMinX() >> 4; x <= bounds.getMaxX() >> 4; x++) {
+            for (int z = bounds.getMinZ() >> 4; z <= bounds.getMaxZ() >> 4; z++) {
+                futures.add(world.getChunkAtAsync(x, z).thenAccept(this.competitionManager.getChunkTickets()::add));
+            }
+        }
+
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
+    }
+
+    private void onPrepared(LiveCompetitionMap copy, boolean prepared) {
+        this.pending--;
+        if (!prepared || this.closed) {
+            this.competitionManager.clearDynamicMap(copy);
+            return;
+        }
+
+        this.makeReady(copy);
+    }
+
+    private void makeReady(LiveCompetitionMap copy) {
+        // Competitions may have taken up the room this copy was
+        // prepared in while it was being prepared
+        if (!this.competitionManager.hasDynamicCapacity(this.arena)) {
+            this.competitionManager.clearDynamicMap(copy);
+            return;
+        }
+
+        this.ready.add(copy);
+    }
+
+    private CompletableFuture<Boolean> restore(LiveCompetitionMap copy) {
+        // Anything left behind by the previous competition can be removed. Copies
+        // in a slot grid share their world, so only the slot of the copy is cleared
+        Bounds bounds = copy.getBounds();
+        if (copy.getSlot() != null && bounds != null) {
+            Util.removeEntities(copy.getWorld(), bounds);
+        } else {
+            for (Entity entity : copy.getWorld().getEntities()) {
+                if (!(entity instanceof Player)) {
+                    entity.remove();
+                }
+            }
+        }
+
+        return this.copyInto(copy);
+    }
+}
@@ -0,0 +1,309 @@
+package org.battleplugins.arena.competition;
+
+import org.battleplugins.arena.Arena;
+import org.battleplugins.arena.ArenaPlayer;
+import org.battleplugins.arena.BattleArena;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects requests to join a {@link Competition} over the course of a
+ * tick, and places every request at once at the start of the next tick.
+ * <p>
+ * Placing requests together allows competitions to be filled before new
+ * ones are created, rather than every request making its own decision.
+ * Each request is placed as a whole, so players joining together (such
+ * as a party) always end up in the same competition.
+ * <p>
+ * Competitions which decide asynchronously whether they can be joined
+ * cannot be part of the batch. Requests which no other competition has
+ * room for wait for those competitions to decide, outside of the batch,
+ * before a new competition is created for them.
+ * <p>
+ * All methods must be called from the main thread.
+ */
+final class JoinQueue {
+    private final BattleArena plugin;
+    private final CompetitionManager competitionManager;
+
+    private final Set<UUID> queuedPlayers = new HashSet<>();
+    private List<Request> requests = new ArrayList<>();
+
+    // Requests waiting on competitions which decide asynchronously whether they can be joined
+    private final Set<Request> deferredRequests = new HashSet<>();
+    private final Set<UUID> deferredPlayers = new HashSet<>();
+
+    private boolean scheduled;
+
+    // The number of competitions created during the current flush
+    private int created;
+
+    JoinQueue(BattleArena plugin, CompetitionManager competitionManager) {
+        this.plugin = plugin;
+        this.competitionManager = competitionManager;
+    }
+
+    /**
+     * Queues the given players to join a competition in the given {@link Arena}.
+     *
+     * @param arena the arena to join
+     * @param players the players to join together
+     * @param role the role of the players
+     * @param name the name of the map to join, or null for any map
+     * @return a future completed with the result once the players have been placed
+     */
+    CompletableFuture<CompetitionResult> queue(Arena arena, Collection<Player> players, PlayerRole role, @Nullable String name) {
+        CompletableFuture<CompetitionResult> future = new CompletableFuture<>();
+        this.requests.add(new Request(arena, List.copyOf(players), role, name, future, System.nanoTime()));
+        for (Player player : players) {
+            this.queuedPlayers.add(player.getUniqueId());
+        }
+
+        if (!this.scheduled) {
+            this.scheduled = true;
+            Bukkit.getScheduler().runTask(this.plugin, this::flush);
+        }
+
+        return future;
+    }
+
+    /**
+     * Returns whether the given player is waiting to be placed.
+     *
+     * @param player the player to check
+     * @return whether the player is queued
+     */
+    boolean isQueued(Player player) {
+        return this.queuedPlayers.contains(player.getUniqueId()) || this.deferredPlayers.contains(player.getUniqueId());
+    }
+
+    /**
+     * Completes every request which has not been placed yet, as the
+     * arenas they are for are being unloaded.
+     */
+    void close() {
+        List<Request> requests = new ArrayList<>(this.requests);
+        requests.addAll(this.deferredRequests);
+
+        this.requests = new ArrayList<>();
+        this.deferredRequests.clear();
+        this.queuedPlayers.clear();
+        this.deferredPlayers.clear();
+
+        for (Request request : requests) {
+            request.future().complete(new CompetitionResult(null, JoinResult.NOT_JOINABLE));
+        }
+    }
+
+    private void flush() {
+        this.scheduled = false;
+
+        List<Request> requests = this.requests;
+        this.requests = new ArrayList<>();
+        this.queuedPlayers.clear();
+
+        long start = System.nanoTime();
+
+        // Place the largest groups first, as they are the hardest to fit
+        // once competitions start filling up. The sort is stable, so
+        // requests of the same size are placed in the order they were made
+        requests.sort(Comparator.comparingInt((Request request) -> request.players().size()).reversed());
+
+        this.created = 0;
+        int placedPlayers = 0;
+        int deferred = 0;
+        long totalWait = 0;
+        long maxWait = 0;
+        for (Request request : requests) {
+            List<Player> players = getJoiningPlayers(request.players());
+            if (players.isEmpty()) {
+                request.future().complete(new CompetitionResult(null, JoinResult.NOT_JOINABLE));
+                continue;
+            }
+
+            CompletableFuture<CompetitionResult> future;
+            try {
+                future = this.place(request, players);
+            } catch (Throwable e) {
+                request.future().completeExceptionally(e);
+                continue;
+            }
+
+            if (!future.isDone()) {
+                deferred++;
+                this.defer(request, future);
+                continue;
+            }
+
+            CompetitionResult result = future.join();
+            if (result.competition() != null) {
+                long wait = System.nanoTime() - request.queuedAt();
+                placedPlayers += players.size();
+                totalWait += wait * players.size();
+                maxWait = Math.max(maxWait, wait);
+            }
+
+            request.future().complete(result);
+        }
+
+        this.plugin.debug("Placed {} join request(s) for {} player(s) in {}ms, creating {} competition(s) and deferring {} request(s). Average wait: {}ms, max wait: {}ms",
+                requests.size() - deferred, placedPlayers, millis(System.nanoTime() - start), this.created, deferred,
+                millis(placedPlayers == 0 ? 0 : totalWait / placedPlayers), millis(maxWait)
+        );
+    }
+
+    private CompletableFuture<CompetitionResult> place(Request request, List<Player> players) {
+        Arena arena = request.arena();
+        PlayerRole role = request.role();
+
+        JoinResult lastResult = null;
+        List<Competition<?>> undecided = null;
+
+        // Competitions are ordered from fullest to emptiest, so requests
+        // fill up open competitions before new ones are considered
+        CompetitionIndex index = this.competitionManager.getIndex(arena);
+        if (index != null) {
+            for (Competition<?> competition = index.first(request.name(), role); competition != null; competition = index.next(competition, request.name(), role)) {
+                // Competitions which decide asynchronously cannot be part of
+                // the batch, as every later placement depends on this one
+                CompletableFuture<JoinResult> canJoin = competition.canJoin(players, role);
+                if (!canJoin.isDone()) {
+                    if (undecided == null) {
+                        undecided = new ArrayList<>();
+                    }
+
+                    undecided.add(competition);
+                    continue;
+                }
+
+                JoinResult result = canJoin.join();
+                if (result == JoinResult.SUCCESS) {
+                    competition.join(players, role);
+                    return CompletableFuture.completedFuture(new CompetitionResult(competition, JoinResult.SUCCESS));
+                }
+
+                lastResult = result;
+            }
+        }
+
+        if (undecided == null) {
+            return this.placeInNewCompetition(request, players, lastResult);
+        }
+
+        // Wait for the competitions which decide asynchronously before
+        // creating a new competition, which they may have room for
+        JoinResult lastSyncResult = lastResult;
+        return this.competitionManager.findJoinableCompetition(undecided, players, role).thenComposeAsync(result -> {
+            if (request.future().isDone()) {
+                return CompletableFuture.completedFuture(new CompetitionResult(null, JoinResult.NOT_JOINABLE));
+            }
+
+            // Players may have left or joined another competition in the meantime
+            List<Player> joiningPlayers = getJoiningPlayers(players);
+            if (joiningPlayers.isEmpty()) {
+                return CompletableFuture.completedFuture(new CompetitionResult(null, JoinResult.NOT_JOINABLE));
+            }
+
+            if (result.competition() != null) {
+                result.competition().join(joiningPlayers, role);
+                return CompletableFuture.completedFuture(result);
+            }
+
+            return this.placeInNewCompetition(request, joiningPlayers, lastSyncResult != null ? lastSyncResult : result.result());
+        }, Bukkit.getScheduler().getMainThreadExecutor(this.plugin));
+    }
+
+    private CompletableFuture<CompetitionResult> placeInNewCompetition(Request request, List<Player> players, @Nullable JoinResult lastResult) {
+        Arena arena = request.arena();
+        PlayerRole role = request.role();
+
+        CompetitionResult invalidResult = new CompetitionResult(null, lastResult != null && !lastResult.canJoin() ? lastResult : JoinResult.NOT_JOINABLE);
+
+        // No open competition has room, so the demand needs a new one
+        Competition<?> competition = this.competitionManager.createDynamicCompetition(arena, request.name());
+        if (competition == null) {
+            return CompletableFuture.completedFuture(invalidResult);
+        }
+
+        this.created++;
+
+        CompletableFuture<JoinResult> canJoin = competition.canJoin(players, role);
+        if (canJoin.isDone()) {
+            return CompletableFuture.completedFuture(this.joinNewCompetition(request, competition, players, canJoin.join()));
+        }
+
+        return canJoin.thenApplyAsync(result -> this.joinNewCompetition(request, competition, getJoiningPlayers(players), result),
+                Bukkit.getScheduler().getMainThreadExecutor(this.plugin));
+    }
+
+    private CompetitionResult joinNewCompetition(Request request, Competition<?> competition, List<Player> players, JoinResult result) {
+        if (result != JoinResult.SUCCESS || players.isEmpty() || request.future().isDone()) {
+            // Do not leave an empty competition behind for nobody to join
+            if (competition.getAlivePlayerCount() == 0 && competition.getSpectatorCount() == 0) {
+                this.competitionManager.removeCompetition(request.arena(), competition);
+            }
+
+            return new CompetitionResult(null, result == JoinResult.SUCCESS ? JoinResult.NOT_JOINABLE : result);
+        }
+
+        competition.join(players, request.role());
+        return new CompetitionResult(competition, JoinResult.SUCCESS);
+    }
+
+    private void defer(Request request, CompletableFuture<CompetitionResult> future) {
+        this.deferredRequests.add(request);
+        for (Player player : request.players()) {
+            this.deferredPlayers.add(player.getUniqueId());
+        }
+
+        future.whenComplete((result, e) -> {
+            // The queue may have been closed in the meantime
+            if (!this.deferredRequests.remove(request)) {
+                return;
+            }
+
+            for (Player player : request.players()) {
+                this.deferredPlayers.remove(player.getUniqueId());
+            }
+
+            if (e != null) {
+                request.future().completeExceptionally(e);
+            } else {
+                request.future().complete(result);
+            }
+        });
+    }
+
+    private static List<Player> getJoiningPlayers(List<Player> players) {
+        List<Player> joiningPlayers = new ArrayList<>(players.size());
+        for (Player player : players) {
+            // Players may have gone offline or joined another
+            // competition since they were queued
+            if (player.isOnline() && ArenaPlayer.getArenaPlayer(player) == null) {
+                joiningPlayers.add(player);
+            }
+        }
+
+        return joiningPlayers;
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    private record Request(Arena arena, List<Player> players, PlayerRole role, @Nullable String name,
+                           CompletableFuture<CompetitionResult> future, long queuedAt) {
+    }
+}
@@ -26,6 +26,7 @@ import org.battleplugins.arena.resolver.ResolverProvider;
 import org.battleplugins.arena.team.ArenaTeam;
 import org.battleplugins.arena.team.ArenaTeams;
 import org.bukkit.entity.Player;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
@@ -60,6 +61,11 @@ public class LiveCompetition<T extends Competition<T>> implements ArenaLike, Com
     
     private final int maxPlayers;
 
+    private Resolver resolver;
+
+    // The number of pastes or restorations of the map still in progress
+    private int pendingMapPreparations;
+
     public LiveCompetition(Arena arena, CompetitionType type, LiveCompetitionMap map) {
         this.arena = arena;
         this.type = type;
@@ -94,7 +100,7 @@ public class LiveCompetition<T extends Competition<T>> implements ArenaLike, Com
 
         // Check if the player can join the competition in its current state
         if (role == PlayerRole.PLAYING) {
-            if (!currentPhase.canJoin()) {
+            if (!currentPhase.canJoin() || !this.isMapReady()) {
                 return CompletableFuture.completedFuture(JoinResult.NOT_JOINABLE);
             }
 
@@ -235,6 +241,7 @@ public class LiveCompetition<T extends Competition<T>> implements ArenaLike, Com
     private void join(ArenaPlayer player, @Nullable ArenaTeam team) {
         this.players.put(player.getPlayer(), player);
         this.playersByRole.computeIfAbsent(player.getRole(), e -> new HashSet<>()).add(player);
+        this.arena.getPlugin().getCompetitionManager().updateCompetition(this.arena, this);
 
         if (team == null) {
             if (player.getRole() == PlayerRole.PLAYING) {
@@ -272,6 +279,7 @@ public class LiveCompetition<T extends Competition<T>> implements ArenaLike, Com
     public final void leave(ArenaPlayer player, ArenaLeaveEvent.Cause cause) {
         this.players.remove(player.getPlayer());
         this.playersByRole.get(player.getRole()).remove(player);
+        this.arena.getPlugin().getCompetitionManager().updateCompetition(this.arena, this);
 
         this.teamManager.leaveTeam(player);
 
@@ -296,6 +304,7 @@ public class LiveCompetition<T extends Competition<T>> implements ArenaLike, Com
         this.playersByRole.computeIfAbsent(role, e -> new HashSet<>()).add(player);
 
         player.setRole(role);
+        this.arena.getPlugin().getCompetitionManager().updateCompetition(this.arena, this);
     }
 
     /**
@@ -331,6 +340,41 @@ public class LiveCompetition<T extends Competition<T>> implements ArenaLike, Com
         return this.maxPlayers;
     }
 
+    /**
+     * Returns whether the map of the competition is ready to be played on.
+     * <p>
+     * The map is not ready while it is still being pasted or restored,
+     * during which players cannot join the competition.
+     *
+     * @return whether the map of the competition is ready
+     */
+    public final boolean isMapReady() {
+        return this.pendingMapPreparations == 0;
+    }
+
+    /**
+     * Marks the map of the competition as not ready until the given
+     * preparation, such as a paste or restoration, has completed.
+     * <p>
+     * This method is internal and should not be used by other plugins.
+     *
+     * @param preparation the preparation of the map
+     */
+    @ApiStatus.Internal
+    public final void awaitMapPreparation(CompletableFuture<?> preparation) {
+        if (preparation.isDone()) {
+            return;
+        }
+
+        this.pendingMapPreparations++;
+        this.arena.getPlugin().getCompetitionManager().updateCompetition(this.arena, this);
+
+        preparation.whenComplete((result, e) -> {
+            this.pendingMapPreparations--;
+            this.arena.getPlugin().getCompetitionManager().updateCompetition(this.arena, this);
+        });
+    }
+
     /**
      * Gets the {@link PhaseManager} responsible for managing the phases of the competition.
      *
@@ -430,14 +474,22 @@ public class LiveCompetition<T extends Competition<T>> implements ArenaLike, Com
 
     @Override
     public Resolver resolve() {
-        Resolver.Builder builder = this.arena.resolve().toBuilder()
-                .define(ResolverKeys.ALIVE_PLAYERS, ResolverProvider.simple(this.getAlivePlayerCount(), String::valueOf))
-                .define(ResolverKeys.COMPETITION, ResolverProvider.simple(this.getCompetition(), this.getMap()::getName))
-                .define(ResolverKeys.ONLINE_PLAYERS, ResolverProvider.simple(this.getAlivePlayerCount() + this.getSpectatorCount(), String::valueOf))
-                .define(ResolverKeys.MAP, ResolverProvider.simple(this.getMap(), CompetitionMap::getName))
-                .define(ResolverKeys.MAX_PLAYERS, ResolverProvider.simple(this.getMaxPlayers(), String::valueOf))
-                .define(ResolverKeys.PHASE, ResolverProvider.simple(this.getPhaseManager().getCurrentPhase(), p -> p.getType().getName()))
-                .define(ResolverKeys.SPECTATORS, ResolverProvider.simple(this.getSpectatorCount(), String::valueOf));
+        // The providers of the competition itself are evaluated on lookup,
+        // so they only need to be created once
+        if (this.resolver == null) {
+            this.resolver = Resolver.builder()
+                    .define(ResolverKeys.ALIVE_PLAYERS, ResolverProvider.lazy(this::getAlivePlayerCount, String::valueOf))
+                    .define(ResolverKeys.COMPETITION, ResolverProvider.simple(this.getCompetition(), this.getMap()::getName))
+                    .define(ResolverKeys.ONLINE_PLAYERS, ResolverProvider.lazy(() -> this.getAlivePlayerCount() + this.getSpectatorCount(), String::valueOf))
+                    .define(ResolverKeys.MAP, ResolverProvider.simple(this.getMap(), CompetitionMap::getName))
+                    .define(ResolverKeys.MAX_PLAYERS, ResolverProvider.simple(this.getMaxPlayers(), String::valueOf))
+                    .define(ResolverKeys.PHASE, ResolverProvider.lazy(this.getPhaseManager()::getCurrentPhase, p -> p.getType().getName()))
+                    .define(ResolverKeys.SPECTATORS, ResolverProvider.lazy(this::getSpectatorCount, String::valueOf))
+                    .build();
+        }
+
+        Resolver.Builder builder = this.arena.resolve().toBuilder();
+        this.resolver.mergeInto(builder);
 
         this.getVictoryManager().resolve().mergeInto(builder);
         if (this.getPhaseManager().getCurrentPhase() instanceof LiveCompetitionPhase<?> phase) {
@@ -3,6 +3,7 @@ package org.battleplugins.arena.competition;
 import org.battleplugins.arena.ArenaPlayer;
 import org.battleplugins.arena.BattleArena;
 import org.battleplugins.arena.util.InventoryBackup;
+import org.battleplugins.arena.util.Util;
 import org.bukkit.GameMode;
 import org.bukkit.Location;
 import org.bukkit.attribute.Attribute;
@@ -17,6 +18,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 /**
@@ -232,7 +234,10 @@ public class PlayerStorage {
     }
     
     private void restoreLocation() {
-        this.player.getPlayer().teleport(this.lastLocation);
+        CompletableFuture<Boolean> future = Util.teleportAsync(this.player.getPlayer(), this.lastLocation);
+
+        // The map may be torn down before the player has been teleported out of it
+        this.player.getCompetition().getMap().trackTeleport(this.player.getPlayer(), this.lastLocation, future);
     }
 
     /**
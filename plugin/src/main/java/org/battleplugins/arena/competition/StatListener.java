@@ -1,13 +1,9 @@
 package org.battleplugins.arena.competition;
 
-import org.battleplugins.arena.ArenaPlayer;
 import org.battleplugins.arena.event.ArenaEventHandler;
 import org.battleplugins.arena.event.ArenaListener;
 import org.battleplugins.arena.event.player.ArenaDeathEvent;
 import org.battleplugins.arena.event.player.ArenaKillEvent;
-import org.battleplugins.arena.event.player.ArenaLifeDepleteEvent;
-import org.battleplugins.arena.event.player.ArenaLivesExhaustEvent;
-import org.battleplugins.arena.event.player.ArenaStatChangeEvent;
 import org.battleplugins.arena.stat.ArenaStats;
 import org.bukkit.event.EventPriority;
 
@@ -31,27 +27,6 @@ class StatListener<T extends Competition<T>> implements ArenaListener, Competiti
         event.getKiller().computeStat(ArenaStats.KILLS, old -> (old == null ? 0 : old) + 1);
     }
 
-    @ArenaEventHandler(priority = EventPriority.LOWEST)
-    public void onStatChange(ArenaStatChangeEvent<?> event) {
-        if (event.getStat() == ArenaStats.LIVES && event.getStatHolder() instanceof ArenaPlayer player) {
-            int newValue = (int) event.getNewValue();
-            if (event.getOldValue() != null && (int) event.getOldValue() < newValue) {
-                return;
-            }
-
-            if (newValue == 0) {
-                this.competition.getArena().getEventManager().callEvent(new ArenaLivesExhaustEvent(this.competition.getArena(), player));
-                return;
-            }
-
-            if (newValue < 0) {
-                return;
-            }
-
-            this.competition.getArena().getEventManager().callEvent(new ArenaLifeDepleteEvent(this.competition.getArena(), player, newValue));
-        }
-    }
-
     @SuppressWarnings("unchecked")
     @Override
     public T getCompetition() {
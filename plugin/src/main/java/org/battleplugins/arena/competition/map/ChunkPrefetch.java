@@ -0,0 +1,113 @@
+package org.battleplugins.arena.competition.map;
+
+import org.battleplugins.arena.competition.map.options.Spawns;
+import org.battleplugins.arena.competition.map.options.TeamSpawns;
+import org.battleplugins.arena.util.PositionWithRotation;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Loads the chunks players are about to be teleported into off the
+ * main thread, and keeps them loaded until they are {@link #release() released}.
+ * <p>
+ * Tickets are counted through {@link ChunkTickets}, so chunks which are
+ * also kept loaded elsewhere, such as those of prepared dynamic maps or
+ * of another prefetch, stay loaded when released.
+ * <p>
+ * This class is internal and should not be used by other plugins.
+ */
+@ApiStatus.Internal
+public final class ChunkPrefetch {
+    private final ChunkTickets tickets;
+    private final List<Chunk> ticketed = new ArrayList<>();
+    private final CompletableFuture<Void> future;
+
+    private boolean released;
+
+    private ChunkPrefetch(ChunkTickets tickets, World world, Set<Long> chunks) {
+        this.tickets = tickets;
+
+        List<CompletableFuture<?>> futures = new ArrayList<>(chunks.size());
+        for (long chunk : chunks) {
+            futures.add(world.getChunkAtAsync((int) (chunk >> 32), (int) chunk).thenAccept(this::onLoad));
+        }
+
+        this.future = CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Gets a future which completes once every chunk has loaded.
+     *
+     * @return a future which completes once every chunk has loaded
+     */
+    public CompletableFuture<Void> getFuture() {
+        return this.future;
+    }
+
+    /**
+     * Allows the chunks loaded by this prefetch to unload again.
+     */
+    public void release() {
+        this.released = true;
+        for (Chunk chunk : this.ticketed) {
+            this.tickets.remove(chunk);
+        }
+
+        this.ticketed.clear();
+    }
+
+    private void onLoad(Chunk chunk) {
+        if (this.released) {
+            return;
+        }
+
+        this.tickets.add(chunk);
+        this.ticketed.add(chunk);
+    }
+
+    /**
+     * Starts loading the chunks of every spawn in the given map.
+     *
+     * @param tickets the tickets to keep the chunks loaded with
+     * @param map the map to load the spawns of
+     * @return the prefetch
+     */
+    public static ChunkPrefetch spawns(ChunkTickets tickets, LiveCompetitionMap map) {
+        Set<Long> chunks = new HashSet<>();
+        Spawns spawns = map.getSpawns();
+        if (spawns != null) {
+            addChunk(chunks, spawns.getWaitroomSpawn());
+            addChunk(chunks, spawns.getSpectatorSpawn());
+            if (spawns.getTeamSpawns() != null) {
+                for (TeamSpawns teamSpawns : spawns.getTeamSpawns().values()) {
+                    if (teamSpawns.getSpawns() == null) {
+                        continue;
+                    }
+
+                    for (PositionWithRotation spawn : teamSpawns.getSpawns()) {
+                        addChunk(chunks, spawn);
+                    }
+                }
+            }
+        }
+
+        return new ChunkPrefetch(tickets, map.getWorld(), chunks);
+    }
+
+    private static void addChunk(Set<Long> chunks, PositionWithRotation position) {
+        if (position == null) {
+            return;
+        }
+
+        int chunkX = ((int) Math.floor(position.getX())) >> 4;
+        int chunkZ = ((int) Math.floor(position.getZ())) >> 4;
+        chunks.add(((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL));
+    }
+}
@@ -0,0 +1,99 @@
+package org.battleplugins.arena.competition.map;
+
+import org.battleplugins.arena.BattleArena;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Counts the plugin chunk tickets held on each chunk.
+ * <p>
+ * Chunk tickets are held per plugin rather than counted, so a chunk
+ * kept loaded for several reasons at once, such as a prepared dynamic
+ * map and the spawns of a countdown, would otherwise be allowed to
+ * unload as soon as either of them is done with it. The ticket of a
+ * chunk is only added for its first holder and removed with its last.
+ * <p>
+ * Tickets must only be added and removed from the main thread.
+ * <p>
+ * This class is internal and should not be used by other plugins.
+ */
+@ApiStatus.Internal
+public final class ChunkTickets {
+    private final BattleArena plugin;
+    private final Map<World, Map<Long, Integer>> counts = new WeakHashMap<>();
+
+    public ChunkTickets(BattleArena plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Keeps the given chunk loaded until the ticket is {@link #remove(Chunk) removed}.
+     *
+     * @param chunk the chunk to keep loaded
+     */
+    public void add(Chunk chunk) {
+        Map<Long, Integer> counts = this.counts.computeIfAbsent(chunk.getWorld(), k -> new HashMap<>());
+        if (counts.merge(Chunk.getChunkKey(chunk.getX(), chunk.getZ()), 1, Integer::sum) == 1) {
+            chunk.addPluginChunkTicket(this.plugin);
+        }
+    }
+
+    /**
+     * Removes a ticket added for the given chunk, allowing it to
+     * unload once no other tickets are held on it.
+     *
+     * @param chunk the chunk to remove the ticket from
+     */
+    public void remove(Chunk chunk) {
+        this.remove(chunk.getWorld(), chunk.getX(), chunk.getZ());
+    }
+
+    /**
+     * Removes a ticket added for the chunk at the given chunk coordinates,
+     * allowing it to unload once no other tickets are held on it.
+     *
+     * @param world the world of the chunk
+     * @param x the X coordinate of the chunk
+     * @param z the Z coordinate of the chunk
+     */
+    public void remove(World world, int x, int z) {
+        Map<Long, Integer> counts = this.counts.get(world);
+        if (counts == null) {
+            return;
+        }
+
+        // Chunks without a counted ticket were never added here
+        long key = Chunk.getChunkKey(x, z);
+        Integer count = counts.get(key);
+        if (count == null) {
+            return;
+        }
+
+        if (count > 1) {
+            counts.put(key, count - 1);
+            return;
+        }
+
+        counts.remove(key);
+        if (counts.isEmpty()) {
+            this.counts.remove(world);
+        }
+
+        world.removePluginChunkTicket(x, z, this.plugin);
+    }
+
+    /**
+     * Forgets every ticket held in the given world, such as
+     * when the world is unloaded.
+     *
+     * @param world the world to forget the tickets of
+     */
+    public void clear(World world) {
+        this.counts.remove(world);
+    }
+}
@@ -0,0 +1,24 @@
+package org.battleplugins.arena.competition.map;
+
+/**
+ * Represents how copies of {@link MapType#DYNAMIC dynamic} maps
+ * are placed in the server.
+ */
+public enum DynamicMapMode {
+    /**
+     * Each copy is placed in its own world, which is created
+     * when the copy is made and deleted when it is no longer used.
+     */
+    WORLD,
+    /**
+     * Each copy is placed in its own slot of a grid, inside a
+     * single world shared by every copy of the arena's maps.
+     */
+    SLOT_GRID,
+    /**
+     * Each copy is placed in its own world, which is created from a
+     * copy of the region files of the map rather than by pasting the
+     * map block by block. This is much faster for large maps.
+     */
+    REGION_FILES
+}
@@ -11,23 +11,29 @@ import org.battleplugins.arena.config.ArenaConfigSerializer;
 import org.battleplugins.arena.config.ArenaOption;
 import org.battleplugins.arena.config.ParseException;
 import org.battleplugins.arena.config.PostProcessable;
-import org.battleplugins.arena.util.BlockUtil;
 import org.battleplugins.arena.util.Util;
 import org.battleplugins.arena.util.VoidChunkGenerator;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.WorldCreator;
 import org.bukkit.WorldType;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Represents a map for a competition which is live on this server.
@@ -55,6 +61,13 @@ public class LiveCompetitionMap implements ArenaLike, CompetitionMap, PostProces
 
     private World mapWorld;
     private World parentWorld;
+    private LiveCompetitionMap parentMap;
+    private MapSlotGrid.Slot slot;
+    private MapClipboard clipboard;
+    private CompletableFuture<RegionTemplate> regionTemplate;
+    private boolean clonedFromRegionFiles;
+
+    private final Map<Player, PendingTeleport> pendingTeleports = new HashMap<>();
 
     public LiveCompetitionMap() {
     }
@@ -171,6 +184,35 @@ public class LiveCompetitionMap implements ArenaLike, CompetitionMap, PostProces
         return this.parentWorld == null ? this.mapWorld : this.parentWorld;
     }
 
+    /**
+     * Gets the map this map was copied from.
+     * <p>
+     * This is only present if the map is a copy of a
+     * {@link MapType#DYNAMIC dynamic} map.
+     *
+     * @return the map this map was copied from, or null if this map is not a copy
+     */
+    @Nullable
+    public final LiveCompetitionMap getParentMap() {
+        return this.parentMap;
+    }
+
+    /**
+     * Gets the {@link MapSlotGrid.Slot slot} this map was placed in.
+     * <p>
+     * This is only present if the map is a copy of a {@link MapType#DYNAMIC dynamic}
+     * map which was placed in a {@link MapSlotGrid} rather than its own world.
+     * <p>
+     * This method is internal and should not be used by other plugins.
+     *
+     * @return the slot this map was placed in, or null if this map is not in a slot
+     */
+    @Nullable
+    @ApiStatus.Internal
+    public final MapSlotGrid.Slot getSlot() {
+        return this.slot;
+    }
+
     /**
      * Gets the {@link Bounds} of the map.
      *
@@ -197,6 +239,7 @@ public class LiveCompetitionMap implements ArenaLike, CompetitionMap, PostProces
      */
     public final void setBounds(Bounds bounds) {
         this.bounds = bounds;
+        this.invalidateClipboard();
     }
 
     /**
@@ -238,28 +281,137 @@ public class LiveCompetitionMap implements ArenaLike, CompetitionMap, PostProces
      */
     @Nullable
     public final LiveCompetition<?> createDynamicCompetition(Arena arena) {
+        LiveCompetitionMap copy = this.createDynamicCopy(arena);
+        if (copy == null) {
+            return null;
+        }
+
+        // Players are waiting on this competition, so the map
+        // is pasted right away rather than over multiple ticks
+        if (!this.copyInto(copy)) {
+            return null; // Failed to copy
+        }
+
+        return copy.createCompetition(arena);
+    }
+
+    /**
+     * Creates a new copy of this map, either in a new, empty world or in a
+     * slot of the {@link MapSlotGrid} of the arena, depending on the
+     * configured {@link DynamicMapMode}.
+     * <p>
+     * The blocks of this map are not copied into the copy, which
+     * is done separately using {@link #copyInto(LiveCompetitionMap)}.
+     * Copies are never created from region files by this method, as
+     * copying the files would block the main thread; use
+     * {@link #createDynamicCopyAsync(Arena)} for that instead.
+     * <p>
+     * This method is internal and should not be used by other plugins.
+     *
+     * @param arena the arena to create the copy for
+     * @return the created copy, or null if the world could not be created
+     */
+    @Nullable
+    @ApiStatus.Internal
+    public final LiveCompetitionMap createDynamicCopy(Arena arena) {
+        if (this.type != MapType.DYNAMIC) {
+            throw new IllegalStateException("Cannot create dynamic competition for non-dynamic map!");
+        }
+
+        if (arena.getPlugin().getMainConfig().getDynamicMapMode() == DynamicMapMode.SLOT_GRID && this.bounds != null) {
+            MapSlotGrid.Slot slot = arena.getPlugin().getCompetitionManager().getSlotGrid(arena).lease(this.bounds);
+            if (slot != null) {
+                return this.createDynamicCopy(arena, slot.getWorld(), slot);
+            }
+
+            // Map does not fit in a slot, so fall back to creating a world
+        }
+
+        World world = createDynamicWorld("ba-dynamic-" + UUID.randomUUID());
+        if (world == null) {
+            return null;
+        }
+
+        return this.createDynamicCopy(arena, world, null);
+    }
+
+    /**
+     * Creates a new copy of this map in the same way as {@link #createDynamicCopy(Arena)},
+     * except that when the {@link DynamicMapMode#REGION_FILES region files} mode is
+     * configured, the region files of this map are copied into the new world in the
+     * background, after which the world is created on the main thread.
+     * <p>
+     * If the region files could not be copied, this falls back to creating an
+     * empty copy, into which the blocks of this map still need to be pasted.
+     * <p>
+     * This method is internal and should not be used by other plugins.
+     *
+     * @param arena the arena to create the copy for
+     * @return a future completed with the created copy, or with null if the world could not be created
+     */
+    @ApiStatus.Internal
+    public final CompletableFuture<@Nullable LiveCompetitionMap> createDynamicCopyAsync(Arena arena) {
         if (this.type != MapType.DYNAMIC) {
             throw new IllegalStateException("Cannot create dynamic competition for non-dynamic map!");
         }
 
+        if (arena.getPlugin().getMainConfig().getDynamicMapMode() != DynamicMapMode.REGION_FILES || this.bounds == null) {
+            return CompletableFuture.completedFuture(this.createDynamicCopy(arena));
+        }
+
+        if (this.regionTemplate == null || (this.regionTemplate.isDone() && this.regionTemplate.getNow(null) == null)) {
+            this.regionTemplate = RegionTemplate.prepare(this);
+        }
+
         String worldName = "ba-dynamic-" + UUID.randomUUID();
-        World world = Bukkit.createWorld(WorldCreator.name(worldName)
+        Path worldPath = Bukkit.getWorldContainer().toPath().resolve(worldName);
+        long start = System.nanoTime();
+        return this.regionTemplate
+                .thenCompose(template -> template == null ? CompletableFuture.completedFuture(false) : template.cloneInto(worldName))
+                .thenApplyAsync(cloned -> {
+                    if (!cloned) {
+                        // Remove what was copied before cloning failed, and fall back to pasting
+                        arena.getPlugin().warn("Failed to copy region files for map {}, falling back to pasting the map!", this.name);
+                        if (Files.exists(worldPath)) {
+                            arena.getPlugin().getDeletionService().delete(worldPath);
+                        }
+
+                        return this.createDynamicCopy(arena);
+                    }
+
+                    World world = createDynamicWorld(worldName);
+                    if (world == null) {
+                        return null;
+                    }
+
+                    arena.getPlugin().debug("Created copy of map {} from region files in {}ms.", this.name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+                    LiveCompetitionMap copy = this.createDynamicCopy(arena, world, null);
+                    copy.clonedFromRegionFiles = true;
+                    return copy;
+                }, Bukkit.getScheduler().getMainThreadExecutor(arena.getPlugin()));
+    }
+
+    @Nullable
+    private static World createDynamicWorld(String worldName) {
+        return Bukkit.createWorld(WorldCreator.name(worldName)
                 .generator(VoidChunkGenerator.INSTANCE)
                 .environment(World.Environment.NORMAL)
                 .generateStructures(false)
                 .keepSpawnLoaded(TriState.FALSE)
                 .type(WorldType.NORMAL)
         );
+    }
 
-        if (world == null) {
-            return null;
-        }
-
-        if (!BlockUtil.copyToWorld(this.mapWorld, world, this.bounds)) {
-            return null; // Failed to copy
+    private LiveCompetitionMap createDynamicCopy(Arena arena, World world, @Nullable MapSlotGrid.Slot slot) {
+        Bounds bounds = this.bounds;
+        Spawns spawns = this.spawns;
+        if (slot != null) {
+            bounds = bounds.translate(slot.getOffsetX(), 0, slot.getOffsetZ());
+            spawns = spawns == null ? null : spawns.translate(slot.getOffsetX(), 0, slot.getOffsetZ());
         }
 
-        LiveCompetitionMap copy = arena.getMapFactory().create(this.name, arena, this.type, worldName, this.bounds, this.spawns);
+        LiveCompetitionMap copy = arena.getMapFactory().create(this.name, arena, this.type, world.getName(), bounds, spawns);
         // Copy additional fields for custom maps
         if (copy.getClass() != LiveCompetitionMap.class) {
             Util.copyFields(this, copy);
@@ -267,9 +419,168 @@ public class LiveCompetitionMap implements ArenaLike, CompetitionMap, PostProces
 
         copy.mapWorld = world;
         copy.parentWorld = this.mapWorld;
+        copy.parentMap = this;
+        copy.slot = slot;
         copy.postProcess();
 
-        return copy.createCompetition(arena);
+        return copy;
+    }
+
+    /**
+     * Copies the blocks of this map into the given copy of this map,
+     * replacing any blocks already in the copy.
+     * <p>
+     * This method is internal and should not be used by other plugins.
+     *
+     * @param copy the copy to copy the blocks into
+     * @return whether the blocks were copied successfully
+     */
+    @ApiStatus.Internal
+    public final boolean copyInto(LiveCompetitionMap copy) {
+        MapClipboard clipboard = this.getClipboard();
+        if (clipboard == null) {
+            return false;
+        }
+
+        // Copies in a slot grid are placed at a different position than this map
+        Bounds target = copy.bounds == null ? this.bounds : copy.bounds;
+        return clipboard.paste(copy.mapWorld, target.getMinX(), target.getMinY(), target.getMinZ());
+    }
+
+    /**
+     * Schedules the blocks of this map to be copied into the given copy of
+     * this map over the following ticks, replacing any blocks already in the
+     * copy. The copy should not be used until the returned paste completes.
+     * <p>
+     * This method is internal and should not be used by other plugins.
+     *
+     * @param copy the copy to copy the blocks into
+     * @return the scheduled paste, or null if the clipboard of this map could not be captured
+     */
+    @Nullable
+    @ApiStatus.Internal
+    public final PasteScheduler.PasteTask scheduleCopyInto(LiveCompetitionMap copy) {
+        MapClipboard clipboard = this.getClipboard();
+        if (clipboard == null) {
+            return null;
+        }
+
+        Bounds target = copy.bounds == null ? this.bounds : copy.bounds;
+        return this.arena.getPlugin().getCompetitionManager().getPasteScheduler()
+                .schedule("map " + this.name, clipboard, copy.mapWorld, target.getMinX(), target.getMinY(), target.getMinZ());
+    }
+
+    /**
+     * Gets the {@link MapClipboard} holding the blocks of this map,
+     * capturing it from the world of this map if it has not been
+     * captured yet or has been {@link #invalidateClipboard() invalidated}.
+     * <p>
+     * This method is internal and should not be used by other plugins.
+     *
+     * @return the clipboard of this map, or null if it could not be captured
+     */
+    @Nullable
+    @ApiStatus.Internal
+    public final MapClipboard getClipboard() {
+        if (this.clipboard == null && this.bounds != null && this.mapWorld != null) {
+            this.clipboard = MapClipboard.capture(this.mapWorld, this.bounds, this.arena.getPlugin().getMainConfig().isCompactMapClipboards());
+        }
+
+        return this.clipboard;
+    }
+
+    /**
+     * Invalidates the {@link MapClipboard} of this map, so that it is
+     * captured again from the world of this map the next time it is used.
+     * <p>
+     * This method is internal and should not be used by other plugins.
+     */
+    @ApiStatus.Internal
+    public final void invalidateClipboard() {
+        this.clipboard = null;
+
+        if (this.regionTemplate != null) {
+            // The template may still be being prepared
+            this.regionTemplate.thenAccept(template -> {
+                if (template != null) {
+                    template.delete();
+                }
+            });
+
+            this.regionTemplate = null;
+        }
+    }
+
+    /**
+     * Returns whether this map is a copy whose world was created from the
+     * region files of the original map, in which case the blocks of the map
+     * are already in place and do not need to be pasted.
+     * <p>
+     * This method is internal and should not be used by other plugins.
+     *
+     * @return whether this map was created from region files
+     */
+    @ApiStatus.Internal
+    public final boolean isClonedFromRegionFiles() {
+        return this.clonedFromRegionFiles;
+    }
+
+    /**
+     * Tracks a player of this map who is being teleported, so that the
+     * map is not torn down while the teleport has not yet finished.
+     * <p>
+     * This method is internal and should not be used by other plugins.
+     *
+     * @param player the player being teleported
+     * @param location the location the player is being teleported to
+     * @param future the future completed once the player has been teleported
+     */
+    @ApiStatus.Internal
+    public final void trackTeleport(Player player, Location location, CompletableFuture<Boolean> future) {
+        if (future.isDone()) {
+            return;
+        }
+
+        PendingTeleport teleport = new PendingTeleport(location, future);
+        this.pendingTeleports.put(player, teleport);
+        future.whenComplete((result, e) -> this.pendingTeleports.remove(player, teleport));
+    }
+
+    /**
+     * Gets a future which completes once every player of this map
+     * who is being teleported has been teleported.
+     * <p>
+     * This method is internal and should not be used by other plugins.
+     *
+     * @return a future completed once every pending teleport has finished
+     */
+    @ApiStatus.Internal
+    public final CompletableFuture<Void> getPendingTeleports() {
+        if (this.pendingTeleports.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return CompletableFuture.allOf(this.pendingTeleports.values().stream()
+                .map(PendingTeleport::future)
+                .toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Teleports every player of this map who is still being teleported
+     * immediately, for when the map is torn down before the teleports
+     * could finish.
+     * <p>
+     * This method is internal and should not be used by other plugins.
+     */
+    @ApiStatus.Internal
+    public final void finishPendingTeleports() {
+        for (Map.Entry<Player, PendingTeleport> entry : Map.copyOf(this.pendingTeleports).entrySet()) {
+            if (entry.getKey().isConnected()) {
+                entry.getKey().teleport(entry.getValue().location());
+            }
+        }
+
+        this.pendingTeleports.clear();
     }
 
     /**
@@ -280,4 +591,7 @@ public class LiveCompetitionMap implements ArenaLike, CompetitionMap, PostProces
     public static MapFactory getFactory() {
         return FACTORY;
     }
+
+    private record PendingTeleport(Location location, CompletableFuture<Boolean> future) {
+    }
 }
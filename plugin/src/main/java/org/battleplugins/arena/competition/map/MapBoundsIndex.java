@@ -0,0 +1,123 @@
+package org.battleplugins.arena.competition.map;
+
+import org.battleplugins.arena.competition.map.options.Bounds;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A per-world index of the bounds of competition maps, so that the
+ * competition at a given position can be found without checking the
+ * bounds of every competition.
+ * <p>
+ * Each world is divided into a grid of chunks, and every competition
+ * is added to each chunk its bounds overlap. Finding the competition
+ * at a position only needs to check the competitions in its chunk.
+ *
+ * @param <T> the type of the competitions in this index
+ */
+class MapBoundsIndex<T> {
+    private final Map<UUID, Map<Long, List<Entry<T>>>> worlds = new HashMap<>();
+    private final Map<T, Entry<T>> entries = new HashMap<>();
+
+    /**
+     * Adds the given competition to this index.
+     *
+     * @param competition the competition to add
+     * @param world the unique id of the world of the competition's map
+     * @param bounds the bounds of the competition's map
+     */
+    void add(T competition, UUID world, Bounds bounds) {
+        if (this.entries.containsKey(competition)) {
+            return;
+        }
+
+        Entry<T> entry = new Entry<>(competition, world, bounds);
+        this.entries.put(competition, entry);
+
+        Map<Long, List<Entry<T>>> grid = this.worlds.computeIfAbsent(entry.world(), k -> new HashMap<>());
+        for (int chunkX = bounds.getMinX() >> 4; chunkX <= bounds.getMaxX() >> 4; chunkX++) {
+            for (int chunkZ = bounds.getMinZ() >> 4; chunkZ <= bounds.getMaxZ() >> 4; chunkZ++) {
+                grid.computeIfAbsent(key(chunkX, chunkZ), k -> new ArrayList<>(1)).add(entry);
+            }
+        }
+    }
+
+    /**
+     * Removes the given competition from this index.
+     *
+     * @param competition the competition to remove
+     */
+    void remove(T competition) {
+        Entry<T> entry = this.entries.remove(competition);
+        if (entry == null) {
+            return;
+        }
+
+        Map<Long, List<Entry<T>>> grid = this.worlds.get(entry.world());
+        if (grid == null) {
+            return;
+        }
+
+        // Remove using the bounds the competition was added with,
+        // in case the bounds of its map have changed since
+        Bounds bounds = entry.bounds();
+        for (int chunkX = bounds.getMinX() >> 4; chunkX <= bounds.getMaxX() >> 4; chunkX++) {
+            for (int chunkZ = bounds.getMinZ() >> 4; chunkZ <= bounds.getMaxZ() >> 4; chunkZ++) {
+                long key = key(chunkX, chunkZ);
+                List<Entry<T>> cell = grid.get(key);
+                if (cell != null && cell.remove(entry) && cell.isEmpty()) {
+                    grid.remove(key);
+                }
+            }
+        }
+
+        if (grid.isEmpty()) {
+            this.worlds.remove(entry.world());
+        }
+    }
+
+    /**
+     * Finds the competition whose map contains the given block position.
+     * <p>
+     * If the maps of multiple competitions contain the position, the
+     * competition which was added first is returned.
+     *
+     * @param world the unique id of the world of the position
+     * @param x the block X coordinate
+     * @param y the block Y coordinate
+     * @param z the block Z coordinate
+     * @return the competition at the position, or null if there is none
+     */
+    @Nullable
+    T find(UUID world, int x, int y, int z) {
+        Map<Long, List<Entry<T>>> grid = this.worlds.get(world);
+        if (grid == null) {
+            return null;
+        }
+
+        List<Entry<T>> cell = grid.get(key(x >> 4, z >> 4));
+        if (cell == null) {
+            return null;
+        }
+
+        for (Entry<T> entry : cell) {
+            if (entry.bounds().isInside(x, y, z)) {
+                return entry.competition();
+            }
+        }
+
+        return null;
+    }
+
+    private static long key(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private record Entry<T>(T competition, UUID world, Bounds bounds) {
+    }
+}
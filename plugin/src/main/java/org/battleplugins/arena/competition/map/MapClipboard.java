@@ -0,0 +1,316 @@
+package org.battleplugins.arena.competition.map;
+
+import com.sk89q.worldedit.EditSession;
+import com.sk89q.worldedit.WorldEdit;
+import com.sk89q.worldedit.WorldEditException;
+import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import com.sk89q.worldedit.entity.BaseEntity;
+import com.sk89q.worldedit.entity.Entity;
+import com.sk89q.worldedit.extent.Extent;
+import com.sk89q.worldedit.extent.clipboard.Clipboard;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import com.sk89q.worldedit.util.Location;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockTypes;
+import com.sk89q.worldedit.world.entity.EntityTypes;
+import org.battleplugins.arena.BattleArena;
+import org.battleplugins.arena.competition.map.options.Bounds;
+import org.battleplugins.arena.util.BlockUtil;
+import org.bukkit.World;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An in-memory copy of the blocks and entities of a {@link LiveCompetitionMap},
+ * which copies of the map are pasted from rather than reading the map's world
+ * every time.
+ * <p>
+ * A clipboard is either stored as a regular WorldEdit {@link Clipboard}, or in
+ * a compact form which stores each distinct block once in a palette and the
+ * region as runs of identical blocks. The compact form uses far less memory for
+ * large maps, which mostly consist of air and a handful of other blocks, at the
+ * cost of pasting block by block.
+ * <p>
+ * This class is internal and should not be used by other plugins.
+ */
+@ApiStatus.Internal
+public final class MapClipboard {
+    private final Bounds bounds;
+
+    // Set when stored as a regular clipboard
+    private final Clipboard clipboard;
+
+    // Set when stored in compact form. Blocks are indexed in the order
+    // of Y, then Z, then X, and each run ends at the index before the
+    // matching entry in runEnds
+    private final BaseBlock[] palette;
+    private final int[] runBlocks;
+    private final int[] runEnds;
+    private final List<EntitySnapshot> entities;
+
+    private MapClipboard(Bounds bounds, Clipboard clipboard) {
+        this.bounds = bounds;
+        this.clipboard = clipboard;
+        this.palette = null;
+        this.runBlocks = null;
+        this.runEnds = null;
+        this.entities = null;
+    }
+
+    private MapClipboard(Bounds bounds, BaseBlock[] palette, int[] runBlocks, int[] runEnds, List<EntitySnapshot> entities) {
+        this.bounds = bounds;
+        this.clipboard = null;
+        this.palette = palette;
+        this.runBlocks = runBlocks;
+        this.runEnds = runEnds;
+        this.entities = entities;
+    }
+
+    /**
+     * Gets the {@link Bounds} this clipboard was captured from.
+     *
+     * @return the bounds this clipboard was captured from
+     */
+    public Bounds getBounds() {
+        return this.bounds;
+    }
+
+    /**
+     * Returns whether this clipboard is stored in compact form.
+     *
+     * @return whether this clipboard is stored in compact form
+     */
+    public boolean isCompact() {
+        return this.clipboard == null;
+    }
+
+    /**
+     * Gets the size of this clipboard on the X axis.
+     *
+     * @return the size on the X axis
+     */
+    public int getSizeX() {
+        return this.bounds.getWidth() + 1;
+    }
+
+    /**
+     * Gets the size of this clipboard on the Y axis.
+     *
+     * @return the size on the Y axis
+     */
+    public int getSizeY() {
+        return this.bounds.getHeight() + 1;
+    }
+
+    /**
+     * Gets the size of this clipboard on the Z axis.
+     *
+     * @return the size on the Z axis
+     */
+    public int getSizeZ() {
+        return this.bounds.getLength() + 1;
+    }
+
+    /**
+     * Gets the block at the given position, relative to
+     * the minimum corner of this clipboard.
+     *
+     * @param x the relative X coordinate
+     * @param y the relative Y coordinate
+     * @param z the relative Z coordinate
+     * @return the block at the given position
+     */
+    public BaseBlock getBlock(int x, int y, int z) {
+        if (this.clipboard != null) {
+            return this.clipboard.getFullBlock(this.clipboard.getRegion().getMinimumPoint().add(x, y, z));
+        }
+
+        int index = (y * this.getSizeZ() + z) * this.getSizeX() + x;
+        int run = Arrays.binarySearch(this.runEnds, index);
+
+        // An exact match is the end of a run, so the block is in the next run
+        run = run >= 0 ? run + 1 : -run - 1;
+        return this.palette[this.runBlocks[run]];
+    }
+
+    /**
+     * Pastes the entities of this clipboard into the given {@link Extent},
+     * with the minimum corner of this clipboard placed at the given position.
+     *
+     * @param extent the extent to paste into
+     * @param x the X coordinate to paste at
+     * @param y the Y coordinate to paste at
+     * @param z the Z coordinate to paste at
+     */
+    public void pasteEntities(Extent extent, int x, int y, int z) {
+        if (this.clipboard != null) {
+            BlockVector3 min = this.clipboard.getRegion().getMinimumPoint();
+            for (Entity entity : this.clipboard.getEntities()) {
+                BaseEntity state = entity.getState();
+                if (state == null) {
+                    continue;
+                }
+
+                Location location = entity.getLocation();
+                extent.createEntity(new Location(extent, x + location.getX() - min.getX(), y + location.getY() - min.getY(), z + location.getZ() - min.getZ(), location.getYaw(), location.getPitch()), state);
+            }
+
+            return;
+        }
+
+        for (EntitySnapshot entity : this.entities) {
+            extent.createEntity(new Location(extent, x + entity.x(), y + entity.y(), z + entity.z(), entity.yaw(), entity.pitch()), entity.state());
+        }
+    }
+
+    /**
+     * Pastes this clipboard into the given world within the current tick,
+     * with the minimum corner of this clipboard placed at the given position.
+     *
+     * @param world the world to paste into
+     * @param x the X coordinate to paste at
+     * @param y the Y coordinate to paste at
+     * @param z the Z coordinate to paste at
+     * @return whether the clipboard was pasted successfully
+     */
+    public boolean paste(World world, int x, int y, int z) {
+        if (this.clipboard != null) {
+            return BlockUtil.paste(this.clipboard, world, x, y, z);
+        }
+
+        int sizeX = this.getSizeX();
+        int sizeZ = this.getSizeZ();
+        try (EditSession session = WorldEdit.getInstance().newEditSession(BukkitAdapter.adapt(world))) {
+            int index = 0;
+            for (int run = 0; run < this.runEnds.length; run++) {
+                BaseBlock block = this.palette[this.runBlocks[run]];
+                for (; index < this.runEnds[run]; index++) {
+                    int relX = index % sizeX;
+                    int relZ = (index / sizeX) % sizeZ;
+                    int relY = index / (sizeX * sizeZ);
+                    session.setBlock(BlockVector3.at(x + relX, y + relY, z + relZ), block);
+                }
+            }
+
+            this.pasteEntities(session, x, y, z);
+        } catch (WorldEditException e) {
+            BattleArena.getInstance().error("Failed to paste compact clipboard into world {}!", world.getName(), e);
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Creates a clipboard from the given WorldEdit {@link Clipboard}.
+     *
+     * @param clipboard the clipboard to create from
+     * @return the created clipboard
+     */
+    public static MapClipboard of(Clipboard clipboard) {
+        BlockVector3 min = clipboard.getRegion().getMinimumPoint();
+        BlockVector3 max = clipboard.getRegion().getMaximumPoint();
+        return new MapClipboard(new Bounds(min.getX(), min.getY(), min.getZ(), max.getX(), max.getY(), max.getZ()), clipboard);
+    }
+
+    /**
+     * Creates a clipboard of the given {@link Bounds} holding only air,
+     * used to clear a region when pasted.
+     *
+     * @param bounds the bounds of the clipboard
+     * @return the created clipboard
+     */
+    public static MapClipboard empty(Bounds bounds) {
+        int volume = (bounds.getWidth() + 1) * (bounds.getHeight() + 1) * (bounds.getLength() + 1);
+        return new MapClipboard(bounds, new BaseBlock[] { BlockTypes.AIR.getDefaultState().toBaseBlock() }, new int[] { 0 }, new int[] { volume }, List.of());
+    }
+
+    /**
+     * Captures the blocks and entities within the given {@link Bounds}
+     * of the given world.
+     *
+     * @param world the world to capture from
+     * @param bounds the bounds to capture
+     * @param compact whether to store the clipboard in compact form
+     * @return the captured clipboard, or null if it could not be captured
+     */
+    @Nullable
+    public static MapClipboard capture(World world, Bounds bounds, boolean compact) {
+        if (!compact) {
+            Clipboard clipboard = BlockUtil.copy(world, bounds);
+            return clipboard == null ? null : new MapClipboard(bounds, clipboard);
+        }
+
+        // Read straight from the world rather than through a regular
+        // clipboard, so the full region is never held in memory
+        com.sk89q.worldedit.world.World adaptedWorld = BukkitAdapter.adapt(world);
+
+        Map<BaseBlock, Integer> paletteIndices = new HashMap<>();
+        List<BaseBlock> palette = new ArrayList<>();
+        int[] runBlocks = new int[32];
+        int[] runEnds = new int[32];
+        int runCount = 0;
+
+        int index = 0;
+        for (int y = bounds.getMinY(); y <= bounds.getMaxY(); y++) {
+            for (int z = bounds.getMinZ(); z <= bounds.getMaxZ(); z++) {
+                for (int x = bounds.getMinX(); x <= bounds.getMaxX(); x++) {
+                    BaseBlock block = adaptedWorld.getFullBlock(BlockVector3.at(x, y, z));
+                    int paletteIndex = paletteIndices.computeIfAbsent(block, k -> {
+                        palette.add(k);
+                        return palette.size() - 1;
+                    });
+
+                    index++;
+
+                    // Extend the current run if the block matches
+                    if (runCount > 0 && runBlocks[runCount - 1] == paletteIndex) {
+                        runEnds[runCount - 1] = index;
+                        continue;
+                    }
+
+                    if (runCount == runEnds.length) {
+                        runBlocks = Arrays.copyOf(runBlocks, runCount * 2);
+                        runEnds = Arrays.copyOf(runEnds, runCount * 2);
+                    }
+
+                    runBlocks[runCount] = paletteIndex;
+                    runEnds[runCount] = index;
+                    runCount++;
+                }
+            }
+        }
+
+        CuboidRegion region = new CuboidRegion(BlockVector3.at(bounds.getMinX(), bounds.getMinY(), bounds.getMinZ()), BlockVector3.at(bounds.getMaxX(), bounds.getMaxY(), bounds.getMaxZ()));
+        List<EntitySnapshot> entities = new ArrayList<>();
+        for (Entity entity : adaptedWorld.getEntities(region)) {
+            BaseEntity state = entity.getState();
+            if (state == null || state.getType() == EntityTypes.PLAYER) {
+                continue;
+            }
+
+            Location location = entity.getLocation();
+            entities.add(new EntitySnapshot(
+                    state,
+                    location.getX() - bounds.getMinX(),
+                    location.getY() - bounds.getMinY(),
+                    location.getZ() - bounds.getMinZ(),
+                    location.getYaw(),
+                    location.getPitch()
+            ));
+        }
+
+        BattleArena.getInstance().debug("Captured compact clipboard with {} palette entries and {} runs.", palette.size(), runCount);
+        return new MapClipboard(bounds, palette.toArray(BaseBlock[]::new), Arrays.copyOf(runBlocks, runCount), Arrays.copyOf(runEnds, runCount), List.copyOf(entities));
+    }
+
+    private record EntitySnapshot(BaseEntity state, double x, double y, double z, float yaw, float pitch) {
+    }
+}
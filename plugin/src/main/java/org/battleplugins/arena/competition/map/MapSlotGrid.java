@@ -0,0 +1,212 @@
+package org.battleplugins.arena.competition.map;
+
+import net.kyori.adventure.util.TriState;
+import org.battleplugins.arena.Arena;
+import org.battleplugins.arena.competition.map.options.Bounds;
+import org.battleplugins.arena.util.Util;
+import org.battleplugins.arena.util.VoidChunkGenerator;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.WorldCreator;
+import org.bukkit.WorldType;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * A grid of slots inside a single world, in which copies of the
+ * {@link MapType#DYNAMIC dynamic} maps of an {@link Arena} are placed.
+ * <p>
+ * Placing copies in slots of one long-lived world avoids creating and
+ * deleting a world for every competition. Slots are leased by a copy
+ * when it is created, and released once the copy is no longer used.
+ * <p>
+ * This class is internal and should not be used by other plugins.
+ */
+@ApiStatus.Internal
+public final class MapSlotGrid {
+    private static final int COLUMNS = 32;
+
+    private final Arena arena;
+    private final int slotSize;
+    private final BitSet leased = new BitSet();
+
+    // Clears of released slots which are still in progress
+    private final Set<PasteScheduler.PasteTask> clears = new HashSet<>();
+
+    private World world;
+
+    public MapSlotGrid(Arena arena, int slotSize) {
+        this.arena = arena;
+
+        // Slots are aligned to chunks, so that no chunk is shared between slots
+        this.slotSize = Math.max(16, (slotSize + 15) & ~15);
+    }
+
+    /**
+     * Leases a slot for a copy of a map with the given {@link Bounds}.
+     *
+     * @param bounds the bounds of the map to copy
+     * @return the leased slot, or null if the map does not fit
+     *         in a slot or the world could not be created
+     */
+    @Nullable
+    public Slot lease(Bounds bounds) {
+        // Keep the position of the map within its chunk, and leave
+        // at least one empty chunk between copies
+        int offsetInChunkX = bounds.getMinX() & 15;
+        int offsetInChunkZ = bounds.getMinZ() & 15;
+        if (offsetInChunkX + bounds.getWidth() >= this.slotSize - 16 || offsetInChunkZ + bounds.getLength() >= this.slotSize - 16) {
+            return null;
+        }
+
+        World world = this.getOrCreateWorld();
+        if (world == null) {
+            return null;
+        }
+
+        int index = this.leased.nextClearBit(0);
+        this.leased.set(index);
+
+        int slotX = (index % COLUMNS) * this.slotSize;
+        int slotZ = (index / COLUMNS) * this.slotSize;
+        return new Slot(index, world, slotX + offsetInChunkX - bounds.getMinX(), slotZ + offsetInChunkZ - bounds.getMinZ());
+    }
+
+    /**
+     * Unloads the world of this grid. Any slots which are still
+     * leased can no longer be used afterwards.
+     */
+    public void close() {
+        for (PasteScheduler.PasteTask clear : List.copyOf(this.clears)) {
+            clear.cancel();
+        }
+
+        if (this.world != null) {
+            Bukkit.unloadWorld(this.world, false);
+            this.arena.getPlugin().getCompetitionManager().getChunkTickets().clear(this.world);
+        }
+
+        this.world = null;
+        this.leased.clear();
+    }
+
+    @Nullable
+    private World getOrCreateWorld() {
+        if (this.world != null) {
+            return this.world;
+        }
+
+        // Uses the dynamic map prefix so leftover worlds are deleted on startup
+        this.world = Bukkit.createWorld(WorldCreator.name("ba-dynamic-grid-" + this.arena.getName().toLowerCase(Locale.ROOT))
+                .generator(VoidChunkGenerator.INSTANCE)
+                .environment(World.Environment.NORMAL)
+                .generateStructures(false)
+                .keepSpawnLoaded(TriState.FALSE)
+                .type(WorldType.NORMAL)
+        );
+
+        return this.world;
+    }
+
+    /**
+     * A slot of the grid, leased by a copy of a map.
+     */
+    public final class Slot {
+        private final int index;
+        private final World world;
+        private final int offsetX;
+        private final int offsetZ;
+
+        private boolean released;
+
+        Slot(int index, World world, int offsetX, int offsetZ) {
+            this.index = index;
+            this.world = world;
+            this.offsetX = offsetX;
+            this.offsetZ = offsetZ;
+        }
+
+        /**
+         * Gets the world this slot is in.
+         *
+         * @return the world this slot is in
+         */
+        public World getWorld() {
+            return this.world;
+        }
+
+        /**
+         * Gets the offset on the X axis from the original map
+         * to the copy in this slot.
+         *
+         * @return the offset on the X axis
+         */
+        public int getOffsetX() {
+            return this.offsetX;
+        }
+
+        /**
+         * Gets the offset on the Z axis from the original map
+         * to the copy in this slot.
+         *
+         * @return the offset on the Z axis
+         */
+        public int getOffsetZ() {
+            return this.offsetZ;
+        }
+
+        /**
+         * Releases this slot, clearing everything the copy with the given
+         * {@link Bounds} left behind so that the slot can be leased again.
+         * <p>
+         * The blocks of the copy are cleared over the following ticks by the
+         * {@link PasteScheduler}, and the slot is only leased again once
+         * they have been cleared.
+         *
+         * @param bounds the bounds of the copy in this slot
+         */
+        public void release(Bounds bounds) {
+            if (this.released) {
+                return;
+            }
+
+            this.released = true;
+            if (MapSlotGrid.this.world != this.world) {
+                // The grid was closed, so there is nothing left to clear
+                return;
+            }
+
+            Util.removeEntities(this.world, bounds);
+
+            PasteScheduler.PasteTask clear = MapSlotGrid.this.arena.getPlugin().getCompetitionManager().getPasteScheduler()
+                    .schedule("slot " + this.index, MapClipboard.empty(bounds), this.world, bounds.getMinX(), bounds.getMinY(), bounds.getMinZ());
+
+            MapSlotGrid.this.clears.add(clear);
+            clear.getFuture().thenAccept(cleared -> {
+                MapSlotGrid.this.clears.remove(clear);
+                if (MapSlotGrid.this.world != this.world) {
+                    // The grid was closed while clearing
+                    return;
+                }
+
+                // The chunks are kept loaded while clearing, so they are not loaded again for every batch
+                for (int x = bounds.getMinX() >> 4; x <= bounds.getMaxX() >> 4; x++) {
+                    for (int z = bounds.getMinZ() >> 4; z <= bounds.getMaxZ() >> 4; z++) {
+                        MapSlotGrid.this.arena.getPlugin().getCompetitionManager().getChunkTickets().remove(this.world, x, z);
+                    }
+                }
+
+                // A slot which could not be cleared is never leased again
+                if (cleared) {
+                    MapSlotGrid.this.leased.clear(this.index);
+                }
+            });
+        }
+    }
+}
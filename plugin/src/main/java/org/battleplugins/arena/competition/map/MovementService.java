@@ -0,0 +1,214 @@
+package org.battleplugins.arena.competition.map;
+
+import org.battleplugins.arena.ArenaPlayer;
+import org.battleplugins.arena.competition.LiveCompetition;
+import org.battleplugins.arena.competition.map.options.Bounds;
+import org.battleplugins.arena.event.arena.ArenaCreateCompetitionEvent;
+import org.battleplugins.arena.event.arena.ArenaRemoveCompetitionEvent;
+import org.battleplugins.arena.event.player.ArenaJoinEvent;
+import org.battleplugins.arena.event.player.ArenaLeaveEvent;
+import org.battleplugins.arena.event.player.ArenaSpectateEvent;
+import org.battleplugins.arena.event.player.BukkitArenaPlayerEvent;
+import org.battleplugins.arena.event.player.PlayerMapTransitionEvent;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Tracks which map each player is in as they move, and calls a
+ * {@link PlayerMapTransitionEvent} when a player moves into, out of,
+ * or across the bounds of a map.
+ * <p>
+ * This is the only listener for player movement, so that features
+ * which depend on the bounds of maps do not each need to handle every
+ * movement. Movements within the same block are ignored, and the map
+ * each player was last in is kept, so that moving within it only checks
+ * its bounds. Other maps are only looked up when the player leaves it.
+ * <p>
+ * This class is internal and should not be used by other plugins.
+ */
+@ApiStatus.Internal
+public final class MovementService implements Listener {
+    // How often entering a map is called again for players who stay in it without being in its competition
+    private static final int REENTER_INTERVAL = 20;
+
+    private final MapBoundsIndex<LiveCompetition<?>> index = new MapBoundsIndex<>();
+    private final Map<UUID, PlayerRegion> regions = new HashMap<>();
+
+    @EventHandler
+    public void onCreateCompetition(ArenaCreateCompetitionEvent event) {
+        if (!(event.getCompetition() instanceof LiveCompetition<?> competition)) {
+            return;
+        }
+
+        Bounds bounds = competition.getMap().getBounds();
+        World world = competition.getMap().getWorld();
+        if (bounds != null && world != null) {
+            this.index.add(competition, world.getUID(), bounds);
+        }
+    }
+
+    @EventHandler
+    public void onRemoveCompetition(ArenaRemoveCompetitionEvent event) {
+        if (!(event.getCompetition() instanceof LiveCompetition<?> competition)) {
+            return;
+        }
+
+        this.index.remove(competition);
+
+        // Players may still be standing in the map
+        for (PlayerRegion region : this.regions.values()) {
+            if (region.competition == competition) {
+                region.set(null);
+            }
+        }
+    }
+
+    @EventHandler
+    public void onJoin(ArenaJoinEvent event) {
+        this.track(event);
+    }
+
+    @EventHandler
+    public void onSpectate(ArenaSpectateEvent event) {
+        this.track(event);
+    }
+
+    private void track(BukkitArenaPlayerEvent event) {
+        // Players are expected to stay within the map of their
+        // competition, wherever they are placed when joining
+        this.regions.computeIfAbsent(event.getPlayer().getUniqueId(), k -> new PlayerRegion())
+                .set(event.getArenaPlayer().getCompetition());
+    }
+
+    @EventHandler
+    public void onLeave(ArenaLeaveEvent event) {
+        this.regions.remove(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler
+    public void onQuit(PlayerQuitEvent event) {
+        this.regions.remove(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(ignoreCancelled = true)
+    public void onMove(PlayerMoveEvent event) {
+        // Maps are made up of whole blocks, so only moving
+        // into another block can change which map a player is in
+        if (!event.hasChangedBlock()) {
+            return;
+        }
+
+        Location to = event.getTo();
+        World world = to.getWorld();
+        int x = to.getBlockX();
+        int y = to.getBlockY();
+        int z = to.getBlockZ();
+
+        Player player = event.getPlayer();
+        PlayerRegion region = this.regions.computeIfAbsent(player.getUniqueId(), k -> new PlayerRegion());
+        if (region.contains(world, x, y, z)) {
+            // Players may not have been able to join the competition when they
+            // entered its map, such as when it was full, so entering is called
+            // again every so often for as long as they stay in the map
+            if (region.shouldReenter() && ArenaPlayer.getArenaPlayer(player) == null && hasTransitionListeners()) {
+                PlayerMapTransitionEvent transitionEvent = new PlayerMapTransitionEvent(player, null, null, region.competition);
+                if (!transitionEvent.callEvent()) {
+                    event.setCancelled(true);
+                }
+            }
+
+            return;
+        }
+
+        // Players in an arena are in their own map first, even if it overlaps another
+        ArenaPlayer arenaPlayer = ArenaPlayer.getArenaPlayer(player);
+        LiveCompetition<?> competition;
+        if (arenaPlayer != null && contains(arenaPlayer.getCompetition(), world, x, y, z)) {
+            competition = arenaPlayer.getCompetition();
+        } else {
+            competition = this.index.find(world.getUID(), x, y, z);
+        }
+
+        if (competition == region.competition) {
+            return;
+        }
+
+        // Avoid creating the event if nothing is listening for it
+        if (hasTransitionListeners()) {
+            PlayerMapTransitionEvent transitionEvent = new PlayerMapTransitionEvent(player, arenaPlayer, region.competition, competition);
+            if (!transitionEvent.callEvent()) {
+                event.setCancelled(true);
+                return;
+            }
+        }
+
+        region.set(competition);
+    }
+
+    private static boolean hasTransitionListeners() {
+        return PlayerMapTransitionEvent.getHandlerList().getRegisteredListeners().length > 0;
+    }
+
+    private static boolean contains(@Nullable LiveCompetition<?> competition, World world, int x, int y, int z) {
+        if (competition == null) {
+            return false;
+        }
+
+        Bounds bounds = competition.getMap().getBounds();
+        return bounds != null && world.equals(competition.getMap().getWorld()) && bounds.isInside(x, y, z);
+    }
+
+    /**
+     * The map a player was last in, along with its world
+     * and bounds, so that they do not need to be looked up
+     * on every movement.
+     */
+    private static class PlayerRegion {
+        private LiveCompetition<?> competition;
+        private World world;
+        private Bounds bounds;
+        private int lastEnter;
+
+        void set(@Nullable LiveCompetition<?> competition) {
+            this.lastEnter = Bukkit.getCurrentTick();
+
+            Bounds bounds = competition == null ? null : competition.getMap().getBounds();
+            if (bounds == null) {
+                // Maps without bounds cannot be moved into or out of
+                this.competition = null;
+                this.world = null;
+                this.bounds = null;
+                return;
+            }
+
+            this.competition = competition;
+            this.world = competition.getMap().getWorld();
+            this.bounds = bounds;
+        }
+
+        boolean shouldReenter() {
+            if (this.competition == null || Bukkit.getCurrentTick() - this.lastEnter < REENTER_INTERVAL) {
+                return false;
+            }
+
+            this.lastEnter = Bukkit.getCurrentTick();
+            return true;
+        }
+
+        boolean contains(World world, int x, int y, int z) {
+            return this.bounds != null && world.equals(this.world) && this.bounds.isInside(x, y, z);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package org.battleplugins.arena.competition.map;
+
+import com.sk89q.worldedit.EditSession;
+import com.sk89q.worldedit.WorldEdit;
+import com.sk89q.worldedit.WorldEditException;
+import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import com.sk89q.worldedit.math.BlockVector3;
+import org.battleplugins.arena.BattleArena;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pastes {@link MapClipboard clipboards} into worlds over multiple ticks,
+ * rather than pasting the whole clipboard within a single tick.
+ * <p>
+ * Each paste is split into batches of one chunk section (16x16x16 blocks)
+ * each, and batches are applied every tick until the configured time budget
+ * for the tick has been used up. When multiple pastes are in progress, they
+ * take turns applying a batch each, so that a large paste does not hold up
+ * the others.
+ * <p>
+ * This class is internal and should not be used by other plugins.
+ */
+@ApiStatus.Internal
+public final class PasteScheduler {
+    private final BattleArena plugin;
+    private final Deque<PasteTask> tasks = new ArrayDeque<>();
+
+    private BukkitTask ticker;
+
+    public PasteScheduler(BattleArena plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Schedules the given {@link MapClipboard} to be pasted into the given
+     * world, with the minimum corner of the clipboard placed at the given position.
+     *
+     * @param name the name of the paste, used for logging
+     * @param clipboard the clipboard to paste
+     * @param world the world to paste into
+     * @param x the X coordinate to paste at
+     * @param y the Y coordinate to paste at
+     * @param z the Z coordinate to paste at
+     * @return the scheduled paste
+     */
+    public PasteTask schedule(String name, MapClipboard clipboard, World world, int x, int y, int z) {
+        PasteTask task = new PasteTask(name, clipboard, world, x, y, z);
+        this.tasks.add(task);
+
+        if (this.ticker == null) {
+            this.ticker = Bukkit.getScheduler().runTaskTimer(this.plugin, this::tick, 1, 1);
+        }
+
+        return task;
+    }
+
+    /**
+     * Gets the number of pastes which are in progress.
+     *
+     * @return the number of pastes in progress
+     */
+    public int getPendingCount() {
+        return this.tasks.size();
+    }
+
+    /**
+     * Finishes every paste in progress immediately. Used when
+     * shutting down, as there are no more ticks to spread them over.
+     */
+    public void flush() {
+        if (this.ticker != null) {
+            this.ticker.cancel();
+            this.ticker = null;
+        }
+
+        PasteTask task;
+        while ((task = this.tasks.poll()) != null) {
+            while (task.pasteBatch()) {
+                // Paste until done
+            }
+        }
+    }
+
+    private void tick() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(1, this.plugin.getMainConfig().getPasteBudget()));
+
+        // Pastes take turns, one batch at a time, until the budget is used
+        PasteTask task;
+        while (System.nanoTime() < deadline && (task = this.tasks.poll()) != null) {
+            if (task.pasteBatch()) {
+                this.tasks.add(task);
+            }
+        }
+
+        if (this.tasks.isEmpty() && this.ticker != null) {
+            this.ticker.cancel();
+            this.ticker = null;
+        }
+    }
+
+    /**
+     * A paste which is in progress.
+     */
+    public final class PasteTask {
+        private final String name;
+        private final MapClipboard clipboard;
+        private final World world;
+        private final int x;
+        private final int y;
+        private final int z;
+
+        private final CompletableFuture<Boolean> future = new CompletableFuture<>();
+
+        // The chunk sections covered by this paste, in section coordinates
+        private final int minSectionX;
+        private final int minSectionY;
+        private final int minSectionZ;
+        private final int sectionsX;
+        private final int sectionsY;
+        private final int sectionsZ;
+
+        private final long startTime = System.nanoTime();
+        private int batch;
+        private int ticks;
+        private int lastTick = -1;
+
+        PasteTask(String name, MapClipboard clipboard, World world, int x, int y, int z) {
+            this.name = name;
+            this.clipboard = clipboard;
+            this.world = world;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+
+            this.minSectionX = x >> 4;
+            this.minSectionY = y >> 4;
+            this.minSectionZ = z >> 4;
+            this.sectionsX = ((x + clipboard.getSizeX() - 1) >> 4) - this.minSectionX + 1;
+            this.sectionsY = ((y + clipboard.getSizeY() - 1) >> 4) - this.minSectionY + 1;
+            this.sectionsZ = ((z + clipboard.getSizeZ() - 1) >> 4) - this.minSectionZ + 1;
+        }
+
+        /**
+         * Gets the future which is completed once this paste has finished,
+         * with whether the paste was successful.
+         *
+         * @return the future completed once this paste has finished
+         */
+        public CompletableFuture<Boolean> getFuture() {
+            return this.future;
+        }
+
+        /**
+         * Cancels this paste if it is still in progress, completing its
+         * future with false. Blocks which were already pasted are left
+         * in place.
+         */
+        public void cancel() {
+            if (PasteScheduler.this.tasks.remove(this)) {
+                this.future.complete(false);
+            }
+        }
+
+        /**
+         * Gets the progress of this paste, from 0 to 1.
+         *
+         * @return the progress of this paste
+         */
+        public double getProgress() {
+            return this.batch / (double) this.getBatchCount();
+        }
+
+        private int getBatchCount() {
+            return this.sectionsX * this.sectionsY * this.sectionsZ;
+        }
+
+        /**
+         * Pastes the next batch.
+         *
+         * @return whether there are batches remaining
+         */
+        private boolean pasteBatch() {
+            int currentTick = Bukkit.getCurrentTick();
+            if (currentTick != this.lastTick) {
+                this.lastTick = currentTick;
+                this.ticks++;
+            }
+
+            // Sections are pasted a chunk column at a time, from bottom to top
+            int sectionY = this.minSectionY + this.batch % this.sectionsY;
+            int sectionZ = this.minSectionZ + (this.batch / this.sectionsY) % this.sectionsZ;
+            int sectionX = this.minSectionX + this.batch / (this.sectionsY * this.sectionsZ);
+
+            int minX = Math.max(this.x, sectionX << 4);
+            int minY = Math.max(this.y, sectionY << 4);
+            int minZ = Math.max(this.z, sectionZ << 4);
+            int maxX = Math.min(this.x + this.clipboard.getSizeX() - 1, (sectionX << 4) + 15);
+            int maxY = Math.min(this.y + this.clipboard.getSizeY() - 1, (sectionY << 4) + 15);
+            int maxZ = Math.min(this.z + this.clipboard.getSizeZ() - 1, (sectionZ << 4) + 15);
+
+            boolean last = ++this.batch >= this.getBatchCount();
+            try (EditSession session = WorldEdit.getInstance().newEditSession(BukkitAdapter.adapt(this.world))) {
+                for (int blockY = minY; blockY <= maxY; blockY++) {
+                    for (int blockZ = minZ; blockZ <= maxZ; blockZ++) {
+                        for (int blockX = minX; blockX <= maxX; blockX++) {
+                            session.setBlock(BlockVector3.at(blockX, blockY, blockZ), this.clipboard.getBlock(blockX - this.x, blockY - this.y, blockZ - this.z));
+                        }
+                    }
+                }
+
+                // Entities go in once all the blocks they may stand on are in place
+                if (last) {
+                    this.clipboard.pasteEntities(session, this.x, this.y, this.z);
+                }
+            } catch (WorldEditException e) {
+                PasteScheduler.this.plugin.error("Failed to paste {} into world {}!", this.name, this.world.getName(), e);
+                this.future.complete(false);
+                return false;
+            }
+
+            if (last) {
+                PasteScheduler.this.plugin.debug("Pasted {} in {} batch(es) over {} tick(s), taking {}ms.",
+                        this.name, this.getBatchCount(), this.ticks, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.startTime)
+                );
+
+                this.future.complete(true);
+                return false;
+            }
+
+            return true;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package org.battleplugins.arena.competition.map;
+
+import org.battleplugins.arena.BattleArena;
+import org.battleplugins.arena.competition.map.options.Bounds;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * A copy of the region files of a {@link LiveCompetitionMap} which cover
+ * its {@link Bounds}, from which new worlds for copies of the map are created
+ * by copying files rather than pasting blocks.
+ * <p>
+ * Region files are copied using a reflink (a copy-on-write clone of the
+ * file) where the file system supports it, and a regular file copy
+ * otherwise. Hard links are never used, as the server writes to region
+ * files in place, which would modify the template through every link.
+ * <p>
+ * Files are copied on a background thread, so that neither preparing a
+ * template nor creating a world from it stalls the main thread.
+ * <p>
+ * This class is internal and should not be used by other plugins.
+ */
+@ApiStatus.Internal
+public final class RegionTemplate {
+    private static final String[] REGION_FOLDERS = { "region", "entities" };
+    private static final Path TEMPLATES_PATH = Bukkit.getWorldContainer().toPath().resolve(".ba-templates");
+
+    // Copies one template at a time, to bound how much disk I/O is spent at once
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "BattleArena Region Copier");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Whether reflinks are supported, or null if not yet known.
+    // Only accessed from the copying thread
+    private static Boolean reflinkSupported;
+
+    private final Path path;
+
+    private RegionTemplate(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Creates a new world folder with the given name in the background,
+     * containing a copy of the region files of this template.
+     *
+     * @param worldName the name of the world to create the folder for
+     * @return a future completed with whether the files were copied
+     */
+    public CompletableFuture<Boolean> cloneInto(String worldName) {
+        Path worldPath = Bukkit.getWorldContainer().toPath().resolve(worldName);
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                for (String folder : REGION_FOLDERS) {
+                    Path source = this.path.resolve(folder);
+                    if (Files.notExists(source)) {
+                        continue;
+                    }
+
+                    Path target = Files.createDirectories(worldPath.resolve(folder));
+                    try (Stream<Path> files = Files.list(source)) {
+                        for (Path file : files.toList()) {
+                            copy(file, target.resolve(file.getFileName()));
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                BattleArena.getInstance().error("Failed to copy region files into world {}!", worldName, e);
+                return false;
+            }
+
+            BattleArena.getInstance().debug("Copied region files into world {} in {}ms.", worldName, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return true;
+        }, EXECUTOR);
+    }
+
+    /**
+     * Deletes this template in the background.
+     */
+    public void delete() {
+        BattleArena.getInstance().getDeletionService().delete(this.path);
+    }
+
+    /**
+     * Prepares a template from the region files of the given map.
+     * <p>
+     * The world of the map is saved on the calling thread, which must be
+     * the main thread, and the region files are then copied in the background.
+     *
+     * @param map the map to prepare the template for
+     * @return a future completed with the prepared template, or with
+     *         null if it could not be prepared
+     */
+    public static CompletableFuture<@Nullable RegionTemplate> prepare(LiveCompetitionMap map) {
+        Bounds bounds = map.getBounds();
+        World world = map.getWorld();
+        if (bounds == null || world == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // Make sure the region files hold the latest state of the map
+        world.save();
+
+        Path worldPath = getDimensionPath(world);
+        Path path = TEMPLATES_PATH.resolve(map.getArena().getName().toLowerCase(Locale.ROOT) + "-" + map.getName().toLowerCase(Locale.ROOT) + "-" + System.nanoTime());
+        List<String> regionFiles = getRegionFiles(bounds);
+        String mapName = map.getName();
+
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                for (String folder : REGION_FOLDERS) {
+                    Path target = Files.createDirectories(path.resolve(folder));
+                    for (String regionFile : regionFiles) {
+                        Path source = worldPath.resolve(folder).resolve(regionFile);
+                        if (Files.exists(source)) {
+                            Files.copy(source, target.resolve(regionFile), StandardCopyOption.REPLACE_EXISTING);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                BattleArena.getInstance().error("Failed to prepare region files for map {}!", mapName, e);
+                BattleArena.getInstance().getDeletionService().delete(path);
+                return null;
+            }
+
+            BattleArena.getInstance().debug("Prepared {} region file(s) for map {} in {}ms.", regionFiles.size(), mapName, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return new RegionTemplate(path);
+        }, EXECUTOR);
+    }
+
+    /**
+     * Deletes every template, such as those left over from a previous run.
+     */
+    public static void deleteAll() {
+        BattleArena.getInstance().getDeletionService().delete(TEMPLATES_PATH);
+    }
+
+    private static List<String> getRegionFiles(Bounds bounds) {
+        List<String> regionFiles = new ArrayList<>();
+        for (int regionX = bounds.getMinX() >> 9; regionX <= bounds.getMaxX() >> 9; regionX++) {
+            for (int regionZ = bounds.getMinZ() >> 9; regionZ <= bounds.getMaxZ() >> 9; regionZ++) {
+                regionFiles.add("r." + regionX + "." + regionZ + ".mca");
+            }
+        }
+
+        return regionFiles;
+    }
+
+    private static Path getDimensionPath(World world) {
+        Path worldPath = world.getWorldFolder().toPath();
+        return switch (world.getEnvironment()) {
+            case NETHER -> worldPath.resolve("DIM-1");
+            case THE_END -> worldPath.resolve("DIM1");
+            default -> worldPath;
+        };
+    }
+
+    private static void copy(Path source, Path target) throws IOException {
+        // A failed reflink of a single file, such as when the target
+        // already exists, falls back to a regular copy of that file only
+        if (isReflinkSupported() && reflink(source, target)) {
+            return;
+        }
+
+        Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static boolean isReflinkSupported() {
+        if (reflinkSupported != null) {
+            return reflinkSupported;
+        }
+
+        // Probe once using scratch files on the same file system as the templates
+        boolean supported = false;
+        Path probe = TEMPLATES_PATH.resolve(".reflink-probe");
+        Path probeClone = TEMPLATES_PATH.resolve(".reflink-probe-clone");
+        try {
+            Files.createDirectories(TEMPLATES_PATH);
+            Files.deleteIfExists(probeClone);
+            Files.write(probe, new byte[] { 0 });
+
+            supported = reflink(probe, probeClone);
+        } catch (IOException e) {
+            BattleArena.getInstance().debug("Failed to probe for reflink support: {}", e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(probe);
+                Files.deleteIfExists(probeClone);
+            } catch (IOException ignored) {
+            }
+        }
+
+        reflinkSupported = supported;
+        BattleArena.getInstance().debug("Reflinks are {}supported for copying region files.", supported ? "" : "not ");
+        return supported;
+    }
+
+    private static boolean reflink(Path source, Path target) {
+        if (!System.getProperty("os.name").toLowerCase(Locale.ROOT).contains("linux")) {
+            return false;
+        }
+
+        try {
+            Process process = new ProcessBuilder("cp", "--reflink=always", source.toString(), target.toString())
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+
+            if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                process.destroy();
+                return false;
+            }
+
+            return process.exitValue() == 0;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
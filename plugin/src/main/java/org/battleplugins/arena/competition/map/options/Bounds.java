@@ -127,6 +127,18 @@ public class Bounds {
         return x >= this.minX && x <= this.maxX && z >= this.minZ && z <= this.maxZ;
     }
 
+    /**
+     * Returns a copy of these bounds moved by the given offset.
+     *
+     * @param x the offset on the X axis
+     * @param y the offset on the Y axis
+     * @param z the offset on the Z axis
+     * @return the moved bounds
+     */
+    public Bounds translate(int x, int y, int z) {
+        return new Bounds(this.minX + x, this.minY + y, this.minZ + z, this.maxX + x, this.maxY + y, this.maxZ + z);
+    }
+
     public BoundingBox toBoundingBox() {
         return new BoundingBox(
                 this.minX,
@@ -4,6 +4,7 @@ import org.battleplugins.arena.config.ArenaOption;
 import org.battleplugins.arena.util.PositionWithRotation;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -43,6 +44,30 @@ public class Spawns {
         return this.teamSpawns;
     }
 
+    /**
+     * Returns a copy of these spawns moved by the given offset.
+     *
+     * @param x the offset on the X axis
+     * @param y the offset on the Y axis
+     * @param z the offset on the Z axis
+     * @return the moved spawns
+     */
+    public final Spawns translate(double x, double y, double z) {
+        Map<String, TeamSpawns> teamSpawns = null;
+        if (this.teamSpawns != null) {
+            teamSpawns = new HashMap<>();
+            for (Map.Entry<String, TeamSpawns> entry : this.teamSpawns.entrySet()) {
+                teamSpawns.put(entry.getKey(), entry.getValue().translate(x, y, z));
+            }
+        }
+
+        return new Spawns(
+                this.waitroomSpawn == null ? null : this.waitroomSpawn.translate(x, y, z),
+                this.spectatorSpawn == null ? null : this.spectatorSpawn.translate(x, y, z),
+                teamSpawns
+        );
+    }
+
     public final int getSpawnPointCount() {
         if (this.teamSpawns == null) {
             return 0;
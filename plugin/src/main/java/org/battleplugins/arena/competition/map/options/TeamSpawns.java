@@ -25,4 +25,23 @@ public class TeamSpawns {
     public final List<PositionWithRotation> getSpawns() {
         return this.spawns;
     }
+
+    /**
+     * Returns a copy of these spawns moved by the given offset.
+     *
+     * @param x the offset on the X axis
+     * @param y the offset on the Y axis
+     * @param z the offset on the Z axis
+     * @return the moved spawns
+     */
+    public final TeamSpawns translate(double x, double y, double z) {
+        if (this.spawns == null) {
+            return new TeamSpawns(null);
+        }
+
+        return new TeamSpawns(this.spawns.stream()
+                .map(spawn -> spawn.translate(x, y, z))
+                .toList()
+        );
+    }
 }
@@ -9,9 +9,12 @@ import org.battleplugins.arena.config.context.EventContextProvider;
 import org.battleplugins.arena.config.context.OptionContextProvider;
 import org.battleplugins.arena.event.ArenaEventType;
 import org.battleplugins.arena.event.ArenaListener;
+import org.battleplugins.arena.event.EventInterest;
+import org.battleplugins.arena.event.action.ActionPipeline;
 import org.battleplugins.arena.event.action.EventAction;
 import org.battleplugins.arena.options.ArenaOptionType;
 import org.battleplugins.arena.util.Describable;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
@@ -51,6 +54,9 @@ public abstract class CompetitionPhase<T extends Competition<T>> implements Comp
     )
     protected Map<ArenaOptionType<?>, org.battleplugins.arena.options.ArenaOption> options;
 
+    private EventInterest eventInterest;
+    private Map<ArenaEventType<?>, ActionPipeline> pipelines;
+
     // API methods
 
     /**
@@ -66,6 +72,10 @@ public abstract class CompetitionPhase<T extends Competition<T>> implements Comp
     // Internal methods (cannot be overridden by extending plugins)
 
     void start() {
+        // Compile the actions of this phase before any events are called
+        this.getEventInterest();
+        this.pipelines = ActionPipeline.compile(this.competition.getArena().getEventActions(), this.eventActions);
+
         this.onStart();
     }
 
@@ -106,6 +116,42 @@ public abstract class CompetitionPhase<T extends Competition<T>> implements Comp
         return Map.copyOf(this.eventActions);
     }
 
+    /**
+     * Gets the {@link ArenaEventType event types} this phase has
+     * {@link EventAction actions} for.
+     * <p>
+     * This method is internal and should not be used by other plugins.
+     *
+     * @return the event types this phase has actions for
+     */
+    @ApiStatus.Internal
+    public final EventInterest getEventInterest() {
+        if (this.eventInterest == null) {
+            this.eventInterest = this.eventActions == null ? EventInterest.NONE : EventInterest.of(this.eventActions.keySet());
+        }
+
+        return this.eventInterest;
+    }
+
+    /**
+     * Gets the {@link ActionPipeline} to run when an event of the given
+     * {@link ArenaEventType} occurs during this phase, which includes
+     * the actions of both the arena and this phase.
+     * <p>
+     * This method is internal and should not be used by other plugins.
+     *
+     * @param eventType the event type
+     * @return the action pipeline for the event type
+     */
+    @ApiStatus.Internal
+    public final ActionPipeline getPipeline(ArenaEventType<?> eventType) {
+        if (this.pipelines == null) {
+            this.pipelines = ActionPipeline.compile(this.competition.getArena().getEventActions(), this.eventActions);
+        }
+
+        return this.pipelines.getOrDefault(eventType, ActionPipeline.EMPTY);
+    }
+
     /**
      * Gets the {@link CompetitionPhaseType} of this phase.
      *
@@ -40,6 +40,9 @@ public class PhaseManager<T extends Competition<T>> {
         this.currentPhase = this.arena.createPhase(phaseType, this.competition);
         this.arena.getEventManager().registerEvents(this.currentPhase);
         this.currentPhase.start();
+
+        // Phases decide whether players can join the competition
+        this.arena.getPlugin().getCompetitionManager().updateCompetition(this.arena, this.competition);
     }
 
     /**
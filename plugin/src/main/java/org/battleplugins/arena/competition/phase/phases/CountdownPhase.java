@@ -2,6 +2,7 @@ package org.battleplugins.arena.competition.phase.phases;
 
 import org.battleplugins.arena.ArenaPlayer;
 import org.battleplugins.arena.competition.LiveCompetition;
+import org.battleplugins.arena.competition.map.ChunkPrefetch;
 import org.battleplugins.arena.competition.phase.LiveCompetitionPhase;
 import org.battleplugins.arena.config.ArenaOption;
 import org.battleplugins.arena.event.ArenaEventHandler;
@@ -19,6 +20,9 @@ import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
 public class CountdownPhase<T extends LiveCompetition<T>> extends LiveCompetitionPhase<T> {
+    // Ticks to keep spawn chunks loaded once the countdown ends,
+    // giving players time to be teleported into them
+    private static final long RELEASE_DELAY = 100L;
 
     @ArenaOption(name = "revert-phase", description = "Whether the phase should revert if there are not enough players to start.")
     private boolean revertPhase = true;
@@ -31,12 +35,22 @@ public class CountdownPhase<T extends LiveCompetition<T>> extends LiveCompetitio
 
     private long countdown;
     private BukkitTask countdownTask;
+    private ChunkPrefetch spawnChunks;
 
     @Override
     public void onStart() {
+        // Load the spawns players will be teleported to once the
+        // countdown ends, so the teleports do not load them on the main thread
+        this.spawnChunks = ChunkPrefetch.spawns(this.competition.getArena().getPlugin().getCompetitionManager().getChunkTickets(), this.competition.getMap());
+
         this.countdown = this.countdownTime.toSeconds();
         this.countdownTask = Bukkit.getScheduler().runTaskTimer(this.competition.getArena().getPlugin(), () -> {
             if (this.countdown == 0) {
+                // Wait for the spawns to finish loading
+                if (!this.spawnChunks.getFuture().isDone()) {
+                    return;
+                }
+
                 this.advanceToNextPhase();
                 return;
             }
@@ -54,6 +68,7 @@ public class CountdownPhase<T extends LiveCompetition<T>> extends LiveCompetitio
 
         if (!waitingPhase.hasEnoughPlayersToStart()) {
             this.countdownTask.cancel();
+            this.spawnChunks.release();
 
             this.setPhase(this.previousPhase.getType(), false);
             for (ArenaPlayer player : this.competition.getPlayers()) {
@@ -80,6 +95,13 @@ public class CountdownPhase<T extends LiveCompetition<T>> extends LiveCompetitio
     @Override
     public void onComplete() {
         this.countdownTask.cancel();
+
+        ChunkPrefetch spawnChunks = this.spawnChunks;
+        if (this.competition.getArena().getPlugin().isEnabled()) {
+            Bukkit.getScheduler().runTaskLater(this.competition.getArena().getPlugin(), spawnChunks::release, RELEASE_DELAY);
+        } else {
+            spawnChunks.release();
+        }
     }
 
     @Override
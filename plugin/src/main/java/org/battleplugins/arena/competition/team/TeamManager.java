@@ -7,8 +7,10 @@ import org.battleplugins.arena.competition.map.LiveCompetitionMap;
 import org.battleplugins.arena.competition.map.options.Spawns;
 import org.battleplugins.arena.competition.map.options.TeamSpawns;
 import org.battleplugins.arena.options.Teams;
+import org.battleplugins.arena.stat.ArenaStat;
 import org.battleplugins.arena.stat.StatHolder;
 import org.battleplugins.arena.team.ArenaTeam;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
@@ -56,11 +58,20 @@ public class TeamManager {
      * @param player the player to join
      */
     public void joinTeam(ArenaPlayer player, ArenaTeam team) {
-        if (player.getTeam() != null) {
-            this.teams.get(player.getTeam()).remove(player);
+        if (player.getTeam() != null && this.teams.get(player.getTeam()).remove(player)) {
+            TeamStatHolder stats = this.stats.get(player.getTeam());
+            if (stats != null) {
+                stats.removePlayer(player);
+            }
+        }
+
+        if (this.teams.get(team).add(player)) {
+            TeamStatHolder stats = this.stats.get(team);
+            if (stats != null) {
+                stats.addPlayer(player);
+            }
         }
 
-        this.teams.get(team).add(player);
         player.setTeam(team);
     }
 
@@ -85,10 +96,42 @@ public class TeamManager {
             return;
         }
 
-        players.remove(player);
+        if (players.remove(player)) {
+            TeamStatHolder stats = this.stats.get(team);
+            if (stats != null) {
+                stats.removePlayer(player);
+            }
+        }
+
         player.setTeam(null);
     }
 
+    /**
+     * Updates the stat totals of the team the given {@link ArenaPlayer}
+     * is on after one of their stats has changed.
+     * <p>
+     * This method is internal and should not be used by other plugins.
+     *
+     * @param player the player whose stat changed
+     * @param stat the stat that changed
+     * @param oldValue the old value of the stat
+     * @param newValue the new value of the stat
+     */
+    @ApiStatus.Internal
+    public void updateStat(ArenaPlayer player, ArenaStat<?> stat, @Nullable Object oldValue, @Nullable Object newValue) {
+        ArenaTeam team = player.getTeam();
+        if (team == null) {
+            return;
+        }
+
+        // Totals are computed from the players on the team when first requested,
+        // so there is nothing to keep up to date until then
+        TeamStatHolder stats = this.stats.get(team);
+        if (stats != null && this.getPlayersOnTeam(team).contains(player)) {
+            stats.updateStat(stat, oldValue, newValue);
+        }
+    }
+
     /**
      * Returns the number of players on the given {@link ArenaTeam}.
      *
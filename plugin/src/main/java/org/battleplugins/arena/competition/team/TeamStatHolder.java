@@ -1,26 +1,33 @@
 package org.battleplugins.arena.competition.team;
 
 import org.battleplugins.arena.ArenaPlayer;
+import org.battleplugins.arena.event.ArenaEventType;
 import org.battleplugins.arena.event.player.ArenaStatChangeEvent;
 import org.battleplugins.arena.stat.ArenaStat;
 import org.battleplugins.arena.stat.StatHolder;
+import org.battleplugins.arena.stat.StatSlots;
 import org.battleplugins.arena.team.ArenaTeam;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.function.Function;
 
 public class TeamStatHolder implements StatHolder {
     private final TeamManager teamManager;
     private final ArenaTeam team;
 
-    private final Map<ArenaStat<?>, Object> globalStats = new HashMap<>();
+    private final StatSlots globalStats = new StatSlots();
+
+    // The totals of the stats of every player on the team, which
+    // are kept up to date as players change stats or teams
+    private final StatSlots totals = new StatSlots();
 
     public TeamStatHolder(TeamManager teamManager, ArenaTeam team) {
         this.teamManager = teamManager;
         this.team = team;
+
+        for (ArenaPlayer player : teamManager.getPlayersOnTeam(team)) {
+            this.addPlayer(player);
+        }
     }
 
     @Override
@@ -28,61 +35,29 @@ public class TeamStatHolder implements StatHolder {
         return Optional.ofNullable(this.getStat(stat));
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public <T> T getStat(ArenaStat<T> stat) {
-        if (this.globalStats.containsKey(stat)) {
-            return (T) this.globalStats.get(stat);
+        if (this.globalStats.has(stat)) {
+            return this.globalStats.get(stat);
         }
 
-        if (!Number.class.isAssignableFrom(stat.getType())) {
+        if (!isAccumulated(stat.getType())) {
             throw new IllegalArgumentException("Don't know how to accumulate type " + stat.getType());
         }
 
-        Set<ArenaPlayer> players = this.teamManager.getPlayersOnTeam(this.team);
-        Number total = null;
-        for (ArenaPlayer player : players) {
-            T playerStat = player.getStat(stat);
-            if (playerStat == null) {
-                continue;
-            }
-
-            if (total == null) {
-                total = (Number) playerStat;
-            } else {
-                Class<T> type = stat.getType();
-                if (type.equals(Integer.class)) {
-                    total = total.intValue() + (Integer) playerStat;
-                } else if (type.equals(Double.class)) {
-                    total = total.doubleValue() + (Double) playerStat;
-                } else if (type.equals(Float.class)) {
-                    total = total.floatValue() + (Float) playerStat;
-                } else if (type.equals(Long.class)) {
-                    total = total.longValue() + (Long) playerStat;
-                } else if (type.equals(Short.class)) {
-                    total = total.shortValue() + (Short) playerStat;
-                } else if (type.equals(Byte.class)) {
-                    total = total.byteValue() + (Byte) playerStat;
-                } else {
-                    throw new IllegalArgumentException("Don't know how to accumulate type " + stat.getType());
-                }
-            }
-        }
-
-        return (T) total;
+        return this.totals.get(stat);
     }
 
     @Override
     public <T> void setStat(ArenaStat<T> stat, T value) {
-        this.globalStats.put(stat, value);
+        this.globalStats.set(stat, value);
     }
 
     @Override
     public <T> void computeStat(ArenaStat<T> stat, Function<? super T, ? extends T> computeFunction) {
-        this.globalStats.compute(stat, (key, oldValue) -> {
-            T newValue = computeFunction.apply((T) oldValue);
-            return this.statChange(stat, (T) oldValue, newValue);
-        });
+        T oldValue = this.globalStats.get(stat);
+        T newValue = computeFunction.apply(oldValue);
+        this.globalStats.set(stat, this.statChange(stat, oldValue, newValue));
     }
 
     @Override
@@ -94,9 +69,32 @@ public class TeamStatHolder implements StatHolder {
         return this.team;
     }
 
+    void addPlayer(ArenaPlayer player) {
+        player.forEachStat((stat, value) -> this.updateStat(stat, null, value));
+    }
+
+    void removePlayer(ArenaPlayer player) {
+        player.forEachStat((stat, value) -> this.updateStat(stat, value, null));
+    }
+
+    void updateStat(ArenaStat<?> stat, Object oldValue, Object newValue) {
+        if (isAccumulated(stat.getType())) {
+            this.totals.accumulate(stat, oldValue, newValue);
+        }
+    }
+
     private <T> T statChange(ArenaStat<T> stat, T oldValue, T newValue) {
+        if (!this.teamManager.getCompetition().getArena().getEventManager().isListening(ArenaEventType.ON_STAT_CHANGE, this.teamManager.getCompetition())) {
+            return newValue;
+        }
+
         ArenaStatChangeEvent<T> event = new ArenaStatChangeEvent<>(this.teamManager.getCompetition(), this, stat, oldValue, newValue);
         this.teamManager.getCompetition().getArena().getEventManager().callEvent(event);
         return event.getNewValue();
     }
+
+    private static boolean isAccumulated(Class<?> type) {
+        return type.equals(Integer.class) || type.equals(Double.class) || type.equals(Float.class)
+                || type.equals(Long.class) || type.equals(Short.class) || type.equals(Byte.class);
+    }
 }
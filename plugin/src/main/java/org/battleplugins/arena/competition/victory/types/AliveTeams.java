@@ -0,0 +1,83 @@
+package org.battleplugins.arena.competition.victory.types;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The alive players of a competition, along with the number of
+ * alive players on each team, so that the number of teams with
+ * alive players is known without looking at every player.
+ * <p>
+ * Players without a team are counted together under no team.
+ *
+ * @param <P> the type of the players
+ * @param <T> the type of the teams
+ */
+class AliveTeams<P, T> {
+    // The alive players, and the team each is counted under
+    private final Map<P, T> players = new HashMap<>();
+    private final Map<T, Integer> teamCounts = new HashMap<>();
+
+    /**
+     * Counts the given player as alive on the given team, moving
+     * them from the team they were counted on before, if any.
+     *
+     * @param player the alive player
+     * @param team the team of the player
+     */
+    void put(P player, @Nullable T team) {
+        this.remove(player);
+
+        this.players.put(player, team);
+        this.teamCounts.merge(team, 1, Integer::sum);
+    }
+
+    /**
+     * Stops counting the given player as alive.
+     *
+     * @param player the player
+     */
+    void remove(P player) {
+        if (!this.players.containsKey(player)) {
+            return;
+        }
+
+        T team = this.players.remove(player);
+        this.teamCounts.computeIfPresent(team, (key, count) -> count == 1 ? null : count - 1);
+    }
+
+    /**
+     * Gets the alive players.
+     *
+     * @return the alive players
+     */
+    Set<P> getPlayers() {
+        return this.players.keySet();
+    }
+
+    /**
+     * Gets the number of alive players.
+     *
+     * @return the number of alive players
+     */
+    int getPlayerCount() {
+        return this.players.size();
+    }
+
+    /**
+     * Gets the number of teams with alive players.
+     *
+     * @return the number of teams with alive players
+     */
+    int getTeamCount() {
+        return this.teamCounts.size();
+    }
+
+    void clear() {
+        this.players.clear();
+        this.teamCounts.clear();
+    }
+}
@@ -8,14 +8,25 @@ import org.battleplugins.arena.competition.victory.VictoryCondition;
 import org.battleplugins.arena.config.ArenaOption;
 import org.battleplugins.arena.event.ArenaEventHandler;
 import org.battleplugins.arena.event.player.ArenaDeathEvent;
+import org.battleplugins.arena.event.player.ArenaJoinEvent;
 import org.battleplugins.arena.event.player.ArenaLeaveEvent;
+import org.battleplugins.arena.event.player.ArenaTeamJoinEvent;
+import org.battleplugins.arena.event.player.ArenaTeamLeaveEvent;
 import org.battleplugins.arena.stat.ArenaStats;
 import org.battleplugins.arena.team.ArenaTeam;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.HashSet;
 import java.util.Set;
-import java.util.stream.Collectors;
 
+/**
+ * A victory condition which is met once at most a given amount
+ * of teams have players that are still alive.
+ * <p>
+ * The alive players of each team are tracked as players die, leave
+ * and change teams, so checking the condition does not need to look
+ * at every player in the competition.
+ */
 public class TeamsAliveCondition<T extends LiveCompetition<T>> extends VictoryCondition<T> {
 
     @ArenaOption(name = "amount", description = "The amount of teams that must be alive for this condition to be met.", required = true)
@@ -23,24 +34,48 @@ public class TeamsAliveCondition<T extends LiveCompetition<T>> extends VictoryCo
 
     private boolean active;
 
+    private final AliveTeams<ArenaPlayer, ArenaTeam> alive = new AliveTeams<>();
+
+    @ArenaEventHandler
+    public void onJoin(ArenaJoinEvent event) {
+        this.update(event.getArenaPlayer(), event.getArenaPlayer().getTeam());
+    }
+
     @ArenaEventHandler
     public void onDeath(ArenaDeathEvent event) {
+        // Deaths have already been counted by this point
+        this.update(event.getArenaPlayer(), event.getArenaPlayer().getTeam());
         this.checkTeamsAlive();
     }
 
     @ArenaEventHandler
     public void onLeave(ArenaLeaveEvent event) {
+        this.alive.remove(event.getArenaPlayer());
         this.checkTeamsAlive();
     }
 
+    @ArenaEventHandler
+    public void onTeamLeave(ArenaTeamLeaveEvent event) {
+        // Called before the team of the player changes
+        this.update(event.getArenaPlayer(), null);
+    }
+
+    @ArenaEventHandler
+    public void onTeamJoin(ArenaTeamJoinEvent event) {
+        // Called before the team of the player changes
+        this.update(event.getArenaPlayer(), event.getTeam());
+    }
+
     @Override
     public void onStart() {
         this.active = true;
+        this.rebuild();
     }
 
     @Override
     public void onEnd() {
         this.active = false;
+        this.alive.clear();
     }
 
     @Override
@@ -58,10 +93,10 @@ public class TeamsAliveCondition<T extends LiveCompetition<T>> extends VictoryCo
             return;
         }
 
-        AliveTeamsResult aliveTeams = this.getAliveTeams();
-        Set<ArenaPlayer> victors = aliveTeams.aliveTeams() <= this.amount ? aliveTeams.players() : Set.of();
-        if (!victors.isEmpty() || aliveTeams.aliveTeams() == 0) {
-            this.advanceToNextPhase(victors);
+        // Only collect the victors once the condition is met
+        int aliveTeams = this.getAliveTeamCount();
+        if (aliveTeams <= this.amount) {
+            this.advanceToNextPhase(new HashSet<>(this.alive.getPlayers()));
         }
 
         // If the game has no players or there are no alive teams, just end the game
@@ -71,44 +106,40 @@ public class TeamsAliveCondition<T extends LiveCompetition<T>> extends VictoryCo
     }
 
     public AliveTeamsResult getAliveTeams() {
-        // If this is a non-team game, then we can just check the
-        // deaths on the number of players instead
-        Arena arena = this.competition.getArena();
-        boolean livesEnabled = arena.getLives() != null && arena.getLives().isEnabled();
-        if (arena.getTeams().isNonTeamGame()) {
-            Set<ArenaPlayer> alivePlayers = new HashSet<>();
-            int aliveTeams = 0;
-            for (ArenaPlayer player : this.competition.getPlayers()) {
-                if (!isAlive(player, livesEnabled)) {
-                    continue;
-                }
-
-                alivePlayers.add(player);
-                aliveTeams++;
-            }
-
-            return new AliveTeamsResult(alivePlayers, aliveTeams);
+        // Players are only tracked while the condition is active
+        if (!this.active) {
+            this.rebuild();
         }
 
-        Set<ArenaTeam> aliveTeams = new HashSet<>();
+        return new AliveTeamsResult(new HashSet<>(this.alive.getPlayers()), this.getAliveTeamCount());
+    }
+
+    private int getAliveTeamCount() {
+        // If this is a non-team game, then every alive player counts as a team
+        if (this.competition.getArena().getTeams().isNonTeamGame()) {
+            return this.alive.getPlayerCount();
+        }
+
+        return this.alive.getTeamCount();
+    }
+
+    private void rebuild() {
+        this.alive.clear();
+
         for (ArenaPlayer player : this.competition.getPlayers()) {
-            if (!isAlive(player, livesEnabled)) {
-                continue;
-            }
+            this.update(player, player.getTeam());
+        }
+    }
 
-            aliveTeams.add(player.getTeam());
+    private void update(ArenaPlayer player, @Nullable ArenaTeam team) {
+        Arena arena = this.competition.getArena();
+        boolean livesEnabled = arena.getLives() != null && arena.getLives().isEnabled();
+        if (player.getCompetition() != this.competition || !isAlive(player, livesEnabled)) {
+            this.alive.remove(player);
+            return;
         }
 
-        return new AliveTeamsResult(
-                aliveTeams.stream()
-                        .flatMap(team -> this.competition.getTeamManager()
-                                .getPlayersOnTeam(team)
-                                .stream()
-                                .filter(player -> isAlive(player, livesEnabled))
-                        )
-                        .collect(Collectors.toSet()),
-                aliveTeams.size()
-        );
+        this.alive.put(player, team);
     }
 
     private static boolean isAlive(ArenaPlayer player, boolean livesEnabled) {
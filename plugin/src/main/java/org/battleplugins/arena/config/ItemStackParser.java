@@ -76,6 +76,35 @@ public final class ItemStackParser implements ArenaConfigParser.Parser<ItemStack
         }
     }
 
+    /**
+     * Checks whether the given item contents describe a vanilla item,
+     * rather than an item created by a third party.
+     * <p>
+     * Items created by third parties may differ each time they are
+     * created (i.e. randomly rolled stats), so only vanilla items
+     * can safely be created once and copied afterwards.
+     *
+     * @param contents the contents of the item
+     * @return whether the item is a vanilla item
+     */
+    public static boolean isVanilla(String contents) {
+        SingularValueParser.ArgumentBuffer buffer;
+        try {
+            buffer = SingularValueParser.parseNamed(contents, SingularValueParser.BraceStyle.CURLY, ';');
+        } catch (ParseException e) {
+            // Minecraft's native format only describes vanilla items
+            return true;
+        }
+
+        if (!buffer.hasNext()) {
+            return true;
+        }
+
+        SingularValueParser.Argument root = buffer.pop();
+        NamespacedKey key = NamespacedKey.fromString(root.value());
+        return !root.key().equals("root") || key == null || key.getNamespace().equals(NamespacedKey.MINECRAFT);
+    }
+
     public static ItemStack deserializeSingularVanilla(NamespacedKey itemType, SingularValueParser.ArgumentBuffer buffer) throws ParseException {
         Material material = Material.matchMaterial(itemType.toString());
         if (material == null) {
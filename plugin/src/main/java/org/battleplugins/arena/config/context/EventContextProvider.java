@@ -100,8 +100,15 @@ public class EventContextProvider implements ContextProvider<Map<ArenaEventType<
                 }
 
                 try {
-                    EventAction action = actionType.create(params);
+                    EventAction action = actionType.parse(params);
                     eventActions.computeIfAbsent(eventType, e -> new ArrayList<>()).add(action);
+                } catch (ParseException e) {
+                    throw e.context("Section", configuration.getName())
+                            .context("Action", root.value())
+                            .context("Params", params.isEmpty() ? "none" : params.toString())
+                            .type(EventActionType.class)
+                            .userError()
+                            .sourceFile(sourceFile);
                 } catch (IllegalArgumentException e) {
                     throw new ParseException("Failed to create event action " + root.value() + " with params " + params, e)
                             .context("Section", configuration.getName())
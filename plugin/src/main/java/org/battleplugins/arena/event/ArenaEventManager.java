@@ -1,23 +1,22 @@
 package org.battleplugins.arena.event;
 
-import org.apache.commons.lang3.tuple.Pair;
 import org.battleplugins.arena.Arena;
 import org.battleplugins.arena.ArenaPlayer;
-import org.battleplugins.arena.BattleArena;
 import org.battleplugins.arena.competition.Competition;
 import org.battleplugins.arena.competition.CompetitionLike;
 import org.battleplugins.arena.competition.LiveCompetition;
-import org.battleplugins.arena.event.action.EventAction;
-import org.battleplugins.arena.event.action.types.DelayAction;
+import org.battleplugins.arena.event.ArenaEventRouter.HandlerKey;
+import org.battleplugins.arena.event.HandlerPlan.HandlerMethod;
+import org.battleplugins.arena.event.HandlerPlan.ParameterKind;
+import org.battleplugins.arena.event.action.ActionPipeline;
 import org.battleplugins.arena.event.arena.ArenaLoseEvent;
 import org.battleplugins.arena.event.arena.ArenaVictoryEvent;
 import org.battleplugins.arena.event.player.ArenaPlayerEvent;
-import org.battleplugins.arena.resolver.Resolver;
 import org.battleplugins.arena.util.PolymorphicHashMap;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
+import org.bukkit.event.Cancellable;
 import org.bukkit.event.Event;
-import org.bukkit.event.EventException;
 import org.bukkit.event.HandlerList;
 import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.block.BlockCanBuildEvent;
@@ -25,17 +24,20 @@ import org.bukkit.event.block.BlockPlaceEvent;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.entity.EntityEvent;
 import org.bukkit.event.player.PlayerEvent;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
@@ -73,9 +75,15 @@ public class ArenaEventManager {
         }
     };
 
-    private final List<ArenaListener> trackedListeners = new ArrayList<>();
+    private final Map<HandlerKey, List<RegisteredHandler>> arenaHandlers = new ConcurrentHashMap<>();
+    private final Map<Competition<?>, Map<HandlerKey, List<RegisteredHandler>>> competitionHandlers = new ConcurrentHashMap<>();
+    private final Map<ArenaListener, List<RegisteredHandler>> trackedListeners = new HashMap<>();
+    private final Map<Class<?>, Integer> handlerCounts = new ConcurrentHashMap<>();
     private final Arena arena;
 
+    private volatile EventInterest handlerInterest;
+    private Map<ArenaEventType<?>, ActionPipeline> arenaPipelines;
+
     public ArenaEventManager(Arena arena) {
         this.arena = arena;
     }
@@ -92,6 +100,8 @@ public class ArenaEventManager {
     @SuppressWarnings("unchecked")
     public <E extends Event> void registerArenaResolver(Class<? extends E> eventClass, Function<E, LiveCompetition<?>> resolver) {
         this.arenaEventResolvers.computeIfAbsent(eventClass, key -> new ArrayList<>()).add((Function<Event, LiveCompetition<?>>) resolver);
+
+        ArenaEventRouter.get().trackResolvers(this);
     }
 
     /**
@@ -103,6 +113,25 @@ public class ArenaEventManager {
         return this.arena;
     }
 
+    /**
+     * Returns whether anything is interested in events of the given
+     * {@link ArenaEventType} occurring in the given {@link Competition}.
+     * <p>
+     * Something is interested in an event if the arena or the current
+     * phase of the competition has actions for it, or if an
+     * {@link ArenaListener} or Bukkit listener is listening for it. Events
+     * which nothing is interested in do not need to be created or called.
+     *
+     * @param eventType the event type
+     * @param competition the competition the event would occur in
+     * @return whether anything is interested in the event
+     */
+    public boolean isListening(ArenaEventType<?> eventType, @Nullable Competition<?> competition) {
+        return this.hasActions(eventType, competition)
+                || this.getHandlerInterest().contains(eventType)
+                || ArenaEventRouter.get().hasExternalListeners(eventType.getEventType());
+    }
+
     /**
      * Calls an event and processes any actions associated with the event.
      *
@@ -120,6 +149,10 @@ public class ArenaEventManager {
             }
 
             Competition<?> competition = event.getCompetition();
+            if (!this.hasActions(eventType, competition)) {
+                return event;
+            }
+
             Collection<ArenaPlayer> players;
             if (event instanceof ArenaPlayerEvent arenaPlayerEvent) {
                 players = List.of(arenaPlayerEvent.getArenaPlayer());
@@ -131,64 +164,36 @@ public class ArenaEventManager {
                 players = List.of();
             }
 
-            List<EventAction> actions = new ArrayList<>();
-            List<EventAction> arenaActions = this.arena.getEventActions().get(eventType);
-            if (arenaActions != null) {
-                actions.addAll(arenaActions);
-            }
-
+            ActionPipeline pipeline;
             if (competition instanceof LiveCompetition<?> liveCompetition) {
-                List<EventAction> competitionActions = liveCompetition.getPhaseManager().getCurrentPhase().getEventActions().get(eventType);
-                if (competitionActions != null) {
-                    actions.addAll(competitionActions);
-                }
-            }
-
-            if (actions.isEmpty()) {
-                return event;
+                pipeline = liveCompetition.getPhaseManager().getCurrentPhase().getPipeline(eventType);
+            } else {
+                pipeline = this.getArenaPipeline(eventType);
             }
 
-            this.pollActions(event, competition, actions.iterator(), players);
+            pipeline.run(this.arena, competition, event, players);
         }
 
         return event;
     }
 
-    private <T extends Event & ArenaEvent> void pollActions(T event, Competition<?> competition, Iterator<EventAction> iterator, Collection<ArenaPlayer> players) {
-        while (iterator.hasNext()) {
-            EventAction action = iterator.next();
-            if (!Bukkit.isStopping() && action instanceof DelayAction delayAction) {
-                Bukkit.getScheduler().runTaskLater(BattleArena.getInstance(), () -> this.pollActions(event, competition, iterator, players), delayAction.getTicks());
-                return;
-            }
-
-            try {
-                action.preProcess(this.arena, competition, event);
-            } catch (Throwable e) {
-                this.arena.getPlugin().warn("An error occurred pre-processing event action {}", action, e);
-                return;
-            }
-
-            for (ArenaPlayer player : new HashSet<>(players)) {
-                // Resolve with ArenaPlayer context
-                Resolver.Builder resolver = player.resolve().toBuilder();
-                event.resolve().mergeInto(resolver);
-
-                try {
-                    action.call(player, resolver.build());
-                } catch (Throwable e) {
-                    this.arena.getPlugin().warn("An error occurred calling event action {}", action, e);
-                    return;
-                }
-            }
+    /**
+     * Invalidates the compiled {@link ActionPipeline pipelines} of the
+     * arena, after the actions of the arena have changed.
+     * <p>
+     * This method is internal and should not be used by other plugins.
+     */
+    @ApiStatus.Internal
+    public void invalidatePipelines() {
+        this.arenaPipelines = null;
+    }
 
-            try {
-                action.postProcess(this.arena, competition, event);
-            } catch (Throwable e) {
-                this.arena.getPlugin().warn("An error occurred post-processing event action {}", action, e);
-                return;
-            }
+    private ActionPipeline getArenaPipeline(ArenaEventType<?> eventType) {
+        if (this.arenaPipelines == null) {
+            this.arenaPipelines = ActionPipeline.compile(this.arena.getEventActions(), null);
         }
+
+        return this.arenaPipelines.getOrDefault(eventType, ActionPipeline.EMPTY);
     }
 
     /**
@@ -196,108 +201,48 @@ public class ArenaEventManager {
      *
      * @param listener the listener to register
      */
+    @SuppressWarnings("unchecked")
     public void registerEvents(ArenaListener listener) {
-        this.trackedListeners.add(listener);
-
-        for (Method method : listener.getClass().getDeclaredMethods()) {
-            method.setAccessible(true);
-
-            // Check if the method is an event handler
-            if (!method.isAnnotationPresent(ArenaEventHandler.class)) {
-                continue;
-            }
+        // Listeners bound to a competition only receive events from that
+        // competition, whereas all other listeners receive events from
+        // every competition in the arena
+        Map<HandlerKey, List<RegisteredHandler>> handlerTable;
+        if (listener instanceof CompetitionLike<?> like) {
+            handlerTable = this.competitionHandlers.computeIfAbsent(like.getCompetition(), key -> new ConcurrentHashMap<>());
+        } else {
+            handlerTable = this.arenaHandlers;
+        }
 
-            ArenaEventHandler eventHandler = method.getAnnotation(ArenaEventHandler.class);
-            if (method.getParameterCount() == 0) {
-                this.arena.getPlugin().warn("Event method {} in {} has no parameters. Not registering.", method.getName(), listener.getClass());
-                continue;
-            }
+        HandlerPlan plan = HandlerPlan.of(listener.getClass());
+        for (Method method : plan.getInvalidMethods()) {
+            this.arena.getPlugin().warn("Event method {} in {} has no parameters. Not registering.", method.getName(), listener.getClass());
+        }
 
+        List<RegisteredHandler> registeredHandlers = new ArrayList<>(plan.getHandlers().size());
+        for (HandlerMethod method : plan.getHandlers()) {
             // The first argument should be an ArenaEvent or a Player event
-            Class<?> eventClass = method.getParameterTypes()[0];
+            Class<?> eventClass = method.eventClass();
             if (!ArenaEvent.class.isAssignableFrom(eventClass) && PLAYER_EVENT_RESOLVERS.get(eventClass) == null && this.arenaEventResolvers.get(eventClass) == null) {
-                this.arena.getPlugin().warn("Event method {} ({}) in {} was not an ArenaEvent or a Player event. Custom resolvers can be added using the ArenaEventManager#registerArenaResolver.", method.getName(), eventClass.getSimpleName(), listener.getClass());
+                this.arena.getPlugin().warn("Event method {} ({}) in {} was not an ArenaEvent or a Player event. Custom resolvers can be added using the ArenaEventManager#registerArenaResolver.", method.method().getName(), eventClass.getSimpleName(), listener.getClass());
                 continue;
             }
 
-            Bukkit.getPluginManager().registerEvent((Class<? extends Event>) eventClass, listener, eventHandler.priority(), (eventListener, event) -> {
-                Pair<Arena, Competition<?>> pair = this.extractContext(event);
-                if (pair == null) {
-                    return;
-                }
-
-                Arena arena = pair.getKey();
-                Competition<?> competition = pair.getValue();
+            HandlerKey key = new HandlerKey((Class<? extends Event>) eventClass, method.priority());
+            ArenaEventRouter.get().subscribe(key);
 
-                // Only call the event if the arena matches
-                if (!arena.equals(this.arena)) {
-                    return;
-                }
+            RegisteredHandler handler = method.kind() == ParameterKind.EVENT
+                    ? new RegisteredHandler(key, listener, method, method.bindEvent(listener), null)
+                    : new RegisteredHandler(key, listener, method, null, method.bindContext(listener));
 
-                // We are listening in a Competition, so only call the event if the Competition matches
-                if (listener instanceof CompetitionLike<?> like && !like.getCompetition().equals(competition)) {
-                    return;
-                }
+            handlerTable.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(handler);
+            registeredHandlers.add(handler);
 
-                // Ensure args are the same
-                if (!eventClass.isAssignableFrom(event.getClass())) {
-                    return;
-                }
+            this.handlerCounts.merge(eventClass, 1, Integer::sum);
+        }
 
-                if (method.getParameterCount() == 1) {
-                    try {
-                        method.invoke(eventListener, event);
-                    } catch (Exception e) {
-                        throw new EventException(e, "Error executing ArenaEvent: " + eventClass);
-                    }
-                } else if (method.getParameterCount() == 2) {
-                    // BattleArena offers a bit of flexibility with the second parameter.
-                    // Events that are just normal ArenaEvents can have a second parameter be
-                    // a Competition, whereas a ArenaPlayerEvent can have a second parameter be
-                    // an ArenaPlayer or a Competition.
-                    Class<?> parameterType = method.getParameterTypes()[1];
-                    if (Competition.class.isAssignableFrom(parameterType)) {
-                        try {
-                            method.invoke(eventListener, event, competition);
-                        } catch (Exception e) {
-                            throw new EventException(e, "Error executing ArenaEvent: " + eventClass);
-                        }
-                    } else if (ArenaPlayer.class.isAssignableFrom(parameterType)) {
-                        if (ArenaPlayerEvent.class.isAssignableFrom(eventClass)) {
-                            try {
-                                method.invoke(eventListener, event, ((ArenaPlayerEvent) event).getArenaPlayer());
-                                return;
-                            } catch (Exception e) {
-                                throw new EventException(e, "Error executing ArenaPlayerEvent: " + eventClass);
-                            }
-                        }
-
-                        Function<Event, Player> eventPlayerFunction = PLAYER_EVENT_RESOLVERS.get(eventClass);
-                        if (eventPlayerFunction == null) {
-                            this.arena.getPlugin().warn("Could not find event player function for event {}", eventClass);
-                            return;
-                        }
-
-                        Player player = eventPlayerFunction.apply(event);
-                        if (player == null) {
-                            this.arena.getPlugin().warn("Could not find player for event {}", eventClass);
-                            return;
-                        }
-
-                        ArenaPlayer arenaPlayer = ArenaPlayer.getArenaPlayer(player);
-                        if (arenaPlayer == null) {
-                            this.arena.getPlugin().warn("Could not find ArenaPlayer for event {}", eventClass);
-                            return;
-                        }
-
-                        try {
-                            method.invoke(eventListener, event, arenaPlayer);
-                        } catch (Exception e) {
-                            throw new EventException(e, "Error executing ArenaPlayerEvent: " + eventClass);
-                        }
-                    }
-                }
-            }, BattleArena.getInstance(), eventHandler.ignoreCancelled());
+        this.trackedListeners.put(listener, registeredHandlers);
+        if (!registeredHandlers.isEmpty()) {
+            this.handlerInterest = null;
         }
     }
 
@@ -307,58 +252,202 @@ public class ArenaEventManager {
      * @param listener the listener to unregister
      */
     public void unregisterEvents(ArenaListener listener) {
+        // Listeners may also have been registered as a normal Bukkit listener
         HandlerList.unregisterAll(listener);
-        this.trackedListeners.remove(listener);
+
+        List<RegisteredHandler> handlers = this.trackedListeners.remove(listener);
+        if (handlers == null) {
+            return;
+        }
+
+        if (listener instanceof CompetitionLike<?> like) {
+            Map<HandlerKey, List<RegisteredHandler>> handlerTable = this.competitionHandlers.get(like.getCompetition());
+            if (handlerTable != null) {
+                removeHandlers(handlerTable, handlers);
+
+                // Remove the table entirely once the competition has no handlers left
+                if (handlerTable.isEmpty()) {
+                    this.competitionHandlers.remove(like.getCompetition());
+                }
+            }
+        } else {
+            removeHandlers(this.arenaHandlers, handlers);
+        }
+
+        for (RegisteredHandler handler : handlers) {
+            this.handlerCounts.computeIfPresent(handler.key().eventClass(), (key, count) -> count <= 1 ? null : count - 1);
+        }
+
+        if (!handlers.isEmpty()) {
+            this.handlerInterest = null;
+        }
     }
 
     /**
      * Unregisters all listeners from listening for events.
      */
     public void unregisterAll() {
-        for (ArenaListener listener : this.trackedListeners) {
+        for (ArenaListener listener : this.trackedListeners.keySet()) {
             HandlerList.unregisterAll(listener);
         }
 
         this.trackedListeners.clear();
+        this.arenaHandlers.clear();
+        this.competitionHandlers.clear();
+        this.handlerCounts.clear();
+        this.handlerInterest = null;
+
+        ArenaEventRouter.get().untrack(this);
     }
 
-    @Nullable
-    private Pair<Arena, Competition<?>> extractContext(Event event) {
-        if (event instanceof ArenaEvent arenaEvent) {
-            return Pair.of(arenaEvent.getArena(), arenaEvent.getCompetition());
+    /**
+     * Dispatches an event routed by the {@link ArenaEventRouter} to
+     * the handlers in this arena.
+     *
+     * @param key the key the event was dispatched under
+     * @param event the event
+     * @param competition the competition the event occurred in
+     */
+    void dispatch(HandlerKey key, Event event, @Nullable Competition<?> competition) {
+        List<RegisteredHandler> arenaHandlers = this.arenaHandlers.get(key);
+        if (arenaHandlers != null) {
+            this.dispatch(arenaHandlers, event, competition);
         }
 
-        Function<Event, Player> eventPlayerFunction = PLAYER_EVENT_RESOLVERS.get(event.getClass());
+        if (competition == null) {
+            return;
+        }
 
-        playerEventResolver:
-        if (eventPlayerFunction != null) {
-            Player player = eventPlayerFunction.apply(event);
-            if (player == null) {
-                break playerEventResolver;
-            }
+        Map<HandlerKey, List<RegisteredHandler>> handlerTable = this.competitionHandlers.get(competition);
+        if (handlerTable == null) {
+            return;
+        }
+
+        List<RegisteredHandler> competitionHandlers = handlerTable.get(key);
+        if (competitionHandlers != null) {
+            this.dispatch(competitionHandlers, event, competition);
+        }
+    }
 
-            ArenaPlayer arenaPlayer = ArenaPlayer.getArenaPlayer(player);
-            if (arenaPlayer == null) {
-                break playerEventResolver;
+    private void dispatch(List<RegisteredHandler> handlers, Event event, @Nullable Competition<?> competition) {
+        for (RegisteredHandler handler : handlers) {
+            if (handler.ignoreCancelled() && event instanceof Cancellable cancellable && cancellable.isCancelled()) {
+                continue;
             }
 
-            return Pair.of(arenaPlayer.getArena(), arenaPlayer.getCompetition());
+            try {
+                handler.call(this.arena, event, competition);
+            } catch (Throwable e) {
+                // Handlers are isolated from one another as they would be
+                // if each were registered with Bukkit directly
+                this.arena.getPlugin().error("Could not pass event {} to {}", event.getEventName(), handler.listener().getClass().getName(), e);
+            }
         }
+    }
 
+    /**
+     * Resolves the {@link LiveCompetition} for an event using the
+     * custom resolvers registered in this event manager.
+     *
+     * @param event the event
+     * @return the competition, or null if none could be resolved
+     */
+    @Nullable
+    LiveCompetition<?> resolveCompetition(Event event) {
         List<Function<Event, LiveCompetition<?>>> resolvers = this.arenaEventResolvers.get(event.getClass());
-        if (resolvers != null) {
-            for (Function<Event, LiveCompetition<?>> resolver : resolvers) {
-                if (resolver != null) {
-                    LiveCompetition<?> competition = resolver.apply(event);
-                    if (competition == null) {
-                        return null;
+        if (resolvers == null || resolvers.isEmpty()) {
+            return null;
+        }
+
+        return resolvers.get(0).apply(event);
+    }
+
+    @Nullable
+    static Player resolvePlayer(Event event) {
+        Function<Event, Player> eventPlayerFunction = PLAYER_EVENT_RESOLVERS.get(event.getClass());
+        if (eventPlayerFunction == null) {
+            return null;
+        }
+
+        return eventPlayerFunction.apply(event);
+    }
+
+    private boolean hasActions(ArenaEventType<?> eventType, @Nullable Competition<?> competition) {
+        if (this.arena.getEventInterest().contains(eventType)) {
+            return true;
+        }
+
+        return competition instanceof LiveCompetition<?> liveCompetition
+                && liveCompetition.getPhaseManager().getCurrentPhase().getEventInterest().contains(eventType);
+    }
+
+    private EventInterest getHandlerInterest() {
+        EventInterest interest = this.handlerInterest;
+        if (interest == null || interest.isOutdated()) {
+            // Handlers also receive events which are a subclass of the event they listen for
+            Set<Class<?>> eventClasses = Set.copyOf(this.handlerCounts.keySet());
+            interest = EventInterest.matching(eventType -> {
+                for (Class<?> eventClass : eventClasses) {
+                    if (eventClass.isAssignableFrom(eventType.getEventType())) {
+                        return true;
+                    }
+                }
+
+                return false;
+            });
+
+            this.handlerInterest = interest;
+        }
+
+        return interest;
+    }
+
+    private static void removeHandlers(Map<HandlerKey, List<RegisteredHandler>> handlerTable, List<RegisteredHandler> handlers) {
+        for (RegisteredHandler handler : handlers) {
+            handlerTable.computeIfPresent(handler.key(), (key, existing) -> {
+                existing.remove(handler);
+                return existing.isEmpty() ? null : existing;
+            });
+        }
+    }
+
+    private record RegisteredHandler(
+            HandlerKey key,
+            ArenaListener listener,
+            HandlerMethod method,
+            @Nullable Consumer<Object> eventInvoker,
+            @Nullable BiConsumer<Object, Object> contextInvoker
+    ) {
+
+        boolean ignoreCancelled() {
+            return this.method.ignoreCancelled();
+        }
+
+        void call(Arena arena, Event event, @Nullable Competition<?> competition) {
+            switch (this.method.kind()) {
+                case EVENT -> this.eventInvoker.accept(event);
+                case COMPETITION -> this.contextInvoker.accept(event, competition);
+                case ARENA_PLAYER -> {
+                    if (event instanceof ArenaPlayerEvent arenaPlayerEvent) {
+                        this.contextInvoker.accept(event, arenaPlayerEvent.getArenaPlayer());
+                        return;
+                    }
+
+                    Player player = resolvePlayer(event);
+                    if (player == null) {
+                        arena.getPlugin().warn("Could not find player for event {}", this.key.eventClass());
+                        return;
                     }
 
-                    return Pair.of(competition.getArena(), competition);
+                    ArenaPlayer arenaPlayer = ArenaPlayer.getArenaPlayer(player);
+                    if (arenaPlayer == null) {
+                        arena.getPlugin().warn("Could not find ArenaPlayer for event {}", this.key.eventClass());
+                        return;
+                    }
+
+                    this.contextInvoker.accept(event, arenaPlayer);
                 }
             }
         }
-
-        return null;
     }
 }
@@ -0,0 +1,157 @@
+package org.battleplugins.arena.event;
+
+import org.battleplugins.arena.ArenaPlayer;
+import org.battleplugins.arena.BattleArena;
+import org.battleplugins.arena.competition.LiveCompetition;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.RegisteredListener;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Routes Bukkit events to the {@link ArenaEventManager} and competition
+ * which own them.
+ * <p>
+ * Rather than every {@link ArenaListener} registering its own Bukkit
+ * handler, a single dispatcher is registered for each event class and
+ * priority. The dispatcher resolves the owning competition once, and then
+ * only invokes the handlers that were registered for that competition, so
+ * the cost of an event stays the same regardless of how many competitions
+ * are running.
+ */
+final class ArenaEventRouter implements Listener {
+    private static final ArenaEventRouter INSTANCE = new ArenaEventRouter();
+    private static final ClassValue<HandlerList> HANDLER_LISTS = new ClassValue<>() {
+
+        @Override
+        protected HandlerList computeValue(Class<?> type) {
+            // Mirror Bukkit, which uses the handler list of the nearest
+            // class declaring a static getHandlerList method
+            for (Class<?> current = type; current != null && Event.class.isAssignableFrom(current); current = current.getSuperclass()) {
+                try {
+                    Method method = current.getDeclaredMethod("getHandlerList");
+                    method.setAccessible(true);
+                    return (HandlerList) method.invoke(null);
+                } catch (NoSuchMethodException e) {
+                    // Check the superclass
+                } catch (ReflectiveOperationException | RuntimeException e) {
+                    return null;
+                }
+            }
+
+            return null;
+        }
+    };
+
+    private final Set<HandlerKey> dispatchers = ConcurrentHashMap.newKeySet();
+    private final Set<ArenaEventManager> resolverManagers = new CopyOnWriteArraySet<>();
+
+    private ArenaEventRouter() {
+    }
+
+    /**
+     * Ensures a dispatcher is registered for the given {@link HandlerKey}.
+     *
+     * @param key the key to register the dispatcher for
+     */
+    void subscribe(HandlerKey key) {
+        if (!this.dispatchers.add(key)) {
+            return;
+        }
+
+        Bukkit.getPluginManager().registerEvent(key.eventClass(), this, key.priority(), (listener, event) -> {
+            // Subclasses of the event share the same handler list,
+            // so ensure this dispatcher is actually responsible for it
+            if (key.eventClass().isInstance(event)) {
+                this.route(key, event);
+            }
+        }, BattleArena.getInstance(), false);
+    }
+
+    /**
+     * Tracks an {@link ArenaEventManager} which has custom arena
+     * resolvers registered.
+     *
+     * @param manager the event manager
+     */
+    void trackResolvers(ArenaEventManager manager) {
+        this.resolverManagers.add(manager);
+    }
+
+    /**
+     * Stops routing events to the given {@link ArenaEventManager}.
+     *
+     * @param manager the event manager
+     */
+    void untrack(ArenaEventManager manager) {
+        this.resolverManagers.remove(manager);
+    }
+
+    /**
+     * Returns whether any Bukkit listener, other than the dispatchers
+     * registered by this router, is listening for the given event class.
+     *
+     * @param eventClass the event class
+     * @return whether any other listener is listening for the event
+     */
+    boolean hasExternalListeners(Class<?> eventClass) {
+        HandlerList handlers = HANDLER_LISTS.get(eventClass);
+        if (handlers == null) {
+            // Cannot tell, so assume something is listening
+            return true;
+        }
+
+        for (RegisteredListener listener : handlers.getRegisteredListeners()) {
+            if (listener.getListener() != this) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void route(HandlerKey key, Event event) {
+        if (event instanceof ArenaEvent arenaEvent) {
+            arenaEvent.getArena().getEventManager().dispatch(key, event, arenaEvent.getCompetition());
+            return;
+        }
+
+        Player player = ArenaEventManager.resolvePlayer(event);
+        if (player != null) {
+            ArenaPlayer arenaPlayer = ArenaPlayer.getArenaPlayer(player);
+            if (arenaPlayer != null) {
+                arenaPlayer.getArena().getEventManager().dispatch(key, event, arenaPlayer.getCompetition());
+                return;
+            }
+        }
+
+        // Fall back to any custom resolvers registered by arenas
+        for (ArenaEventManager manager : this.resolverManagers) {
+            LiveCompetition<?> competition = manager.resolveCompetition(event);
+            if (competition != null && competition.getArena().equals(manager.getArena())) {
+                manager.dispatch(key, event, competition);
+            }
+        }
+    }
+
+    static ArenaEventRouter get() {
+        return INSTANCE;
+    }
+
+    /**
+     * The key a dispatcher is registered under.
+     *
+     * @param eventClass the event class
+     * @param priority the priority of the event
+     */
+    record HandlerKey(Class<? extends Event> eventClass, EventPriority priority) {
+    }
+}
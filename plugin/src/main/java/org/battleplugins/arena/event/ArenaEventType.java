@@ -30,6 +30,7 @@ import java.util.Set;
 @DocumentationSource("https://docs.battleplugins.org/books/user-guide/page/event-reference")
 public final class ArenaEventType<T extends ArenaEvent> {
     private static final Map<String, ArenaEventType<?>> EVENT_TYPES = new HashMap<>();
+    private static int nextId;
 
     public static final ArenaEventType<ArenaPhaseCompleteEvent> ON_COMPLETE = new ArenaEventType<>("on-complete", ArenaPhaseCompleteEvent.class);
     public static final ArenaEventType<ArenaDeathEvent> ON_DEATH = new ArenaEventType<>("on-death", ArenaDeathEvent.class);
@@ -48,10 +49,12 @@ public final class ArenaEventType<T extends ArenaEvent> {
 
     private final String name;
     private final Class<T> clazz;
+    private final int id;
 
     ArenaEventType(String name, Class<T> clazz) {
         this.name = name;
         this.clazz = clazz;
+        this.id = nextId++;
 
         EVENT_TYPES.put(name, this);
     }
@@ -64,6 +67,10 @@ public final class ArenaEventType<T extends ArenaEvent> {
         return this.clazz;
     }
 
+    int getId() {
+        return this.id;
+    }
+
     @Nullable
     public static ArenaEventType<?> get(String name) {
         return EVENT_TYPES.get(name);
@@ -89,4 +96,8 @@ public final class ArenaEventType<T extends ArenaEvent> {
     public static Set<ArenaEventType<?>> values() {
         return Set.copyOf(EVENT_TYPES.values());
     }
+
+    static int count() {
+        return nextId;
+    }
 }
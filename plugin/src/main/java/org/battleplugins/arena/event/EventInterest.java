@@ -0,0 +1,74 @@
+package org.battleplugins.arena.event;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.Collection;
+import java.util.function.Predicate;
+
+/**
+ * An immutable set of {@link ArenaEventType event types} which something
+ * is interested in, stored as a bitmap indexed by event type.
+ * <p>
+ * This class is internal and should not be used by other plugins.
+ */
+@ApiStatus.Internal
+public final class EventInterest {
+    public static final EventInterest NONE = new EventInterest(new long[0], 0);
+
+    private final long[] words;
+
+    // The number of event types that existed when this was built
+    private final int typeCount;
+
+    private EventInterest(long[] words, int typeCount) {
+        this.words = words;
+        this.typeCount = typeCount;
+    }
+
+    /**
+     * Returns whether the given {@link ArenaEventType} is in this set.
+     *
+     * @param eventType the event type to check
+     * @return whether the event type is in this set
+     */
+    public boolean contains(ArenaEventType<?> eventType) {
+        int id = eventType.getId();
+        int word = id >>> 6;
+        return word < this.words.length && (this.words[word] & (1L << id)) != 0;
+    }
+
+    /**
+     * Returns whether event types have been created since this was built.
+     *
+     * @return whether this set is outdated
+     */
+    boolean isOutdated() {
+        return this.typeCount != ArenaEventType.count();
+    }
+
+    /**
+     * Creates a set of the given {@link ArenaEventType event types}.
+     *
+     * @param eventTypes the event types
+     * @return the set of event types
+     */
+    public static EventInterest of(Collection<? extends ArenaEventType<?>> eventTypes) {
+        long[] words = new long[(ArenaEventType.count() + 63) >>> 6];
+        for (ArenaEventType<?> eventType : eventTypes) {
+            words[eventType.getId() >>> 6] |= 1L << eventType.getId();
+        }
+
+        return new EventInterest(words, ArenaEventType.count());
+    }
+
+    /**
+     * Creates a set of every {@link ArenaEventType} matching the
+     * given predicate.
+     *
+     * @param predicate the predicate to match
+     * @return the set of matching event types
+     */
+    static EventInterest matching(Predicate<ArenaEventType<?>> predicate) {
+        return of(ArenaEventType.values().stream().filter(predicate).toList());
+    }
+}
@@ -0,0 +1,247 @@
+package org.battleplugins.arena.event;
+
+import org.battleplugins.arena.ArenaPlayer;
+import org.battleplugins.arena.competition.Competition;
+import org.bukkit.event.EventPriority;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * The {@link ArenaEventHandler} methods of a listener class.
+ * <p>
+ * A plan is built once per listener class and shared between every
+ * instance of that listener. Each handler method is given a generated
+ * invoker through {@link LambdaMetafactory}, so registering a listener
+ * only needs to bind the invoker to the listener instance, and calling
+ * a handler avoids {@link Method#invoke(Object, Object...)} entirely.
+ */
+final class HandlerPlan {
+    private static final ClassValue<HandlerPlan> PLANS = new ClassValue<>() {
+
+        @Override
+        protected HandlerPlan computeValue(Class<?> type) {
+            return new HandlerPlan(type);
+        }
+    };
+
+    private static final MethodType CONSUMER_TYPE = MethodType.methodType(void.class, Object.class);
+    private static final MethodType BI_CONSUMER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final List<HandlerMethod> handlers = new ArrayList<>();
+    private final List<Method> invalidMethods = new ArrayList<>();
+
+    private HandlerPlan(Class<?> listenerClass) {
+        for (Method method : listenerClass.getDeclaredMethods()) {
+            // Check if the method is an event handler
+            ArenaEventHandler eventHandler = method.getAnnotation(ArenaEventHandler.class);
+            if (eventHandler == null) {
+                continue;
+            }
+
+            if (method.getParameterCount() == 0) {
+                this.invalidMethods.add(method);
+                continue;
+            }
+
+            ParameterKind kind = ParameterKind.of(method);
+            if (kind == null) {
+                // Unsupported signature, these were never called
+                continue;
+            }
+
+            method.setAccessible(true);
+            this.handlers.add(new HandlerMethod(method, kind, eventHandler.priority(), eventHandler.ignoreCancelled(), createFactory(method, kind)));
+        }
+    }
+
+    /**
+     * Gets the handler methods of the listener class.
+     *
+     * @return the handler methods
+     */
+    public List<HandlerMethod> getHandlers() {
+        return this.handlers;
+    }
+
+    /**
+     * Gets the methods that were annotated with {@link ArenaEventHandler}
+     * but do not accept any parameters.
+     *
+     * @return the invalid handler methods
+     */
+    public List<Method> getInvalidMethods() {
+        return this.invalidMethods;
+    }
+
+    @Nullable
+    private static MethodHandle createFactory(Method method, ParameterKind kind) {
+        // Static handlers are rare enough that they are simply invoked reflectively
+        if (Modifier.isStatic(method.getModifiers())) {
+            return null;
+        }
+
+        Class<?> owner = method.getDeclaringClass();
+        try {
+            // Define the invoker alongside the listener class, so that it has
+            // access to package-private listeners and is visible from its class loader
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(owner, MethodHandles.lookup());
+            MethodHandle implementation = lookup.unreflect(method);
+
+            boolean consumer = kind == ParameterKind.EVENT;
+            CallSite site = LambdaMetafactory.metafactory(
+                    lookup,
+                    "accept",
+                    MethodType.methodType(consumer ? Consumer.class : BiConsumer.class, owner),
+                    consumer ? CONSUMER_TYPE : BI_CONSUMER_TYPE,
+                    implementation,
+                    implementation.type().dropParameterTypes(0, 1).changeReturnType(void.class)
+            );
+
+            return site.getTarget();
+        } catch (Throwable e) {
+            // Fall back to reflection
+            return null;
+        }
+    }
+
+    /**
+     * Gets the {@link HandlerPlan} for the given listener class.
+     *
+     * @param listenerClass the listener class
+     * @return the handler plan
+     */
+    public static HandlerPlan of(Class<?> listenerClass) {
+        return PLANS.get(listenerClass);
+    }
+
+    /**
+     * The form of an {@link ArenaEventHandler} method.
+     */
+    enum ParameterKind {
+        /**
+         * The method only accepts the event.
+         */
+        EVENT,
+        /**
+         * The method accepts the event and the {@link Competition}.
+         */
+        COMPETITION,
+        /**
+         * The method accepts the event and the {@link ArenaPlayer}.
+         */
+        ARENA_PLAYER;
+
+        @Nullable
+        static ParameterKind of(Method method) {
+            if (method.getParameterCount() == 1) {
+                return EVENT;
+            }
+
+            if (method.getParameterCount() != 2) {
+                return null;
+            }
+
+            // BattleArena offers a bit of flexibility with the second parameter.
+            // Events that are just normal ArenaEvents can have a second parameter be
+            // a Competition, whereas a ArenaPlayerEvent can have a second parameter be
+            // an ArenaPlayer or a Competition.
+            Class<?> parameterType = method.getParameterTypes()[1];
+            if (Competition.class.isAssignableFrom(parameterType)) {
+                return COMPETITION;
+            }
+
+            if (ArenaPlayer.class.isAssignableFrom(parameterType)) {
+                return ARENA_PLAYER;
+            }
+
+            return null;
+        }
+    }
+
+    /**
+     * A single {@link ArenaEventHandler} method of a listener class.
+     *
+     * @param method the handler method
+     * @param kind the form of the handler method
+     * @param priority the priority of the handler
+     * @param ignoreCancelled whether the handler ignores cancelled events
+     * @param factory the factory for the generated invoker, or null
+     *                if the method is invoked reflectively
+     */
+    record HandlerMethod(Method method, ParameterKind kind, EventPriority priority, boolean ignoreCancelled, @Nullable MethodHandle factory) {
+
+        /**
+         * Gets the class of the event this handler listens for.
+         *
+         * @return the event class
+         */
+        public Class<?> eventClass() {
+            return this.method.getParameterTypes()[0];
+        }
+
+        /**
+         * Binds this handler to a listener instance.
+         * <p>
+         * Only valid for {@link ParameterKind#EVENT} handlers.
+         *
+         * @param listener the listener instance
+         * @return the bound invoker
+         */
+        @SuppressWarnings("unchecked")
+        public Consumer<Object> bindEvent(Object listener) {
+            if (this.factory != null) {
+                try {
+                    return (Consumer<Object>) this.factory.invoke(listener);
+                } catch (Throwable ignored) {
+                    // Fall through to reflection
+                }
+            }
+
+            return event -> this.invokeReflectively(listener, event);
+        }
+
+        /**
+         * Binds this handler to a listener instance.
+         * <p>
+         * Only valid for {@link ParameterKind#COMPETITION} and
+         * {@link ParameterKind#ARENA_PLAYER} handlers.
+         *
+         * @param listener the listener instance
+         * @return the bound invoker
+         */
+        @SuppressWarnings("unchecked")
+        public BiConsumer<Object, Object> bindContext(Object listener) {
+            if (this.factory != null) {
+                try {
+                    return (BiConsumer<Object, Object>) this.factory.invoke(listener);
+                } catch (Throwable ignored) {
+                    // Fall through to reflection
+                }
+            }
+
+            return (event, context) -> this.invokeReflectively(listener, event, context);
+        }
+
+        private void invokeReflectively(Object listener, Object... args) {
+            try {
+                this.method.invoke(listener, args);
+            } catch (InvocationTargetException e) {
+                throw new RuntimeException("Error executing ArenaEvent: " + this.eventClass(), e.getCause());
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException("Error executing ArenaEvent: " + this.eventClass(), e);
+            }
+        }
+    }
+}
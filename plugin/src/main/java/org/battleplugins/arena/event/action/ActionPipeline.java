@@ -0,0 +1,219 @@
+package org.battleplugins.arena.event.action;
+
+import org.battleplugins.arena.Arena;
+import org.battleplugins.arena.ArenaPlayer;
+import org.battleplugins.arena.BattleArena;
+import org.battleplugins.arena.competition.Competition;
+import org.battleplugins.arena.event.ArenaEvent;
+import org.battleplugins.arena.event.ArenaEventType;
+import org.battleplugins.arena.event.action.types.DelayAction;
+import org.battleplugins.arena.resolver.Resolver;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An immutable sequence of {@link EventAction actions} to run when
+ * an event occurs.
+ * <p>
+ * Pipelines are compiled once from the actions configured for an event,
+ * rather than every time the event is called. Running a pipeline creates
+ * a {@link Cursor}, which can be suspended at a {@link DelayAction}, or
+ * while an action has {@link EventAction#getPendingWork(Competition) pending work},
+ * and resumed later on.
+ * <p>
+ * This class is internal and should not be used by other plugins.
+ */
+@ApiStatus.Internal
+public final class ActionPipeline {
+    public static final ActionPipeline EMPTY = new ActionPipeline(new Step[0]);
+
+    private final Step[] steps;
+
+    private ActionPipeline(Step[] steps) {
+        this.steps = steps;
+    }
+
+    /**
+     * Returns whether this pipeline has no actions.
+     *
+     * @return whether this pipeline is empty
+     */
+    public boolean isEmpty() {
+        return this.steps.length == 0;
+    }
+
+    /**
+     * Runs this pipeline for the given event.
+     *
+     * @param arena the arena the event occurred in
+     * @param competition the competition the event occurred in
+     * @param event the event
+     * @param players the players the event applies to
+     */
+    public void run(Arena arena, Competition<?> competition, ArenaEvent event, Collection<ArenaPlayer> players) {
+        if (this.isEmpty()) {
+            return;
+        }
+
+        new Cursor(arena, competition, event, players).run();
+    }
+
+    /**
+     * Compiles the actions for every event type, where the given arena
+     * actions run before the given phase actions.
+     *
+     * @param arenaActions the actions of the arena
+     * @param phaseActions the actions of the phase, or null if there are none
+     * @return the compiled pipelines, by event type
+     */
+    public static Map<ArenaEventType<?>, ActionPipeline> compile(@Nullable Map<ArenaEventType<?>, List<EventAction>> arenaActions, @Nullable Map<ArenaEventType<?>, List<EventAction>> phaseActions) {
+        Set<ArenaEventType<?>> eventTypes = new HashSet<>();
+        if (arenaActions != null) {
+            eventTypes.addAll(arenaActions.keySet());
+        }
+
+        if (phaseActions != null) {
+            eventTypes.addAll(phaseActions.keySet());
+        }
+
+        Map<ArenaEventType<?>, ActionPipeline> pipelines = new HashMap<>(eventTypes.size());
+        for (ArenaEventType<?> eventType : eventTypes) {
+            List<EventAction> actions = new ArrayList<>();
+            if (arenaActions != null && arenaActions.get(eventType) != null) {
+                actions.addAll(arenaActions.get(eventType));
+            }
+
+            if (phaseActions != null && phaseActions.get(eventType) != null) {
+                actions.addAll(phaseActions.get(eventType));
+            }
+
+            if (!actions.isEmpty()) {
+                pipelines.put(eventType, compile(actions));
+            }
+        }
+
+        return Map.copyOf(pipelines);
+    }
+
+    private static ActionPipeline compile(List<EventAction> actions) {
+        Step[] steps = new Step[actions.size()];
+        for (int i = 0; i < steps.length; i++) {
+            EventAction action = actions.get(i);
+            steps[i] = new Step(action, action.isPerPlayer(), action instanceof DelayAction delayAction ? delayAction.getTicks() : -1);
+        }
+
+        return new ActionPipeline(steps);
+    }
+
+    /**
+     * A single action in a pipeline.
+     *
+     * @param action the action
+     * @param perPlayer whether the action is called for each player
+     * @param delay the ticks to wait before the next step, or -1 if this
+     *              step is not a delay
+     */
+    private record Step(EventAction action, boolean perPlayer, int delay) {
+    }
+
+    /**
+     * The position of a single run through a pipeline.
+     */
+    private final class Cursor implements Runnable {
+        private final Arena arena;
+        private final Competition<?> competition;
+        private final ArenaEvent event;
+        private final Collection<ArenaPlayer> players;
+        private final Resolver eventResolver;
+
+        private int index;
+
+        Cursor(Arena arena, Competition<?> competition, ArenaEvent event, Collection<ArenaPlayer> players) {
+            this.arena = arena;
+            this.competition = competition;
+            this.event = event;
+            this.players = players;
+
+            // The event context is the same for every step and player
+            this.eventResolver = event.resolve();
+        }
+
+        @Override
+        public void run() {
+            while (this.index < ActionPipeline.this.steps.length) {
+                Step step = ActionPipeline.this.steps[this.index++];
+                if (step.delay() >= 0) {
+                    if (!Bukkit.isStopping()) {
+                        Bukkit.getScheduler().runTaskLater(BattleArena.getInstance(), this, step.delay());
+                        return;
+                    }
+
+                    continue;
+                }
+
+                if (!this.process(step)) {
+                    return;
+                }
+
+                // Wait for any work the action is still doing before moving on
+                CompletableFuture<?> pending = step.action().getPendingWork(this.competition);
+                if (pending != null && !pending.isDone() && !Bukkit.isStopping()) {
+                    pending.whenComplete((result, e) -> {
+                        if (Bukkit.isPrimaryThread()) {
+                            this.run();
+                        } else {
+                            Bukkit.getScheduler().runTask(BattleArena.getInstance(), this);
+                        }
+                    });
+
+                    return;
+                }
+            }
+        }
+
+        private boolean process(Step step) {
+            EventAction action = step.action();
+            try {
+                action.preProcess(this.arena, this.competition, this.event);
+            } catch (Throwable e) {
+                this.arena.getPlugin().warn("An error occurred pre-processing event action {}", action, e);
+                return false;
+            }
+
+            if (step.perPlayer()) {
+                // Players may leave the competition as a result of an action
+                for (ArenaPlayer player : this.players.toArray(ArenaPlayer[]::new)) {
+                    // Resolve with ArenaPlayer context
+                    Resolver.Builder resolver = player.resolve().toBuilder();
+                    this.eventResolver.mergeInto(resolver);
+
+                    try {
+                        action.call(player, resolver.build());
+                    } catch (Throwable e) {
+                        this.arena.getPlugin().warn("An error occurred calling event action {}", action, e);
+                        return false;
+                    }
+                }
+            }
+
+            try {
+                action.postProcess(this.arena, this.competition, this.event);
+            } catch (Throwable e) {
+                this.arena.getPlugin().warn("An error occurred post-processing event action {}", action, e);
+                return false;
+            }
+
+            return true;
+        }
+    }
+}
@@ -3,10 +3,12 @@ package org.battleplugins.arena.event.action;
 import org.battleplugins.arena.Arena;
 import org.battleplugins.arena.ArenaPlayer;
 import org.battleplugins.arena.competition.Competition;
+import org.battleplugins.arena.config.ParseException;
 import org.battleplugins.arena.resolver.Resolvable;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Represents an action that occurs in an {@link Arena}.
@@ -45,6 +47,33 @@ public abstract class EventAction {
         return this.params.getOrDefault(key, defaultValue);
     }
 
+    /**
+     * Compiles the parameters of this action.
+     * <p>
+     * This is called once when the action is loaded, so that actions can
+     * parse and validate their parameters up front, rather than every time
+     * they are called. Invalid parameters are reported when the arena loads.
+     *
+     * @throws ParseException if a parameter could not be parsed
+     * @throws IllegalArgumentException if a parameter is invalid
+     */
+    protected void compile() throws ParseException {
+    }
+
+    /**
+     * Gets whether this action needs to be {@link #call(ArenaPlayer, Resolvable) called}
+     * for every player the event applies to.
+     * <p>
+     * Actions which only do their work in {@link #preProcess(Arena, Competition, Resolvable)}
+     * or {@link #postProcess(Arena, Competition, Resolvable)} can override this to
+     * skip resolving the context of each player.
+     *
+     * @return whether this action is called for every player
+     */
+    public boolean isPerPlayer() {
+        return true;
+    }
+
     /**
      * Called before the action is processed.
      * <p>
@@ -71,6 +100,24 @@ public abstract class EventAction {
     public void postProcess(Arena arena, Competition<?> competition, Resolvable resolvable) {
     }
 
+    /**
+     * Gets the work started by the last run of this action in the given
+     * competition which has not finished yet, such as teleports which load
+     * chunks off the main thread.
+     * <p>
+     * This is called once the action has been {@link #postProcess(Arena, Competition, Resolvable) post-processed},
+     * and the actions following it are only run once the returned future
+     * has completed.
+     *
+     * @param competition the competition the action occurred in
+     * @return a future which completes once the work of this action has
+     *         finished, or null if there is no work left
+     */
+    @Nullable
+    public CompletableFuture<?> getPendingWork(Competition<?> competition) {
+        return null;
+    }
+
     /**
      * Calls the action for the given {@link ArenaPlayer}.
      *
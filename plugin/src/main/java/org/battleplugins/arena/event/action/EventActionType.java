@@ -1,6 +1,7 @@
 package org.battleplugins.arena.event.action;
 
 import org.battleplugins.arena.config.DocumentationSource;
+import org.battleplugins.arena.config.ParseException;
 import org.battleplugins.arena.event.action.types.BroadcastAction;
 import org.battleplugins.arena.event.action.types.ChangeGamemodeAction;
 import org.battleplugins.arena.event.action.types.ChangeRoleAction;
@@ -83,8 +84,34 @@ public final class EventActionType<T extends EventAction> {
         return this.clazz;
     }
 
+    /**
+     * Creates an action of this type with the given parameters.
+     *
+     * @param params the parameters of the action
+     * @return the created action
+     * @throws IllegalArgumentException if a parameter could not be parsed
+     */
     public T create(Map<String, String> params) {
-        return this.factory.apply(params);
+        try {
+            return this.parse(params);
+        } catch (ParseException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Creates an action of this type with the given parameters, reporting
+     * parameters which could not be parsed as a {@link ParseException}.
+     *
+     * @param params the parameters of the action
+     * @return the created action
+     * @throws ParseException if a parameter could not be parsed
+     * @throws IllegalArgumentException if a parameter is invalid
+     */
+    public T parse(Map<String, String> params) throws ParseException {
+        T action = this.factory.apply(params);
+        action.compile();
+        return action;
     }
 
     @Nullable
@@ -21,14 +21,33 @@ public class BroadcastAction extends EventAction {
     private static final String MESSAGE_KEY = "message";
     private static final String TYPE_KEY = "type";
 
+    private MessageType messageType;
+    private Audience audience;
+
     public BroadcastAction(Map<String, String> params) {
         super(params, MESSAGE_KEY);
     }
 
+    @Override
+    protected void compile() {
+        this.messageType = MessageType.valueOf(this.getOrDefault(TYPE_KEY, MessageType.CHAT.name())
+                .toUpperCase(Locale.ROOT)
+        );
+
+        this.audience = Audience.valueOf(this.getOrDefault(AUDIENCE_KEY, Audience.GAME.name())
+                .toUpperCase(Locale.ROOT)
+        );
+    }
+
     @Override
     public void call(ArenaPlayer arenaPlayer, Resolvable resolvable) {
     }
 
+    @Override
+    public boolean isPerPlayer() {
+        return false;
+    }
+
     @Override
     public void postProcess(Arena arena, Competition<?> competition, Resolvable resolvable) {
         if (!(competition instanceof LiveCompetition<?> liveCompetition)) {
@@ -36,22 +55,16 @@ public class BroadcastAction extends EventAction {
         }
 
         String message = resolvable.resolve().resolveToString(this.get(MESSAGE_KEY));
-        MessageType messageType = MessageType.valueOf(this.getOrDefault(TYPE_KEY, MessageType.CHAT.name())
-                .toUpperCase(Locale.ROOT)
-        );
-
-        Audience audience = Audience.valueOf(this.getOrDefault(AUDIENCE_KEY, Audience.GAME.name())
-                .toUpperCase(Locale.ROOT)
-        );
 
-        Collection<? extends Player> players = switch (audience) {
+        // The message is the same for every player, so only build it once
+        Component component = resolvable.resolve().resolveToComponent(MiniMessage.miniMessage().deserialize(message));
+        Collection<? extends Player> players = switch (this.audience) {
             case GAME -> liveCompetition.getPlayers().stream().map(ArenaPlayer::getPlayer).toList();
             case SERVER -> Bukkit.getOnlinePlayers();
         };
 
         for (Player player : players) {
-            Component component = resolvable.resolve().resolveToComponent(MiniMessage.miniMessage().deserialize(message));
-            switch (messageType) {
+            switch (this.messageType) {
                 case CHAT -> player.sendMessage(component);
                 case ACTION_BAR -> player.sendActionBar(component);
                 case TITLE -> player.showTitle(Title.title(component, Component.empty()));
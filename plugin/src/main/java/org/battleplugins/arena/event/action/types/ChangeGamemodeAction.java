@@ -11,12 +11,19 @@ import java.util.Map;
 public class ChangeGamemodeAction extends EventAction {
     private static final String GAMEMODE_KEY = "gamemode";
 
+    private GameMode gameMode;
+
     public ChangeGamemodeAction(Map<String, String> params) {
         super(params, GAMEMODE_KEY);
     }
 
+    @Override
+    protected void compile() {
+        this.gameMode = GameMode.valueOf(this.get(GAMEMODE_KEY).toUpperCase(Locale.ROOT));
+    }
+
     @Override
     public void call(ArenaPlayer arenaPlayer, Resolvable resolvable) {
-        arenaPlayer.getPlayer().setGameMode(GameMode.valueOf(this.get(GAMEMODE_KEY).toUpperCase(Locale.ROOT)));
+        arenaPlayer.getPlayer().setGameMode(this.gameMode);
     }
 }
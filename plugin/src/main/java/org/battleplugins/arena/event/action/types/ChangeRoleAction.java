@@ -13,13 +13,20 @@ import java.util.Map;
 public class ChangeRoleAction extends EventAction {
     private static final String ROLE_KEY = "role";
 
+    private PlayerRole role;
+
     public ChangeRoleAction(Map<String, String> params) {
         super(params, ROLE_KEY);
     }
 
+    @Override
+    protected void compile() {
+        this.role = PlayerRole.valueOf(this.get(ROLE_KEY).toUpperCase(Locale.ROOT));
+    }
+
     @Override
     public void call(ArenaPlayer arenaPlayer, Resolvable resolvable) {
-        PlayerRole role = PlayerRole.valueOf(this.get(ROLE_KEY).toUpperCase(Locale.ROOT));
+        PlayerRole role = this.role;
         boolean changedRole = arenaPlayer.getRole() != role;
         arenaPlayer.getCompetition().changeRole(arenaPlayer, role);
 
@@ -9,17 +9,29 @@ import java.util.Map;
 public class DelayAction extends EventAction {
     private static final String TICKS_KEY = "ticks";
 
+    private int ticks;
+
     public DelayAction(Map<String, String> params) {
         super(params, TICKS_KEY);
     }
 
+    @Override
+    protected void compile() {
+        this.ticks = Integer.parseInt(this.get(TICKS_KEY));
+    }
+
     @Override
     public void call(ArenaPlayer arenaPlayer, Resolvable resolvable) {
         // No-op; this is simply used to mark when a delay
         // should occur between other actions
     }
 
+    @Override
+    public boolean isPerPlayer() {
+        return false;
+    }
+
     public int getTicks() {
-        return Integer.parseInt(this.get(TICKS_KEY));
+        return this.ticks;
     }
 }
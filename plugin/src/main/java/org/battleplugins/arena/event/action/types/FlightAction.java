@@ -9,14 +9,19 @@ import java.util.Map;
 public class FlightAction extends EventAction {
     private static final String FLIGHT_KEY = "enabled";
 
+    private boolean enabled;
+
     public FlightAction(Map<String, String> params) {
         super(params, FLIGHT_KEY);
     }
 
     @Override
-    public void call(ArenaPlayer arenaPlayer, Resolvable resolvable) {
-        boolean enabled = Boolean.parseBoolean(this.get(FLIGHT_KEY));
+    protected void compile() {
+        this.enabled = Boolean.parseBoolean(this.get(FLIGHT_KEY));
+    }
 
-        arenaPlayer.getPlayer().setAllowFlight(enabled);
+    @Override
+    public void call(ArenaPlayer arenaPlayer, Resolvable resolvable) {
+        arenaPlayer.getPlayer().setAllowFlight(this.enabled);
     }
 }
@@ -6,6 +6,7 @@ import org.battleplugins.arena.config.ParseException;
 import org.battleplugins.arena.event.action.EventAction;
 import org.battleplugins.arena.resolver.Resolvable;
 import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Map;
 
@@ -13,29 +14,52 @@ public class GiveItemAction extends EventAction {
     private static final String ITEM_KEY = "item";
     private static final String SLOT_KEY = "slot";
 
+    // Only vanilla items are created once, as third party
+    // items may differ each time they are created
+    @Nullable
+    private ItemStack item;
+    private int slot;
+
     public GiveItemAction(Map<String, String> params) {
         super(params, ITEM_KEY);
     }
 
     @Override
-    public void call(ArenaPlayer arenaPlayer, Resolvable resolvable) {
+    protected void compile() throws ParseException {
         String item = this.get(ITEM_KEY);
-        try {
-            ItemStack itemStack = ItemStackParser.deserializeSingular(item);
-            int slot = Integer.parseInt(this.getOrDefault(SLOT_KEY, "-1"));
-            if (slot == -1) {
-                arenaPlayer.getPlayer().getInventory().addItem(itemStack);
-            } else {
-                arenaPlayer.getPlayer().getInventory().setItem(slot, itemStack);
+        if (ItemStackParser.isVanilla(item)) {
+            this.item = ItemStackParser.deserializeSingular(item);
+        }
+
+        this.slot = Integer.parseInt(this.getOrDefault(SLOT_KEY, "-1"));
+    }
+
+    @Override
+    public void call(ArenaPlayer arenaPlayer, Resolvable resolvable) {
+        ItemStack itemStack;
+        if (this.item != null) {
+            itemStack = this.item.clone();
+        } else {
+            String item = this.get(ITEM_KEY);
+            try {
+                itemStack = ItemStackParser.deserializeSingular(item);
+            } catch (ParseException e) {
+                ParseException.handle(e
+                        .context("Action", "GiveItemAction")
+                        .context("Arena", arenaPlayer.getArena().getName())
+                        .context("Provided value", item)
+                        .cause(ParseException.Cause.INVALID_VALUE)
+                        .userError()
+                );
+
+                return;
             }
-        } catch (ParseException e) {
-            ParseException.handle(e
-                    .context("Action", "GiveItemAction")
-                    .context("Arena", arenaPlayer.getArena().getName())
-                    .context("Provided value", this.get(item))
-                    .cause(ParseException.Cause.INVALID_VALUE)
-                    .userError()
-            );
+        }
+
+        if (this.slot == -1) {
+            arenaPlayer.getPlayer().getInventory().addItem(itemStack);
+        } else {
+            arenaPlayer.getPlayer().getInventory().setItem(this.slot, itemStack);
         }
     }
 }
@@ -10,16 +10,22 @@ public class HealthAction extends EventAction {
     private static final String HEALTH_KEY = "health";
     private static final String HUNGER_KEY = "hunger";
 
+    private double health;
+    private int hunger;
+
     public HealthAction(Map<String, String> params) {
         super(params, HEALTH_KEY, HUNGER_KEY);
     }
 
     @Override
-    public void call(ArenaPlayer arenaPlayer, Resolvable resolvable) {
-        double health = Double.parseDouble(this.get(HEALTH_KEY));
-        int hunger = Integer.parseInt(this.get(HUNGER_KEY));
+    protected void compile() {
+        this.health = Double.parseDouble(this.get(HEALTH_KEY));
+        this.hunger = Integer.parseInt(this.get(HUNGER_KEY));
+    }
 
-        arenaPlayer.getPlayer().setHealth(health);
-        arenaPlayer.getPlayer().setFoodLevel(hunger);
+    @Override
+    public void call(ArenaPlayer arenaPlayer, Resolvable resolvable) {
+        arenaPlayer.getPlayer().setHealth(this.health);
+        arenaPlayer.getPlayer().setFoodLevel(this.hunger);
     }
 }
@@ -9,25 +9,72 @@ import org.battleplugins.arena.config.ParseException;
 import org.battleplugins.arena.config.SingularValueParser;
 import org.battleplugins.arena.event.action.EventAction;
 import org.battleplugins.arena.resolver.Resolvable;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
+import org.bukkit.entity.SpawnCategory;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.EnumSet;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
 
 public class KillEntitiesAction extends EventAction {
     private static final String EXCLUDED_GROUPS = "excluded-groups";
+    private static final String CHUNKS_PER_TICK = "chunks-per-tick";
+
+    private final Map<Competition<?>, CompletableFuture<Void>> sweeps = new WeakHashMap<>();
+
+    private Set<SpawnCategory> excludedGroups;
+    private int chunksPerTick;
 
     public KillEntitiesAction(Map<String, String> params, String... requiredKeys) {
         super(params, requiredKeys);
     }
 
+    @Override
+    protected void compile() throws ParseException {
+        Set<SpawnCategory> excludedGroups = EnumSet.noneOf(SpawnCategory.class);
+        String groupStr = this.get(EXCLUDED_GROUPS);
+        if (groupStr != null) {
+            SingularValueParser.ArgumentBuffer buffer;
+            try {
+                buffer = SingularValueParser.parseUnnamed(groupStr, SingularValueParser.BraceStyle.SQUARE, ',');
+            } catch (ParseException e) {
+                throw e.context("Provided value", groupStr)
+                        .cause(ParseException.Cause.INVALID_VALUE);
+            }
+
+            while (buffer.hasNext()) {
+                SingularValueParser.Argument argument = buffer.pop();
+                try {
+                    excludedGroups.add(SpawnCategory.valueOf(argument.value().toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    throw new ParseException("Invalid entity group: " + argument.value())
+                            .context("Provided value", groupStr)
+                            .cause(ParseException.Cause.INVALID_VALUE)
+                            .userError();
+                }
+            }
+        }
+
+        this.excludedGroups = excludedGroups;
+        this.chunksPerTick = Integer.parseInt(this.getOrDefault(CHUNKS_PER_TICK, "0"));
+    }
+
     @Override
     public void call(ArenaPlayer arenaPlayer, Resolvable resolvable) {
     }
 
+    @Override
+    public boolean isPerPlayer() {
+        return false;
+    }
+
     @Override
     public void postProcess(Arena arena, Competition<?> competition, Resolvable resolvable) {
         if (!(competition instanceof LiveCompetition<?> liveCompetition)) {
@@ -39,32 +86,84 @@ public class KillEntitiesAction extends EventAction {
             return;
         }
 
-        List<String> excludedGroups = new ArrayList<>();
-        String groupStr = this.get(EXCLUDED_GROUPS);
-        if (groupStr != null) {
-            SingularValueParser.ArgumentBuffer buffer;
-            try {
-                buffer = SingularValueParser.parseUnnamed(groupStr, SingularValueParser.BraceStyle.SQUARE, ',');
-            } catch (ParseException e) {
-                ParseException.handle(e
-                        .context("Action", "KillEntitiesAction")
-                        .context("Arena", arena.getName())
-                        .context("Provided value", this.get(EXCLUDED_GROUPS))
-                        .cause(ParseException.Cause.INVALID_VALUE)
-                        .userError()
-                );
-                return;
-            }
-            while (buffer.hasNext()) {
-                SingularValueParser.Argument argument = buffer.pop();
-                excludedGroups.add(argument.value());
+        Sweep sweep = new Sweep(liveCompetition.getMap().getWorld(), bounds);
+        if (this.chunksPerTick <= 0 || sweep.getRemaining() <= this.chunksPerTick || !arena.getPlugin().isEnabled()) {
+            sweep.sweep(Integer.MAX_VALUE);
+            return;
+        }
+
+        // Spread large sweeps over several ticks
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        Bukkit.getScheduler().runTaskTimer(arena.getPlugin(), task -> {
+            sweep.sweep(this.chunksPerTick);
+            if (sweep.getRemaining() == 0) {
+                task.cancel();
+                future.complete(null);
             }
+        }, 0L, 1L);
+
+        this.sweeps.put(competition, future);
+    }
+
+    @Override
+    public CompletableFuture<?> getPendingWork(Competition<?> competition) {
+        return this.sweeps.remove(competition);
+    }
+
+    /**
+     * Removes the entities within the bounds of a map, one chunk
+     * at a time, only looking at the chunks the bounds overlap.
+     */
+    private class Sweep {
+        private final World world;
+        private final Bounds bounds;
+        private final Location location;
+
+        private final int minChunkX;
+        private final int minChunkZ;
+        private final int chunksX;
+        private final int chunkCount;
+
+        private int index;
+
+        Sweep(World world, Bounds bounds) {
+            this.world = world;
+            this.bounds = bounds;
+
+            // Reused for every entity to avoid allocating a location each
+            this.location = new Location(world, 0, 0, 0);
+
+            this.minChunkX = bounds.getMinX() >> 4;
+            this.minChunkZ = bounds.getMinZ() >> 4;
+            this.chunksX = (bounds.getMaxX() >> 4) - this.minChunkX + 1;
+            this.chunkCount = this.chunksX * ((bounds.getMaxZ() >> 4) - this.minChunkZ + 1);
+        }
+
+        int getRemaining() {
+            return this.chunkCount - this.index;
         }
 
-        liveCompetition.getMap().getWorld().getEntities().stream()
-                .filter(entity -> bounds.isInside(entity.getLocation()))
-                .filter(entity -> !(entity instanceof Player))
-                .filter(entity -> excludedGroups.isEmpty() || !excludedGroups.contains(entity.getSpawnCategory().name().toLowerCase(Locale.ROOT)))
-                .forEach(Entity::remove);
+        void sweep(int maxChunks) {
+            int end = (int) Math.min(this.chunkCount, (long) this.index + maxChunks);
+            for (; this.index < end; this.index++) {
+                int chunkX = this.minChunkX + this.index % this.chunksX;
+                int chunkZ = this.minChunkZ + this.index / this.chunksX;
+
+                // Entities can only be in loaded chunks
+                if (!this.world.isChunkLoaded(chunkX, chunkZ)) {
+                    continue;
+                }
+
+                for (Entity entity : this.world.getChunkAt(chunkX, chunkZ).getEntities()) {
+                    if (entity instanceof Player || KillEntitiesAction.this.excludedGroups.contains(entity.getSpawnCategory())) {
+                        continue;
+                    }
+
+                    if (this.bounds.isInside(entity.getLocation(this.location))) {
+                        entity.remove();
+                    }
+                }
+            }
+        }
     }
 }
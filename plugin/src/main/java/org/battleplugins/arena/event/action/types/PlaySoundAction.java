@@ -11,16 +11,21 @@ public class PlaySoundAction extends EventAction {
     private static final String PITCH_KEY = "pitch";
     private static final String VOLUME_KEY = "volume";
 
+    private float pitch;
+    private float volume;
+
     public PlaySoundAction(Map<String, String> params) {
         super(params, SOUND_KEY);
     }
 
     @Override
-    public void call(ArenaPlayer arenaPlayer, Resolvable resolvable) {
-        String sound = this.get(SOUND_KEY);
-        float pitch = Float.parseFloat(this.getOrDefault(PITCH_KEY, "1"));
-        float volume = Float.parseFloat(this.getOrDefault(VOLUME_KEY, "1"));
+    protected void compile() {
+        this.pitch = Float.parseFloat(this.getOrDefault(PITCH_KEY, "1"));
+        this.volume = Float.parseFloat(this.getOrDefault(VOLUME_KEY, "1"));
+    }
 
-        arenaPlayer.getPlayer().playSound(arenaPlayer.getPlayer().getLocation(), sound, volume, pitch);
+    @Override
+    public void call(ArenaPlayer arenaPlayer, Resolvable resolvable) {
+        arenaPlayer.getPlayer().playSound(arenaPlayer.getPlayer().getLocation(), this.get(SOUND_KEY), this.volume, this.pitch);
     }
 }
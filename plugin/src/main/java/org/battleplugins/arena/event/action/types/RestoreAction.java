@@ -12,18 +12,25 @@ import java.util.Set;
 public class RestoreAction extends EventAction {
     private static final String TYPES_KEY = "types";
 
+    private Set<PlayerStorage.Type> types;
+
     public RestoreAction(Map<String, String> params) {
         super(params, TYPES_KEY);
     }
 
     @Override
-    public void call(ArenaPlayer arenaPlayer, Resolvable resolvable) {
+    protected void compile() {
         String[] types = this.get(TYPES_KEY).split(",");
         PlayerStorage.Type[] toStore = new PlayerStorage.Type[types.length];
         for (int i = 0; i < types.length; i++) {
             toStore[i] = PlayerStorage.Type.valueOf(types[i].toUpperCase(Locale.ROOT));
         }
 
-        arenaPlayer.getStorage().restore(Set.of(toStore));
+        this.types = Set.of(toStore);
+    }
+
+    @Override
+    public void call(ArenaPlayer arenaPlayer, Resolvable resolvable) {
+        arenaPlayer.getStorage().restore(this.types);
     }
 }
@@ -14,19 +14,25 @@ public class SendMessageAction extends EventAction {
     private static final String MESSAGE_KEY = "message";
     private static final String TYPE_KEY = "type";
 
+    private Component message;
+    private MessageType messageType;
+
     public SendMessageAction(Map<String, String> params) {
         super(params, MESSAGE_KEY);
     }
 
     @Override
-    public void call(ArenaPlayer arenaPlayer, Resolvable resolvable) {
-        String message = this.get(MESSAGE_KEY);
-        MessageType messageType = MessageType.valueOf(this.getOrDefault(TYPE_KEY, MessageType.CHAT.name())
+    protected void compile() {
+        this.message = MiniMessage.miniMessage().deserialize(this.get(MESSAGE_KEY));
+        this.messageType = MessageType.valueOf(this.getOrDefault(TYPE_KEY, MessageType.CHAT.name())
                 .toUpperCase(Locale.ROOT)
         );
+    }
 
-        Component component = resolvable.resolve().resolveToComponent(MiniMessage.miniMessage().deserialize(message));
-        switch (messageType) {
+    @Override
+    public void call(ArenaPlayer arenaPlayer, Resolvable resolvable) {
+        Component component = resolvable.resolve().resolveToComponent(this.message);
+        switch (this.messageType) {
             case CHAT -> arenaPlayer.getPlayer().sendMessage(component);
             case ACTION_BAR -> arenaPlayer.getPlayer().sendActionBar(component);
             case TITLE -> arenaPlayer.getPlayer().showTitle(Title.title(component, Component.empty()));
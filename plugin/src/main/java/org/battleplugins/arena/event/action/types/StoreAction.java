@@ -13,19 +13,27 @@ public class StoreAction extends EventAction {
     private static final String TYPES_KEY = "types";
     private static final String CLEAR_STATE = "clear-state";
 
+    private Set<PlayerStorage.Type> types;
+    private boolean clearState;
+
     public StoreAction(Map<String, String> params) {
         super(params, TYPES_KEY);
     }
 
     @Override
-    public void call(ArenaPlayer arenaPlayer, Resolvable resolvable) {
+    protected void compile() {
         String[] types = this.get(TYPES_KEY).split(",");
         PlayerStorage.Type[] toStore = new PlayerStorage.Type[types.length];
         for (int i = 0; i < types.length; i++) {
             toStore[i] = PlayerStorage.Type.valueOf(types[i].toUpperCase(Locale.ROOT));
         }
 
-        boolean clearState = Boolean.parseBoolean(this.getOrDefault(CLEAR_STATE, "true"));
-        arenaPlayer.getStorage().store(Set.of(toStore), clearState);
+        this.types = Set.of(toStore);
+        this.clearState = Boolean.parseBoolean(this.getOrDefault(CLEAR_STATE, "true"));
+    }
+
+    @Override
+    public void call(ArenaPlayer arenaPlayer, Resolvable resolvable) {
+        arenaPlayer.getStorage().store(this.types, this.clearState);
     }
 }
@@ -18,6 +18,11 @@ public class TeardownAction extends EventAction {
     public void call(ArenaPlayer arenaPlayer, Resolvable resolvable) {
     }
 
+    @Override
+    public boolean isPerPlayer() {
+        return false;
+    }
+
     @Override
     public void postProcess(Arena arena, Competition<?> competition, Resolvable resolvable) {
         arena.getPlugin().removeCompetition(arena, competition);
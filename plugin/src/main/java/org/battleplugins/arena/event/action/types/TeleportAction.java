@@ -1,37 +1,56 @@
 package org.battleplugins.arena.event.action.types;
 
+import org.battleplugins.arena.Arena;
 import org.battleplugins.arena.ArenaPlayer;
 import org.battleplugins.arena.competition.Competition;
 import org.battleplugins.arena.competition.map.options.TeamSpawns;
 import org.battleplugins.arena.event.action.EventAction;
 import org.battleplugins.arena.resolver.Resolvable;
 import org.battleplugins.arena.util.PositionWithRotation;
+import org.battleplugins.arena.util.Util;
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
-import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ThreadLocalRandom;
 
 public class TeleportAction extends EventAction {
     private static final String LOCATION_KEY = "location";
     private static final String RANDOM = "random";
+    private static final String PER_TICK = "per-tick";
 
     private final Map<Competition<?>, Integer> spawnTeleportIndexQueue = new WeakHashMap<>();
+    private final Map<Competition<?>, TeleportBatch> batches = new WeakHashMap<>();
+
+    private TeleportLocation location;
+    private boolean randomized;
+    private int perTick;
 
     public TeleportAction(Map<String, String> params) {
         super(params, LOCATION_KEY);
     }
 
     @Override
-    public void call(ArenaPlayer arenaPlayer, Resolvable resolvable) {
-        Player player = arenaPlayer.getPlayer();
-        TeleportLocation location = TeleportLocation.valueOf(this.get(LOCATION_KEY).toUpperCase(Locale.ROOT));
-        boolean randomized = Boolean.parseBoolean(this.getOrDefault(RANDOM, "false"));
+    protected void compile() {
+        this.location = TeleportLocation.valueOf(this.get(LOCATION_KEY).toUpperCase(Locale.ROOT));
+        this.randomized = Boolean.parseBoolean(this.getOrDefault(RANDOM, "false"));
+        this.perTick = Integer.parseInt(this.getOrDefault(PER_TICK, "0"));
+    }
 
-        PositionWithRotation pos = switch (location) {
+    @Override
+    public void preProcess(Arena arena, Competition<?> competition, Resolvable resolvable) {
+        this.batches.put(competition, new TeleportBatch());
+    }
+
+    @Override
+    public void call(ArenaPlayer arenaPlayer, Resolvable resolvable) {
+        PositionWithRotation pos = switch (this.location) {
             case LAST_LOCATION:
                 Location lastLocation = arenaPlayer.getStorage().getLastLocation();
                 if (lastLocation != null) {
@@ -65,7 +84,7 @@ public class TeleportAction extends EventAction {
                     yield spawns.get(0);
                 }
 
-                if (randomized) {
+                if (this.randomized) {
                     yield spawns.get(ThreadLocalRandom.current().nextInt(spawns.size()));
                 }
 
@@ -78,10 +97,84 @@ public class TeleportAction extends EventAction {
         };
 
         if (pos == null) {
-            throw new IllegalArgumentException("Position not defined for location " + location);
+            throw new IllegalArgumentException("Position not defined for location " + this.location);
+        }
+
+        // Teleports are started together once every player has been processed
+        Location location = pos.toLocation(arenaPlayer.getCompetition().getMap().getWorld());
+        this.batches.computeIfAbsent(arenaPlayer.getCompetition(), k -> new TeleportBatch()).add(arenaPlayer, location);
+    }
+
+    @Override
+    public void postProcess(Arena arena, Competition<?> competition, Resolvable resolvable) {
+        TeleportBatch batch = this.batches.get(competition);
+        if (batch != null) {
+            batch.start(arena.getPlugin(), this.perTick);
         }
+    }
+
+    @Override
+    public CompletableFuture<?> getPendingWork(Competition<?> competition) {
+        TeleportBatch batch = this.batches.remove(competition);
+        return batch == null ? null : batch.future;
+    }
 
-        player.teleport(pos.toLocation(arenaPlayer.getCompetition().getMap().getWorld()));
+    /**
+     * The teleports of a single run of this action, which load their
+     * destinations off the main thread and may be spread over several
+     * ticks so that large groups do not all arrive at once.
+     */
+    private static class TeleportBatch {
+        private final List<ArenaPlayer> players = new ArrayList<>();
+        private final List<Location> locations = new ArrayList<>();
+        private final List<CompletableFuture<Boolean>> teleports = new ArrayList<>();
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private int index;
+
+        void add(ArenaPlayer player, Location location) {
+            this.players.add(player);
+            this.locations.add(location);
+        }
+
+        void start(Plugin plugin, int perTick) {
+            int limit = perTick <= 0 ? Integer.MAX_VALUE : perTick;
+            this.teleportNext(limit);
+            if (this.index >= this.players.size() || !plugin.isEnabled()) {
+                this.teleportNext(Integer.MAX_VALUE);
+                this.complete();
+                return;
+            }
+
+            Bukkit.getScheduler().runTaskTimer(plugin, task -> {
+                this.teleportNext(limit);
+                if (this.index >= this.players.size()) {
+                    task.cancel();
+                    this.complete();
+                }
+            }, 1L, 1L);
+        }
+
+        private void teleportNext(int limit) {
+            int end = (int) Math.min(this.players.size(), (long) this.index + limit);
+            for (; this.index < end; this.index++) {
+                // Players may have left while waiting for their turn
+                ArenaPlayer player = this.players.get(this.index);
+                if (player.getPlayer().isOnline() && ArenaPlayer.getArenaPlayer(player.getPlayer()) == player) {
+                    Location location = this.locations.get(this.index);
+                    CompletableFuture<Boolean> teleport = Util.teleportAsync(player.getPlayer(), location);
+
+                    // The map may be torn down before the player has been teleported
+                    player.getCompetition().getMap().trackTeleport(player.getPlayer(), location, teleport);
+                    this.teleports.add(teleport);
+                }
+            }
+        }
+
+        private void complete() {
+            CompletableFuture.allOf(this.teleports.toArray(CompletableFuture[]::new))
+                    .whenComplete((result, e) -> this.future.complete(null));
+        }
     }
 
     public enum TeleportLocation {
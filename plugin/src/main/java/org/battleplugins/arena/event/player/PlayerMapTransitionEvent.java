@@ -0,0 +1,119 @@
+package org.battleplugins.arena.event.player;
+
+import org.battleplugins.arena.ArenaPlayer;
+import org.battleplugins.arena.competition.LiveCompetition;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.player.PlayerEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Called when a player moves into, out of, or across the bounds
+ * of the map of a competition.
+ * <p>
+ * Unlike other player events, this is called for players who are
+ * not in an arena as well. Cancelling this event cancels the movement
+ * of the player.
+ * <p>
+ * Players who are not in an arena and stay within the map of a
+ * competition have this event called again as an {@link Transition#ENTER enter}
+ * transition every so often while they move, so that joining the
+ * competition can be retried if it was not possible when they entered.
+ */
+public class PlayerMapTransitionEvent extends PlayerEvent implements Cancellable {
+    private final static HandlerList HANDLERS = new HandlerList();
+
+    private final ArenaPlayer arenaPlayer;
+    private final LiveCompetition<?> from;
+    private final LiveCompetition<?> to;
+
+    private boolean cancelled;
+
+    public PlayerMapTransitionEvent(@NotNull Player player, @Nullable ArenaPlayer arenaPlayer, @Nullable LiveCompetition<?> from, @Nullable LiveCompetition<?> to) {
+        super(player);
+
+        this.arenaPlayer = arenaPlayer;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Gets the {@link ArenaPlayer} who moved, if they are in an arena.
+     *
+     * @return the arena player, or null if the player is not in an arena
+     */
+    @Nullable
+    public ArenaPlayer getArenaPlayer() {
+        return this.arenaPlayer;
+    }
+
+    /**
+     * Gets the competition whose map the player was in.
+     *
+     * @return the competition the player moved out of, or null if the player was not in a map
+     */
+    @Nullable
+    public LiveCompetition<?> getFrom() {
+        return this.from;
+    }
+
+    /**
+     * Gets the competition whose map the player moved into.
+     *
+     * @return the competition the player moved into, or null if the player is no longer in a map
+     */
+    @Nullable
+    public LiveCompetition<?> getTo() {
+        return this.to;
+    }
+
+    /**
+     * Gets the type of this transition.
+     *
+     * @return the type of this transition
+     */
+    public Transition getTransition() {
+        if (this.from == null) {
+            return Transition.ENTER;
+        }
+
+        return this.to == null ? Transition.LEAVE : Transition.CROSS;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    @Override
+    public void setCancelled(boolean cancel) {
+        this.cancelled = cancel;
+    }
+
+    @NotNull
+    @Override
+    public HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+
+    public enum Transition {
+        /**
+         * The player moved into a map from outside of any map.
+         */
+        ENTER,
+        /**
+         * The player moved out of a map, and is not in any other map.
+         */
+        LEAVE,
+        /**
+         * The player moved directly from one map into another.
+         */
+        CROSS
+    }
+}
@@ -0,0 +1,37 @@
+package org.battleplugins.arena.resolver;
+
+import net.kyori.adventure.text.Component;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public class LazyResolverProvider<T> implements ResolverProvider<T> {
+    private final Supplier<T> value;
+    private final Function<T, String> toString;
+    private final Function<T, Component> toComponent;
+
+    protected LazyResolverProvider(Supplier<T> value, Function<T, String> toString) {
+        this(value, toString, t -> Component.text(toString.apply(t)));
+    }
+
+    protected LazyResolverProvider(Supplier<T> value, Function<T, String> toString, Function<T, Component> toComponent) {
+        this.value = value;
+        this.toString = toString;
+        this.toComponent = toComponent;
+    }
+
+    @Override
+    public T resolve(Resolver resolver) {
+        return this.value.get();
+    }
+
+    @Override
+    public String toString(Resolver resolver) {
+        return this.toString.apply(this.value.get());
+    }
+
+    @Override
+    public Component toComponent(Resolver resolver) {
+        return this.toComponent.apply(this.value.get());
+    }
+}
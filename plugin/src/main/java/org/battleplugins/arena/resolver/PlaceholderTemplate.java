@@ -0,0 +1,244 @@
+package org.battleplugins.arena.resolver;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.TextReplacementConfig;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * A string which has been parsed into literal segments and
+ * placeholder slots, in the form of <code>%placeholder_name%</code>.
+ * <p>
+ * Templates are compiled once and cached, so resolving a template
+ * only needs to look up the keys that actually appear in it, rather
+ * than scanning the whole string for every key a {@link Resolver}
+ * defines. Placeholders that cannot be resolved are left untouched.
+ */
+final class PlaceholderTemplate {
+    private static final int MAX_CACHED_TEMPLATES = 2048;
+    private static final Map<String, PlaceholderTemplate> TEMPLATES = new ConcurrentHashMap<>();
+
+    // Matches everything from the first to the last '%' of a text, which is then
+    // scanned like a string is, as a regex cannot share a '%' between matches
+    private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("%.*%", Pattern.DOTALL);
+
+    private final String source;
+
+    // Start index of the opening '%' and end index of the closing '%' of each
+    // candidate placeholder. Candidates may share a '%' with their neighbours,
+    // as whether they are a placeholder is only known once they are resolved.
+    private final int[] starts;
+    private final int[] ends;
+    private final String[] names;
+
+    private PlaceholderTemplate(String source, int[] starts, int[] ends, String[] names) {
+        this.source = source;
+        this.starts = starts;
+        this.ends = ends;
+        this.names = names;
+    }
+
+    /**
+     * Renders this template using the given provider lookup.
+     *
+     * @param resolver the resolver to render the providers with
+     * @param providers the lookup for placeholder names
+     * @return the rendered string
+     */
+    String render(Resolver resolver, Function<String, ResolverProvider<?>> providers) {
+        if (this.names.length == 0) {
+            return this.source;
+        }
+
+        StringBuilder builder = null;
+        int cursor = 0;
+        for (int i = 0; i < this.names.length; i++) {
+            if (this.starts[i] < cursor) {
+                // Overlaps with a placeholder which was already replaced
+                continue;
+            }
+
+            ResolverProvider<?> provider = providers.apply(this.names[i]);
+            if (provider == null) {
+                continue;
+            }
+
+            if (builder == null) {
+                builder = new StringBuilder(this.source.length() + 16);
+            }
+
+            builder.append(this.source, cursor, this.starts[i]).append(provider.toString(resolver));
+            cursor = this.ends[i] + 1;
+        }
+
+        if (builder == null) {
+            return this.source;
+        }
+
+        return builder.append(this.source, cursor, this.source.length()).toString();
+    }
+
+    /**
+     * Renders this template into a {@link Component} using the given
+     * provider lookup.
+     *
+     * @param resolver the resolver to create the replacement components with
+     * @param providers the lookup for placeholder names
+     * @return the rendered component, or null if no placeholder was resolved
+     */
+    @Nullable
+    Component renderComponent(Resolver resolver, Function<String, ResolverProvider<?>> providers) {
+        TextComponent.Builder builder = null;
+        int cursor = 0;
+        for (int i = 0; i < this.names.length; i++) {
+            if (this.starts[i] < cursor) {
+                // Overlaps with a placeholder which was already replaced
+                continue;
+            }
+
+            ResolverProvider<?> provider = providers.apply(this.names[i]);
+            if (provider == null) {
+                continue;
+            }
+
+            if (builder == null) {
+                builder = Component.text();
+            }
+
+            if (cursor < this.starts[i]) {
+                builder.append(Component.text(this.source.substring(cursor, this.starts[i])));
+            }
+
+            builder.append(provider.toComponent(resolver));
+            cursor = this.ends[i] + 1;
+        }
+
+        if (builder == null) {
+            return null;
+        }
+
+        if (cursor < this.source.length()) {
+            builder.append(Component.text(this.source.substring(cursor)));
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Gets the compiled template for the given string.
+     *
+     * @param string the string to compile
+     * @return the compiled template
+     */
+    static PlaceholderTemplate of(String string) {
+        PlaceholderTemplate template = TEMPLATES.get(string);
+        if (template != null) {
+            return template;
+        }
+
+        template = compile(string);
+
+        // Templates mostly come from configuration, but arbitrary strings can
+        // be resolved as well, so make sure the cache does not grow unbounded
+        if (TEMPLATES.size() >= MAX_CACHED_TEMPLATES) {
+            TEMPLATES.clear();
+        }
+
+        TEMPLATES.put(string, template);
+        return template;
+    }
+
+    /**
+     * Resolves all placeholders in the given {@link Component} in a
+     * single pass.
+     *
+     * @param component the component to resolve
+     * @param providers the lookup for placeholder names
+     * @param resolver the resolver to create the replacement components with
+     * @return the resolved component
+     */
+    static Component render(Component component, Function<String, ResolverProvider<?>> providers, Resolver resolver) {
+        return component.replaceText(TextReplacementConfig.builder()
+                .match(PLACEHOLDER_PATTERN)
+                .replacement((result, builder) -> {
+                    Component rendered = of(result.group()).renderComponent(resolver, providers);
+                    if (rendered == null) {
+                        // Leave unknown placeholders untouched
+                        return builder;
+                    }
+
+                    return rendered;
+                })
+                .build()
+        );
+    }
+
+    /**
+     * Converts a {@link ResolverKey} name into the name it
+     * is referenced by within a template.
+     *
+     * @param keyName the name of the key
+     * @return the placeholder name
+     */
+    static String placeholderName(String keyName) {
+        return keyName.replace("-", "_");
+    }
+
+    private static PlaceholderTemplate compile(String string) {
+        int count = 0;
+        int[] starts = new int[4];
+        int[] ends = new int[4];
+        String[] names = new String[4];
+
+        int start = string.indexOf('%');
+        while (start != -1) {
+            int end = string.indexOf('%', start + 1);
+            if (end == -1) {
+                break;
+            }
+
+            if (isPlaceholderName(string, start + 1, end)) {
+                if (count == names.length) {
+                    starts = Arrays.copyOf(starts, count * 2);
+                    ends = Arrays.copyOf(ends, count * 2);
+                    names = Arrays.copyOf(names, count * 2);
+                }
+
+                starts[count] = start;
+                ends[count] = end;
+                names[count] = string.substring(start + 1, end);
+                count++;
+            }
+
+            // The closing '%' may also open the next placeholder
+            start = end;
+        }
+
+        return new PlaceholderTemplate(
+                string,
+                Arrays.copyOf(starts, count),
+                Arrays.copyOf(ends, count),
+                Arrays.copyOf(names, count)
+        );
+    }
+
+    private static boolean isPlaceholderName(String string, int from, int to) {
+        if (from == to) {
+            return false;
+        }
+
+        for (int i = from; i < to; i++) {
+            if (Character.isWhitespace(string.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
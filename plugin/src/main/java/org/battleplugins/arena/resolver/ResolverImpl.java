@@ -1,41 +1,52 @@
 package org.battleplugins.arena.resolver;
 
 import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+/**
+ * A {@link Resolver} which holds only the providers defined directly
+ * on it, and otherwise defers to the resolvers it was layered on top of.
+ * <p>
+ * Lookups check the providers of this resolver first, then every resolver
+ * merged into it (most recently merged first), and finally the resolver it
+ * was built from through {@link #toBuilder()}. This means neither building
+ * upon nor merging a resolver requires copying its providers.
+ */
 class ResolverImpl implements Resolver {
+    private static final ResolverImpl[] NO_LAYERS = new ResolverImpl[0];
+
+    @Nullable
+    private final ResolverImpl parent;
     private final Map<ResolverKey<?>, ResolverProvider<?>> results;
+    private final ResolverImpl[] layers;
+
+    private volatile Map<String, ResolverProvider<?>> placeholders;
 
-    ResolverImpl(Map<ResolverKey<?>, ResolverProvider<?>> results) {
-        this.results = new HashMap<>(results);
+    ResolverImpl(@Nullable ResolverImpl parent, Map<ResolverKey<?>, ResolverProvider<?>> results, ResolverImpl[] layers) {
+        this.parent = parent;
+        this.results = results;
+        this.layers = layers;
     }
 
     @Override
     public String resolveToString(String string) {
-        for (Map.Entry<ResolverKey<?>, ResolverProvider<?>> entry : this.results.entrySet()) {
-            String key = "%" + entry.getKey().getName().replace("-", "_") + "%";
-            string = string.replace(key, entry.getValue().toString(this));
-        }
-
-        return string;
+        return PlaceholderTemplate.of(string).render(this, this::getPlaceholder);
     }
 
     @Override
     public Component resolveToComponent(Component component) {
-        for (Map.Entry<ResolverKey<?>, ResolverProvider<?>> entry : this.results.entrySet()) {
-            String key = "%" + entry.getKey().getName().replace("-", "_") + "%";
-            component = component.replaceText(builder -> builder.matchLiteral(key).replacement(entry.getValue().toComponent(this)));
-        }
-
-        return component;
+        return PlaceholderTemplate.render(component, this::getPlaceholder, this);
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public <T> T resolve(ResolverKey<T> key) {
-        ResolverProvider<?> provider = this.results.get(key);
+        ResolverProvider<?> provider = this.getProvider(key);
         if (provider == null) {
             throw new IllegalArgumentException("No provider defined for key " + key);
         }
@@ -45,7 +56,7 @@ class ResolverImpl implements Resolver {
 
     @Override
     public <T> String resolveToString(ResolverKey<T> key) {
-        ResolverProvider<?> provider = this.results.get(key);
+        ResolverProvider<?> provider = this.getProvider(key);
         if (provider == null) {
             throw new IllegalArgumentException("No provider defined for key " + key);
         }
@@ -53,35 +64,116 @@ class ResolverImpl implements Resolver {
         return provider.toString(this);
     }
 
+    @Nullable
+    private ResolverProvider<?> getProvider(ResolverKey<?> key) {
+        ResolverProvider<?> provider = this.results.get(key);
+        if (provider != null) {
+            return provider;
+        }
+
+        for (ResolverImpl layer : this.layers) {
+            provider = layer.getProvider(key);
+            if (provider != null) {
+                return provider;
+            }
+        }
+
+        return this.parent == null ? null : this.parent.getProvider(key);
+    }
+
+    @Nullable
+    private ResolverProvider<?> getPlaceholder(String name) {
+        Map<String, ResolverProvider<?>> placeholders = this.placeholders;
+        if (placeholders == null) {
+            placeholders = new HashMap<>(this.results.size());
+            for (Map.Entry<ResolverKey<?>, ResolverProvider<?>> entry : this.results.entrySet()) {
+                placeholders.putIfAbsent(PlaceholderTemplate.placeholderName(entry.getKey().getName()), entry.getValue());
+            }
+
+            this.placeholders = placeholders;
+        }
+
+        ResolverProvider<?> provider = placeholders.get(name);
+        if (provider != null) {
+            return provider;
+        }
+
+        for (ResolverImpl layer : this.layers) {
+            provider = layer.getPlaceholder(name);
+            if (provider != null) {
+                return provider;
+            }
+        }
+
+        return this.parent == null ? null : this.parent.getPlaceholder(name);
+    }
+
     @Override
     public boolean has(ResolverKey<?> key) {
-        return this.results.containsKey(key);
+        return this.getProvider(key) != null;
     }
 
     @Override
     public void mergeInto(Builder builder) {
-        ((BuilderImpl) builder).results.putAll(this.results);
+        ((BuilderImpl) builder).merge(this);
     }
 
     @Override
     public Builder toBuilder() {
-        BuilderImpl builder = new BuilderImpl();
-        builder.results.putAll(this.results);
-        return builder;
+        return new BuilderImpl(this);
     }
 
     static class BuilderImpl implements Resolver.Builder {
-        private final Map<ResolverKey<?>, ResolverProvider<?>> results = new HashMap<>();
+        @Nullable
+        private final ResolverImpl parent;
+        private final List<ResolverImpl> layers = new ArrayList<>(2);
+
+        private Map<ResolverKey<?>, ResolverProvider<?>> results = new HashMap<>();
+
+        // Whether the results have been handed to a built resolver, in which
+        // case they must be copied before this builder modifies them again
+        private boolean shared;
+
+        BuilderImpl() {
+            this(null);
+        }
+
+        BuilderImpl(@Nullable ResolverImpl parent) {
+            this.parent = parent;
+        }
 
         @Override
         public <T> Builder define(ResolverKey<T> key, ResolverProvider<T> provider) {
+            this.ensureOwned();
             this.results.put(key, provider);
             return this;
         }
 
+        void merge(ResolverImpl resolver) {
+            // Merged providers take priority over anything defined before them
+            if (!this.results.isEmpty()) {
+                this.ensureOwned();
+                this.results.keySet().removeIf(resolver::has);
+            }
+
+            this.layers.add(0, resolver);
+        }
+
         @Override
         public Resolver build() {
-            return new ResolverImpl(this.results);
+            this.shared = true;
+            return new ResolverImpl(
+                    this.parent,
+                    this.results.isEmpty() ? Map.of() : this.results,
+                    this.layers.isEmpty() ? NO_LAYERS : this.layers.toArray(ResolverImpl[]::new)
+            );
+        }
+
+        private void ensureOwned() {
+            if (this.shared) {
+                this.results = new HashMap<>(this.results);
+                this.shared = false;
+            }
         }
     }
 }
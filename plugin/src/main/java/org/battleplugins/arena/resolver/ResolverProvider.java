@@ -24,4 +24,12 @@ public interface ResolverProvider<T> {
     static <T> ResolverProvider<T> simple(T value, Function<T, String> toString, Function<T, Component> toComponent) {
         return new SimpleResolverProvider<>(value, toString, toComponent);
     }
+
+    static <T> ResolverProvider<T> lazy(Supplier<T> value, Function<T, String> toString) {
+        return new LazyResolverProvider<>(value, toString);
+    }
+
+    static <T> ResolverProvider<T> lazy(Supplier<T> value, Function<T, String> toString, Function<T, Component> toComponent) {
+        return new LazyResolverProvider<>(value, toString, toComponent);
+    }
 }
@@ -1,13 +1,20 @@
 package org.battleplugins.arena.stat;
 
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class ArenaStats {
     private static final Map<String, ArenaStat<?>> STATS = new HashMap<>();
+    private static final Map<ArenaStat<?>, Integer> INDICES = new ConcurrentHashMap<>();
+
+    private static volatile ArenaStat<?>[] indexed = new ArenaStat<?>[0];
+    private static volatile Set<ArenaStat<?>> values = Set.of();
 
     public static final ArenaStat<Integer> DEATHS = register(new SimpleArenaStat<>("deaths", "Deaths", 0, Integer.class));
     public static final ArenaStat<Integer> LIVES = register(new SimpleArenaStat<>("lives", "Lives", 1, Integer.class));
@@ -16,8 +23,11 @@ public final class ArenaStats {
     private ArenaStats() {
     }
 
-    public static <T extends ArenaStat<?>> T register(T stat) {
+    public static synchronized <T extends ArenaStat<?>> T register(T stat) {
         STATS.put(stat.getKey(), stat);
+        values = Set.copyOf(STATS.values());
+
+        index(stat);
         return stat;
     }
 
@@ -27,6 +37,65 @@ public final class ArenaStats {
     }
 
     public static Set<ArenaStat<?>> values() {
-        return Set.copyOf(STATS.values());
+        return values;
+    }
+
+    /**
+     * Gets the dense index of the given {@link ArenaStat}, which
+     * is used to store the stat in {@link StatSlots}.
+     * <p>
+     * Stats are assigned an index when they are registered. Stats
+     * which were never registered are assigned one when first used.
+     * <p>
+     * This method is internal and should not be used by other plugins.
+     *
+     * @param stat the stat to get the index of
+     * @return the index of the stat
+     */
+    @ApiStatus.Internal
+    public static int index(ArenaStat<?> stat) {
+        Integer index = INDICES.get(stat);
+        if (index != null) {
+            return index;
+        }
+
+        synchronized (ArenaStats.class) {
+            index = INDICES.get(stat);
+            if (index != null) {
+                return index;
+            }
+
+            ArenaStat<?>[] indexed = Arrays.copyOf(ArenaStats.indexed, ArenaStats.indexed.length + 1);
+            indexed[indexed.length - 1] = stat;
+
+            INDICES.put(stat, indexed.length - 1);
+            ArenaStats.indexed = indexed;
+            return indexed.length - 1;
+        }
+    }
+
+    /**
+     * Gets the {@link ArenaStat} with the given index.
+     * <p>
+     * This method is internal and should not be used by other plugins.
+     *
+     * @param index the index of the stat
+     * @return the stat with the given index
+     */
+    @ApiStatus.Internal
+    public static ArenaStat<?> byIndex(int index) {
+        return indexed[index];
+    }
+
+    /**
+     * Gets the number of stats which have been assigned an index.
+     * <p>
+     * This method is internal and should not be used by other plugins.
+     *
+     * @return the number of indexed stats
+     */
+    @ApiStatus.Internal
+    public static int indexCount() {
+        return indexed.length;
     }
 }
@@ -0,0 +1,223 @@
+package org.battleplugins.arena.stat;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * Stores the values of {@link ArenaStat stats} for a {@link StatHolder},
+ * indexed by the index each stat is assigned in {@link ArenaStats}.
+ * <p>
+ * Integer and double stats are stored in primitive slots, so reading
+ * and updating them only requires an array access. Stats of any other
+ * type are stored as-is.
+ * <p>
+ * This class is internal and should not be used by other plugins.
+ */
+@ApiStatus.Internal
+public final class StatSlots {
+    private boolean[] present;
+    private int[] ints;
+    private double[] doubles;
+    private Object[] objects;
+
+    // The number of values contributing to each slot, only
+    // used when this storage accumulates the values of others
+    private int[] contributors;
+
+    public StatSlots() {
+        int capacity = Math.max(ArenaStats.indexCount(), 4);
+
+        this.present = new boolean[capacity];
+        this.ints = new int[capacity];
+        this.doubles = new double[capacity];
+        this.objects = new Object[capacity];
+    }
+
+    /**
+     * Returns whether a value is stored for the given {@link ArenaStat}.
+     *
+     * @param stat the stat to check
+     * @return whether a value is stored for the stat
+     */
+    public boolean has(ArenaStat<?> stat) {
+        int index = ArenaStats.index(stat);
+        return index < this.present.length && this.present[index];
+    }
+
+    /**
+     * Gets the value stored for the given {@link ArenaStat}.
+     *
+     * @param stat the stat to get
+     * @param <T> the type of the stat
+     * @return the value stored for the stat, or null if no value is stored
+     */
+    @Nullable
+    public <T> T get(ArenaStat<T> stat) {
+        int index = ArenaStats.index(stat);
+        if (index >= this.present.length || !this.present[index]) {
+            return null;
+        }
+
+        return this.read(stat, index);
+    }
+
+    /**
+     * Sets the value stored for the given {@link ArenaStat}.
+     *
+     * @param stat the stat to set
+     * @param value the value to store, or null to remove the stored value
+     * @param <T> the type of the stat
+     */
+    public <T> void set(ArenaStat<T> stat, @Nullable T value) {
+        int index = ArenaStats.index(stat);
+        this.ensureCapacity(index);
+
+        if (value == null) {
+            this.present[index] = false;
+            this.objects[index] = null;
+            return;
+        }
+
+        switch (SlotType.of(stat)) {
+            case INT -> this.ints[index] = ((Number) value).intValue();
+            case DOUBLE -> this.doubles[index] = ((Number) value).doubleValue();
+            case OBJECT -> this.objects[index] = value;
+        }
+
+        this.present[index] = true;
+    }
+
+    /**
+     * Adds the difference between the given values to the value stored
+     * for the given {@link ArenaStat}. The stat is considered present as
+     * long as any value contributes to it.
+     *
+     * @param stat the stat to accumulate
+     * @param oldValue the previous contribution, or null if there was none
+     * @param newValue the new contribution, or null if there is none
+     */
+    public void accumulate(ArenaStat<?> stat, @Nullable Object oldValue, @Nullable Object newValue) {
+        if (oldValue == newValue) {
+            return;
+        }
+
+        int index = ArenaStats.index(stat);
+        this.ensureCapacity(index);
+        if (this.contributors == null) {
+            this.contributors = new int[this.present.length];
+        }
+
+        int contributors = this.contributors[index] + (newValue == null ? 0 : 1) - (oldValue == null ? 0 : 1);
+        this.contributors[index] = contributors;
+        this.present[index] = contributors > 0;
+
+        if (contributors <= 0) {
+            // Nothing contributes to the stat anymore
+            this.ints[index] = 0;
+            this.doubles[index] = 0;
+            this.objects[index] = null;
+            return;
+        }
+
+        Number oldNumber = (Number) oldValue;
+        Number newNumber = (Number) newValue;
+        switch (SlotType.of(stat)) {
+            case INT -> this.ints[index] += intValue(newNumber) - intValue(oldNumber);
+            case DOUBLE -> this.doubles[index] += doubleValue(newNumber) - doubleValue(oldNumber);
+            case OBJECT -> this.objects[index] = add(stat.getType(), (Number) this.objects[index], oldNumber, newNumber);
+        }
+    }
+
+    /**
+     * Calls the given consumer for every stored value.
+     *
+     * @param consumer the consumer to call
+     */
+    public void forEach(BiConsumer<ArenaStat<?>, Object> consumer) {
+        for (int i = 0; i < this.present.length; i++) {
+            if (this.present[i]) {
+                ArenaStat<?> stat = ArenaStats.byIndex(i);
+                consumer.accept(stat, this.read(stat, i));
+            }
+        }
+    }
+
+    /**
+     * Removes all stored values.
+     */
+    public void clear() {
+        Arrays.fill(this.present, false);
+        Arrays.fill(this.objects, null);
+        if (this.contributors != null) {
+            Arrays.fill(this.contributors, 0);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T read(ArenaStat<T> stat, int index) {
+        return switch (SlotType.of(stat)) {
+            case INT -> (T) Integer.valueOf(this.ints[index]);
+            case DOUBLE -> (T) Double.valueOf(this.doubles[index]);
+            case OBJECT -> (T) this.objects[index];
+        };
+    }
+
+    private void ensureCapacity(int index) {
+        if (index < this.present.length) {
+            return;
+        }
+
+        int capacity = Math.max(index + 1, this.present.length * 2);
+        this.present = Arrays.copyOf(this.present, capacity);
+        this.ints = Arrays.copyOf(this.ints, capacity);
+        this.doubles = Arrays.copyOf(this.doubles, capacity);
+        this.objects = Arrays.copyOf(this.objects, capacity);
+        if (this.contributors != null) {
+            this.contributors = Arrays.copyOf(this.contributors, capacity);
+        }
+    }
+
+    private static int intValue(@Nullable Number number) {
+        return number == null ? 0 : number.intValue();
+    }
+
+    private static double doubleValue(@Nullable Number number) {
+        return number == null ? 0 : number.doubleValue();
+    }
+
+    private static Number add(Class<?> type, @Nullable Number total, @Nullable Number oldValue, @Nullable Number newValue) {
+        if (type.equals(Float.class)) {
+            return (total == null ? 0 : total.floatValue()) + (newValue == null ? 0 : newValue.floatValue()) - (oldValue == null ? 0 : oldValue.floatValue());
+        } else if (type.equals(Long.class)) {
+            return (total == null ? 0 : total.longValue()) + (newValue == null ? 0 : newValue.longValue()) - (oldValue == null ? 0 : oldValue.longValue());
+        } else if (type.equals(Short.class)) {
+            return (short) ((total == null ? 0 : total.shortValue()) + (newValue == null ? 0 : newValue.shortValue()) - (oldValue == null ? 0 : oldValue.shortValue()));
+        } else if (type.equals(Byte.class)) {
+            return (byte) ((total == null ? 0 : total.byteValue()) + (newValue == null ? 0 : newValue.byteValue()) - (oldValue == null ? 0 : oldValue.byteValue()));
+        }
+
+        throw new IllegalArgumentException("Don't know how to accumulate type " + type);
+    }
+
+    private enum SlotType {
+        INT,
+        DOUBLE,
+        OBJECT;
+
+        static SlotType of(ArenaStat<?> stat) {
+            Class<?> type = stat.getType();
+            if (type == Integer.class) {
+                return INT;
+            }
+
+            if (type == Double.class) {
+                return DOUBLE;
+            }
+
+            return OBJECT;
+        }
+    }
+}
@@ -5,34 +5,56 @@ import com.sk89q.worldedit.WorldEdit;
 import com.sk89q.worldedit.WorldEditException;
 import com.sk89q.worldedit.bukkit.BukkitAdapter;
 import com.sk89q.worldedit.extent.clipboard.BlockArrayClipboard;
+import com.sk89q.worldedit.extent.clipboard.Clipboard;
 import com.sk89q.worldedit.function.operation.ForwardExtentCopy;
 import com.sk89q.worldedit.function.operation.Operation;
 import com.sk89q.worldedit.function.operation.Operations;
 import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldedit.regions.CuboidRegion;
+import com.sk89q.worldedit.regions.Region;
 import com.sk89q.worldedit.session.ClipboardHolder;
+import com.sk89q.worldedit.world.block.BlockTypes;
 import org.battleplugins.arena.BattleArena;
 import org.battleplugins.arena.competition.map.options.Bounds;
 import org.bukkit.World;
+import org.jetbrains.annotations.Nullable;
 
 public final class BlockUtil {
 
     public static boolean copyToWorld(World oldWorld, World newWorld, Bounds bounds) {
+        return copyToWorld(oldWorld, newWorld, bounds, bounds.getMinX(), bounds.getMinY(), bounds.getMinZ());
+    }
+
+    public static boolean copyToWorld(World oldWorld, World newWorld, Bounds bounds, int x, int y, int z) {
+        Clipboard clipboard = copy(oldWorld, bounds);
+        if (clipboard == null) {
+            return false;
+        }
+
+        return paste(clipboard, newWorld, x, y, z);
+    }
+
+    @Nullable
+    public static Clipboard copy(World world, Bounds bounds) {
         CuboidRegion region = new CuboidRegion(BlockVector3.at(bounds.getMinX(), bounds.getMinY(), bounds.getMinZ()), BlockVector3.at(bounds.getMaxX(), bounds.getMaxY(), bounds.getMaxZ()));
         BlockArrayClipboard clipboard = new BlockArrayClipboard(region);
-        ForwardExtentCopy copy = new ForwardExtentCopy(BukkitAdapter.adapt(oldWorld), region, clipboard, region.getMinimumPoint());
+        ForwardExtentCopy copy = new ForwardExtentCopy(BukkitAdapter.adapt(world), region, clipboard, region.getMinimumPoint());
 
         try {
             Operations.complete(copy);
         } catch (WorldEditException e) {
             // Error creating schematic
             BattleArena.getInstance().error("Failed to create copy when copying region to another world!",  e);
-            return false;
+            return null;
         }
 
-        try (EditSession session = WorldEdit.getInstance().newEditSession(BukkitAdapter.adapt(newWorld))) {
+        return clipboard;
+    }
+
+    public static boolean paste(Clipboard clipboard, World world, int x, int y, int z) {
+        try (EditSession session = WorldEdit.getInstance().newEditSession(BukkitAdapter.adapt(world))) {
             Operation operation = new ClipboardHolder(clipboard).createPaste(session)
-                    .to(BlockVector3.at(bounds.getMinX(), bounds.getMinY(), bounds.getMinZ()))
+                    .to(BlockVector3.at(x, y, z))
                     .build();
 
             Operations.complete(operation);
@@ -44,4 +66,16 @@ public final class BlockUtil {
 
         return true;
     }
+
+    public static boolean clear(World world, Bounds bounds) {
+        CuboidRegion region = new CuboidRegion(BlockVector3.at(bounds.getMinX(), bounds.getMinY(), bounds.getMinZ()), BlockVector3.at(bounds.getMaxX(), bounds.getMaxY(), bounds.getMaxZ()));
+        try (EditSession session = WorldEdit.getInstance().newEditSession(BukkitAdapter.adapt(world))) {
+            session.setBlocks((Region) region, BlockTypes.AIR.getDefaultState());
+        } catch (WorldEditException e) {
+            BattleArena.getInstance().error("Failed to clear region!", e);
+            return false;
+        }
+
+        return true;
+    }
 }
@@ -0,0 +1,203 @@
+package org.battleplugins.arena.util;
+
+import org.battleplugins.arena.BattleArena;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Deletes folders, such as the worlds of dynamic maps, in the background.
+ * <p>
+ * A folder is first moved into a trash folder, which is a single rename
+ * and fast enough to do on the main thread, so the original path is free
+ * to use straight away. The contents of the trash are then deleted on a
+ * small pool of background threads, to bound how much disk I/O is spent on
+ * deleting at once. Anything left in the trash, such as when the server
+ * stopped before deletion finished, is deleted again on the next startup.
+ * <p>
+ * This class is internal and should not be used by other plugins.
+ */
+@ApiStatus.Internal
+public final class DeletionService {
+    private static final int MAX_CONCURRENT_DELETIONS = 2;
+
+    private final BattleArena plugin;
+    private final Path trashPath;
+
+    private final AtomicInteger pendingFolders = new AtomicInteger();
+    private final AtomicLong pendingBytes = new AtomicLong();
+
+    private ExecutorService executor;
+
+    public DeletionService(BattleArena plugin, Path trashPath) {
+        this.plugin = plugin;
+        this.trashPath = trashPath;
+    }
+
+    /**
+     * Starts this service, and schedules anything left
+     * in the trash from a previous run to be deleted.
+     */
+    public void start() {
+        if (this.executor != null) {
+            return;
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(MAX_CONCURRENT_DELETIONS, runnable -> {
+            Thread thread = new Thread(runnable, "BattleArena Deletion Thread #" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        if (Files.notExists(this.trashPath)) {
+            return;
+        }
+
+        // Listing the trash is cheap, so only the deletion itself is left to the background
+        try (Stream<Path> paths = Files.list(this.trashPath)) {
+            for (Path path : paths.toList()) {
+                this.submit(path);
+            }
+        } catch (IOException e) {
+            this.plugin.error("Failed to list trash folder {}!", this.trashPath, e);
+        }
+    }
+
+    /**
+     * Stops this service. Folders which have not been deleted
+     * yet are deleted the next time this service is started.
+     */
+    public void stop() {
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+            this.executor = null;
+        }
+    }
+
+    /**
+     * Deletes the given folder in the background.
+     *
+     * @param folder the folder to delete
+     */
+    public void delete(Path folder) {
+        if (Files.notExists(folder)) {
+            return;
+        }
+
+        Path trashed;
+        try {
+            Files.createDirectories(this.trashPath);
+
+            trashed = this.trashPath.resolve(folder.getFileName() + "-" + UUID.randomUUID());
+            Files.move(folder, trashed, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            // Trash is on another file system, so delete the folder where it is
+            trashed = folder;
+        } catch (IOException e) {
+            this.plugin.warn("Failed to move folder {} to the trash, deleting it in place: {}", folder, e.getMessage());
+            trashed = folder;
+        }
+
+        this.submit(trashed);
+    }
+
+    /**
+     * Gets the number of folders waiting to be deleted.
+     *
+     * @return the number of folders waiting to be deleted
+     */
+    public int getPendingFolders() {
+        return this.pendingFolders.get();
+    }
+
+    /**
+     * Gets the number of bytes waiting to be deleted. This only includes
+     * folders which have been measured by a background thread so far.
+     *
+     * @return the number of bytes waiting to be deleted
+     */
+    public long getPendingBytes() {
+        return this.pendingBytes.get();
+    }
+
+    private void submit(Path folder) {
+        if (this.executor == null) {
+            return;
+        }
+
+        this.pendingFolders.incrementAndGet();
+        this.executor.execute(() -> {
+            try {
+                this.deleteRecursively(folder);
+            } finally {
+                this.pendingFolders.decrementAndGet();
+            }
+        });
+    }
+
+    private void deleteRecursively(Path folder) {
+        long start = System.nanoTime();
+
+        List<Path> paths;
+        try (Stream<Path> pathsToDelete = Files.walk(folder)) {
+            paths = pathsToDelete.sorted(Comparator.reverseOrder()).toList();
+        } catch (IOException e) {
+            this.plugin.error("Failed to delete folder {}", folder, e);
+            return;
+        }
+
+        long[] sizes = new long[paths.size()];
+        long totalSize = 0;
+        for (int i = 0; i < paths.size(); i++) {
+            sizes[i] = size(paths.get(i));
+            totalSize += sizes[i];
+        }
+
+        this.pendingBytes.addAndGet(totalSize);
+        try {
+            for (int i = 0; i < paths.size(); i++) {
+                if (Thread.currentThread().isInterrupted()) {
+                    // Shutting down, the rest is deleted on the next startup
+                    return;
+                }
+
+                Files.deleteIfExists(paths.get(i));
+                this.pendingBytes.addAndGet(-sizes[i]);
+                sizes[i] = 0;
+            }
+        } catch (IOException e) {
+            this.plugin.error("Failed to delete folder {}", folder, e);
+            return;
+        } finally {
+            for (long size : sizes) {
+                this.pendingBytes.addAndGet(-size);
+            }
+        }
+
+        this.plugin.debug("Deleted folder {} ({} bytes) in {}ms. Pending deletions: {} folder(s), {} bytes.",
+                folder.getFileName(), totalSize, (System.nanoTime() - start) / 1_000_000,
+                this.pendingFolders.get() - 1, this.pendingBytes.get()
+        );
+    }
+
+    private static long size(Path path) {
+        try {
+            return Files.isRegularFile(path) ? Files.size(path) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
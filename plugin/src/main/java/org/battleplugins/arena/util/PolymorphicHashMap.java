@@ -1,25 +1,430 @@
 package org.battleplugins.arena.util;
 
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
-import java.util.Optional;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
+/**
+ * A {@link HashMap} keyed by classes, where lookups also match
+ * entries registered for a superclass or interface of the key.
+ * <p>
+ * When multiple entries match, the most specific one wins: the
+ * class itself, then its superclasses from nearest to furthest,
+ * and then its interfaces breadth-first. The resolved entry is
+ * memoized per looked up class, so repeated lookups only cost a
+ * single probe. The memo is discarded whenever the map is modified,
+ * including through its views, their iterators and their entries.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
 public class PolymorphicHashMap<K extends Class<?>, V> extends HashMap<K, V> {
+    private volatile Resolutions resolutions = new Resolutions();
+
+    private transient Set<K> keyView;
+    private transient Collection<V> valueView;
+    private transient Set<Map.Entry<K, V>> entryView;
 
     @Override
     public boolean containsKey(Object key) {
-        return this.findEntry((K) key).isPresent();
+        return this.resolve(key).present();
     }
 
     @Override
     public V get(Object key) {
-        Optional<Entry<K, V>> entry = this.findEntry((K) key);
-        return entry.map(Entry::getValue).orElse(null);
+        return this.resolve(key).value();
+    }
+
+    @Override
+    public V put(K key, V value) {
+        try {
+            return super.put(key, value);
+        } finally {
+            this.invalidate();
+        }
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map) {
+        try {
+            super.putAll(map);
+        } finally {
+            this.invalidate();
+        }
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        try {
+            return super.putIfAbsent(key, value);
+        } finally {
+            this.invalidate();
+        }
+    }
+
+    @Override
+    public V remove(Object key) {
+        try {
+            return super.remove(key);
+        } finally {
+            this.invalidate();
+        }
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        try {
+            return super.remove(key, value);
+        } finally {
+            this.invalidate();
+        }
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        try {
+            return super.replace(key, value);
+        } finally {
+            this.invalidate();
+        }
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        try {
+            return super.replace(key, oldValue, newValue);
+        } finally {
+            this.invalidate();
+        }
+    }
+
+    @Override
+    public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+        try {
+            super.replaceAll(function);
+        } finally {
+            this.invalidate();
+        }
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        try {
+            return super.computeIfAbsent(key, mappingFunction);
+        } finally {
+            this.invalidate();
+        }
+    }
+
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        try {
+            return super.computeIfPresent(key, remappingFunction);
+        } finally {
+            this.invalidate();
+        }
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        try {
+            return super.compute(key, remappingFunction);
+        } finally {
+            this.invalidate();
+        }
+    }
+
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        try {
+            return super.merge(key, value, remappingFunction);
+        } finally {
+            this.invalidate();
+        }
+    }
+
+    @Override
+    public void clear() {
+        try {
+            super.clear();
+        } finally {
+            this.invalidate();
+        }
+    }
+
+    @Override
+    public Set<K> keySet() {
+        Set<K> keyView = this.keyView;
+        return keyView == null ? (this.keyView = new KeyView()) : keyView;
+    }
+
+    @Override
+    public Collection<V> values() {
+        Collection<V> valueView = this.valueView;
+        return valueView == null ? (this.valueView = new ValueView()) : valueView;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        Set<Map.Entry<K, V>> entryView = this.entryView;
+        return entryView == null ? (this.entryView = new EntryView()) : entryView;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Object clone() {
+        PolymorphicHashMap<K, V> clone = (PolymorphicHashMap<K, V>) super.clone();
+
+        // The memo and views of this map look up entries in this map
+        clone.resolutions = clone.new Resolutions();
+        clone.keyView = null;
+        clone.valueView = null;
+        clone.entryView = null;
+        return clone;
     }
 
-    private Optional<Entry<K, V>> findEntry(K key) {
-        return this.entrySet()
-                .stream()
-                .filter(e -> e.getKey().isAssignableFrom(key))
-                .findFirst();
+    private Resolution<V> resolve(Object key) {
+        if (!(key instanceof Class<?> type)) {
+            return Resolution.absent();
+        }
+
+        return this.resolutions.get(type);
+    }
+
+    private void invalidate() {
+        this.resolutions = new Resolutions();
+    }
+
+    private Resolution<V> findEntry(Class<?> type) {
+        // Walk the superclass chain first, as the nearest superclass
+        // is always more specific than any interface
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            if (super.containsKey(current)) {
+                return new Resolution<>(super.get(current), true);
+            }
+        }
+
+        // Then walk the interfaces breadth-first
+        Deque<Class<?>> queue = new ArrayDeque<>();
+        Set<Class<?>> visited = new HashSet<>();
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            for (Class<?> iface : current.getInterfaces()) {
+                if (visited.add(iface)) {
+                    queue.add(iface);
+                }
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            Class<?> iface = queue.poll();
+            if (super.containsKey(iface)) {
+                return new Resolution<>(super.get(iface), true);
+            }
+
+            for (Class<?> parent : iface.getInterfaces()) {
+                if (visited.add(parent)) {
+                    queue.add(parent);
+                }
+            }
+        }
+
+        return Resolution.absent();
+    }
+
+    // The views below wrap the views of the underlying HashMap, as those
+    // modify the map directly rather than through the methods above
+
+    private final class KeyView extends AbstractSet<K> {
+
+        @Override
+        public Iterator<K> iterator() {
+            return new InvalidatingIterator<>(PolymorphicHashMap.super.keySet().iterator());
+        }
+
+        @Override
+        public int size() {
+            return PolymorphicHashMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            // Matches subclasses of the keys, like containsKey
+            return PolymorphicHashMap.this.containsKey(o);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (PolymorphicHashMap.super.keySet().remove(o)) {
+                PolymorphicHashMap.this.invalidate();
+                return true;
+            }
+
+            return false;
+        }
+
+        @Override
+        public void clear() {
+            PolymorphicHashMap.this.clear();
+        }
+    }
+
+    private final class ValueView extends AbstractCollection<V> {
+
+        @Override
+        public Iterator<V> iterator() {
+            return new InvalidatingIterator<>(PolymorphicHashMap.super.values().iterator());
+        }
+
+        @Override
+        public int size() {
+            return PolymorphicHashMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return PolymorphicHashMap.this.containsValue(o);
+        }
+
+        @Override
+        public void clear() {
+            PolymorphicHashMap.this.clear();
+        }
+    }
+
+    private final class EntryView extends AbstractSet<Map.Entry<K, V>> {
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            Iterator<Map.Entry<K, V>> iterator = PolymorphicHashMap.super.entrySet().iterator();
+            return new InvalidatingIterator<>(iterator) {
+
+                @Override
+                public Map.Entry<K, V> next() {
+                    return new InvalidatingEntry(super.next());
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return PolymorphicHashMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return PolymorphicHashMap.super.entrySet().contains(o);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (PolymorphicHashMap.super.entrySet().remove(o)) {
+                PolymorphicHashMap.this.invalidate();
+                return true;
+            }
+
+            return false;
+        }
+
+        @Override
+        public void clear() {
+            PolymorphicHashMap.this.clear();
+        }
+    }
+
+    private class InvalidatingIterator<T> implements Iterator<T> {
+        private final Iterator<T> iterator;
+
+        InvalidatingIterator(Iterator<T> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.iterator.hasNext();
+        }
+
+        @Override
+        public T next() {
+            return this.iterator.next();
+        }
+
+        @Override
+        public void remove() {
+            try {
+                this.iterator.remove();
+            } finally {
+                PolymorphicHashMap.this.invalidate();
+            }
+        }
+    }
+
+    private final class InvalidatingEntry implements Map.Entry<K, V> {
+        private final Map.Entry<K, V> entry;
+
+        InvalidatingEntry(Map.Entry<K, V> entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public K getKey() {
+            return this.entry.getKey();
+        }
+
+        @Override
+        public V getValue() {
+            return this.entry.getValue();
+        }
+
+        @Override
+        public V setValue(V value) {
+            try {
+                return this.entry.setValue(value);
+            } finally {
+                PolymorphicHashMap.this.invalidate();
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this.entry.equals(o);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.entry.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return this.entry.toString();
+        }
+    }
+
+    private final class Resolutions extends ClassValue<Resolution<V>> {
+
+        @Override
+        protected Resolution<V> computeValue(Class<?> type) {
+            return PolymorphicHashMap.this.findEntry(type);
+        }
+    }
+
+    private record Resolution<V>(@Nullable V value, boolean present) {
+        private static final Resolution<?> ABSENT = new Resolution<>(null, false);
+
+        @SuppressWarnings("unchecked")
+        static <V> Resolution<V> absent() {
+            return (Resolution<V>) ABSENT;
+        }
     }
-}
\ No newline at end of file
+}
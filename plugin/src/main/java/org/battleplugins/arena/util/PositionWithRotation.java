@@ -54,6 +54,18 @@ public class PositionWithRotation {
         return this.pitch;
     }
 
+    /**
+     * Returns a copy of this position moved by the given offset.
+     *
+     * @param x the offset on the X axis
+     * @param y the offset on the Y axis
+     * @param z the offset on the Z axis
+     * @return the moved position
+     */
+    public PositionWithRotation translate(double x, double y, double z) {
+        return new PositionWithRotation(this.x + x, this.y + y, this.z + z, this.yaw, this.pitch);
+    }
+
     public Location toLocation(World world) {
         return new Location(world, this.x, this.y, this.z, this.yaw, this.pitch);
     }
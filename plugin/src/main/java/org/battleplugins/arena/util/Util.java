@@ -3,8 +3,14 @@ package org.battleplugins.arena.util;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import org.battleplugins.arena.BattleArena;
+import org.battleplugins.arena.competition.map.options.Bounds;
 import org.battleplugins.arena.config.ArenaOption;
 import org.battleplugins.arena.messages.Messages;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
 import org.jetbrains.annotations.ApiStatus;
 
 import java.io.File;
@@ -20,6 +26,7 @@ import java.time.Duration;
 import java.util.Arrays;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
@@ -170,6 +177,58 @@ public class Util {
         return unit.name().toLowerCase(Locale.ROOT);
     }
 
+    /**
+     * Teleports the given player to the given location, loading the
+     * destination chunk off the main thread if it is not loaded.
+     * <p>
+     * Players who are disconnecting, or any player while the server is
+     * stopping, are teleported straight away, as there would be no chance
+     * for the chunk to finish loading before they are saved.
+     * <p>
+     * This method is internal and should not be used by other plugins.
+     *
+     * @param player the player to teleport
+     * @param location the location to teleport to
+     * @return a future which completes with whether the teleport succeeded
+     */
+    @ApiStatus.Internal
+    public static CompletableFuture<Boolean> teleportAsync(Player player, Location location) {
+        if (Bukkit.isStopping() || !player.isConnected()) {
+            return CompletableFuture.completedFuture(player.teleport(location));
+        }
+
+        return player.teleportAsync(location);
+    }
+
+    /**
+     * Removes every entity other than players within the given {@link Bounds}.
+     * <p>
+     * Only the loaded chunks covered by the bounds are looked at, rather
+     * than every entity in the world.
+     * <p>
+     * This method is internal and should not be used by other plugins.
+     *
+     * @param world the world to remove the entities from
+     * @param bounds the bounds to remove the entities within
+     */
+    @ApiStatus.Internal
+    public static void removeEntities(World world, Bounds bounds) {
+        Location location = new Location(world, 0, 0, 0);
+        for (int x = bounds.getMinX() >> 4; x <= bounds.getMaxX() >> 4; x++) {
+            for (int z = bounds.getMinZ() >> 4; z <= bounds.getMaxZ() >> 4; z++) {
+                if (!world.isChunkLoaded(x, z)) {
+                    continue;
+                }
+
+                for (Entity entity : world.getChunkAt(x, z).getEntities()) {
+                    if (!(entity instanceof Player) && bounds.isInside(entity.getLocation(location))) {
+                        entity.remove();
+                    }
+                }
+            }
+        }
+    }
+
     public static <T> void copyFields(T oldInstance, T newInstance) {
         for (Field field : oldInstance.getClass().getDeclaredFields()) {
             if (!field.isAnnotationPresent(ArenaOption.class)) {
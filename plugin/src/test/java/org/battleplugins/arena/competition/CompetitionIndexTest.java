@@ -0,0 +1,147 @@
+package org.battleplugins.arena.competition;
+
+import org.battleplugins.arena.competition.map.CompetitionMap;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompetitionIndexTest {
+
+    @Test
+    public void testOrdersByPlayerCount() {
+        CompetitionIndex index = new CompetitionIndex();
+        Competition<?> one = competition("Arena", new AtomicInteger(1));
+        Competition<?> three = competition("Arena", new AtomicInteger(3));
+        Competition<?> two = competition("Arena", new AtomicInteger(2));
+        index.add(one, 0);
+        index.add(three, 0);
+        index.add(two, 0);
+
+        assertSame(three, index.first(null, PlayerRole.PLAYING));
+        assertSame(three, index.first("arena", PlayerRole.PLAYING));
+        assertSame(two, index.next(three, null, PlayerRole.PLAYING));
+        assertSame(one, index.next(two, null, PlayerRole.PLAYING));
+        assertNull(index.next(one, null, PlayerRole.PLAYING));
+    }
+
+    @Test
+    public void testOrderBreaksTies() {
+        CompetitionIndex index = new CompetitionIndex();
+        Competition<?> later = competition("Arena", new AtomicInteger(2));
+        Competition<?> earlier = competition("Arena", new AtomicInteger(2));
+        index.add(later, 2);
+        index.add(earlier, 1);
+
+        assertSame(earlier, index.first(null, PlayerRole.PLAYING));
+        assertSame(later, index.next(earlier, null, PlayerRole.PLAYING));
+    }
+
+    @Test
+    public void testUpdateReorders() {
+        CompetitionIndex index = new CompetitionIndex();
+        AtomicInteger players = new AtomicInteger(1);
+        Competition<?> growing = competition("Arena", players);
+        Competition<?> other = competition("Arena", new AtomicInteger(3));
+        index.add(growing, 0);
+        index.add(other, 0);
+
+        assertSame(other, index.first(null, PlayerRole.PLAYING));
+
+        // The index only moves a competition once it is updated
+        players.set(5);
+        assertSame(other, index.first(null, PlayerRole.PLAYING));
+
+        index.update(growing);
+        assertSame(growing, index.first(null, PlayerRole.PLAYING));
+        assertSame(other, index.next(growing, null, PlayerRole.PLAYING));
+        assertNull(index.next(other, null, PlayerRole.PLAYING));
+
+        players.set(0);
+        index.update(growing);
+        assertSame(other, index.first(null, PlayerRole.PLAYING));
+        assertSame(growing, index.next(other, null, PlayerRole.PLAYING));
+    }
+
+    @Test
+    public void testUpdateReordersPerMap() {
+        CompetitionIndex index = new CompetitionIndex();
+        AtomicInteger players = new AtomicInteger(2);
+        Competition<?> first = competition("One", players);
+        Competition<?> second = competition("Two", new AtomicInteger(4));
+        index.add(first, 0);
+        index.add(second, 0);
+
+        assertSame(second, index.first(null, PlayerRole.PLAYING));
+        assertSame(first, index.first("one", PlayerRole.PLAYING));
+
+        players.set(6);
+        index.update(first);
+
+        assertSame(first, index.first(null, PlayerRole.PLAYING));
+        assertSame(first, index.first("one", PlayerRole.PLAYING));
+        assertSame(second, index.first("two", PlayerRole.PLAYING));
+
+        // Only competitions of the same map are next when a map is requested
+        assertNull(index.next(first, "one", PlayerRole.PLAYING));
+        assertSame(second, index.next(first, null, PlayerRole.PLAYING));
+    }
+
+    @Test
+    public void testRemove() {
+        CompetitionIndex index = new CompetitionIndex();
+        AtomicInteger players = new AtomicInteger(3);
+        Competition<?> removed = competition("Arena", players);
+        Competition<?> kept = competition("Arena", new AtomicInteger(1));
+        index.add(removed, 0);
+        index.add(kept, 0);
+
+        assertTrue(index.remove(removed));
+        assertFalse(index.remove(removed));
+
+        assertEquals(List.of(kept), index.getCompetitions());
+        assertEquals(List.of(kept), index.getCompetitions("Arena"));
+        assertSame(kept, index.first(null, PlayerRole.PLAYING));
+
+        // Updating a removed competition must not add it back
+        players.set(10);
+        index.update(removed);
+        assertSame(kept, index.first(null, PlayerRole.PLAYING));
+        assertNull(index.next(removed, null, PlayerRole.PLAYING));
+
+        assertTrue(index.remove(kept));
+        assertNull(index.first(null, PlayerRole.PLAYING));
+        assertNull(index.first("arena", PlayerRole.PLAYING));
+        assertEquals(List.of(), index.getCompetitions("arena"));
+    }
+
+    private static Competition<?> competition(String mapName, AtomicInteger players) {
+        CompetitionMap map = proxy(CompetitionMap.class, mapName, name -> switch (name) {
+            case "getName" -> mapName;
+            default -> throw new UnsupportedOperationException(name);
+        });
+
+        return proxy(Competition.class, mapName, name -> switch (name) {
+            case "getMap" -> map;
+            case "getAlivePlayerCount" -> players.get();
+            default -> throw new UnsupportedOperationException(name);
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, String description, Function<String, Object> handler) {
+        return type.cast(Proxy.newProxyInstance(CompetitionIndexTest.class.getClassLoader(), new Class<?>[] { type }, (self, method, args) -> switch (method.getName()) {
+            case "equals" -> self == args[0];
+            case "hashCode" -> System.identityHashCode(self);
+            case "toString" -> description;
+            default -> handler.apply(method.getName());
+        }));
+    }
+}
@@ -0,0 +1,104 @@
+package org.battleplugins.arena.competition.map;
+
+import org.battleplugins.arena.competition.map.options.Bounds;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class MapBoundsIndexTest {
+    private static final UUID WORLD = UUID.randomUUID();
+    private static final UUID OTHER_WORLD = UUID.randomUUID();
+
+    @Test
+    public void testFind() {
+        MapBoundsIndex<String> index = new MapBoundsIndex<>();
+        index.add("arena", WORLD, new Bounds(0, 0, 0, 31, 64, 31));
+
+        assertEquals("arena", index.find(WORLD, 0, 0, 0));
+        assertEquals("arena", index.find(WORLD, 31, 64, 31));
+        assertEquals("arena", index.find(WORLD, 16, 32, 8));
+
+        assertNull(index.find(WORLD, 32, 10, 10));
+        assertNull(index.find(WORLD, 10, 65, 10));
+        assertNull(index.find(OTHER_WORLD, 10, 10, 10));
+    }
+
+    @Test
+    public void testNegativeCoordinates() {
+        MapBoundsIndex<String> index = new MapBoundsIndex<>();
+        index.add("arena", WORLD, new Bounds(-40, -64, -40, -1, 10, -1));
+
+        assertEquals("arena", index.find(WORLD, -1, 0, -1));
+        assertEquals("arena", index.find(WORLD, -40, -64, -40));
+        assertEquals("arena", index.find(WORLD, -17, 5, -33));
+
+        assertNull(index.find(WORLD, 0, 0, 0));
+        assertNull(index.find(WORLD, -41, 0, -1));
+        assertNull(index.find(WORLD, -1, 0, 0));
+    }
+
+    @Test
+    public void testSpansChunks() {
+        MapBoundsIndex<String> index = new MapBoundsIndex<>();
+        index.add("large", WORLD, new Bounds(-100, 0, -100, 100, 64, 100));
+
+        for (int x = -100; x <= 100; x += 7) {
+            for (int z = -100; z <= 100; z += 7) {
+                assertEquals("large", index.find(WORLD, x, 32, z));
+            }
+        }
+
+        assertNull(index.find(WORLD, 101, 32, 0));
+        assertNull(index.find(WORLD, 0, 32, -101));
+    }
+
+    @Test
+    public void testOverlapFindsFirstAdded() {
+        MapBoundsIndex<String> index = new MapBoundsIndex<>();
+        index.add("first", WORLD, new Bounds(0, 0, 0, 20, 20, 20));
+        index.add("second", WORLD, new Bounds(10, 0, 10, 40, 20, 40));
+
+        assertEquals("first", index.find(WORLD, 15, 5, 15));
+        assertEquals("second", index.find(WORLD, 30, 5, 30));
+
+        index.remove("first");
+        assertEquals("second", index.find(WORLD, 15, 5, 15));
+        assertNull(index.find(WORLD, 5, 5, 5));
+    }
+
+    @Test
+    public void testRemove() {
+        MapBoundsIndex<String> index = new MapBoundsIndex<>();
+        index.add("arena", WORLD, new Bounds(0, 0, 0, 31, 64, 31));
+        index.add("other", OTHER_WORLD, new Bounds(0, 0, 0, 31, 64, 31));
+
+        index.remove("arena");
+        assertNull(index.find(WORLD, 10, 10, 10));
+        assertEquals("other", index.find(OTHER_WORLD, 10, 10, 10));
+
+        // Removing twice or removing what was never added does nothing
+        index.remove("arena");
+        index.remove("missing");
+        assertEquals("other", index.find(OTHER_WORLD, 10, 10, 10));
+
+        index.add("arena", WORLD, new Bounds(0, 0, 0, 31, 64, 31));
+        assertEquals("arena", index.find(WORLD, 10, 10, 10));
+    }
+
+    @Test
+    public void testAddTwiceKeepsFirstBounds() {
+        MapBoundsIndex<String> index = new MapBoundsIndex<>();
+        index.add("arena", WORLD, new Bounds(0, 0, 0, 15, 15, 15));
+        index.add("arena", WORLD, new Bounds(100, 0, 100, 115, 15, 115));
+
+        assertEquals("arena", index.find(WORLD, 5, 5, 5));
+        assertNull(index.find(WORLD, 105, 5, 105));
+
+        // Removal must clear the bounds the competition was added with
+        index.remove("arena");
+        assertNull(index.find(WORLD, 5, 5, 5));
+    }
+}
@@ -0,0 +1,107 @@
+package org.battleplugins.arena.competition.victory.types;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AliveTeamsTest {
+
+    @Test
+    public void testCountsTeams() {
+        AliveTeams<String, String> alive = new AliveTeams<>();
+        alive.put("alice", "red");
+        alive.put("bob", "red");
+        alive.put("carol", "blue");
+
+        assertEquals(3, alive.getPlayerCount());
+        assertEquals(2, alive.getTeamCount());
+        assertEquals(Set.of("alice", "bob", "carol"), alive.getPlayers());
+
+        // Counting a player again on the same team changes nothing
+        alive.put("alice", "red");
+        assertEquals(3, alive.getPlayerCount());
+        assertEquals(2, alive.getTeamCount());
+    }
+
+    @Test
+    public void testTeamSwitch() {
+        AliveTeams<String, String> alive = new AliveTeams<>();
+        alive.put("alice", "red");
+        alive.put("bob", "red");
+        alive.put("carol", "blue");
+
+        // Red still has bob
+        alive.put("alice", "blue");
+        assertEquals(2, alive.getTeamCount());
+
+        alive.put("bob", "blue");
+        assertEquals(1, alive.getTeamCount());
+        assertEquals(3, alive.getPlayerCount());
+
+        alive.put("carol", "green");
+        assertEquals(2, alive.getTeamCount());
+    }
+
+    @Test
+    public void testTeamSwitchThroughNoTeam() {
+        AliveTeams<String, String> alive = new AliveTeams<>();
+        alive.put("alice", "red");
+        alive.put("bob", "red");
+        alive.put("carol", "blue");
+
+        // Players leave their old team before joining the new one
+        alive.put("alice", null);
+        assertEquals(3, alive.getTeamCount());
+
+        alive.put("alice", "blue");
+        assertEquals(2, alive.getTeamCount());
+
+        alive.put("bob", null);
+        alive.put("bob", "blue");
+        assertEquals(1, alive.getTeamCount());
+        assertEquals(3, alive.getPlayerCount());
+    }
+
+    @Test
+    public void testRemove() {
+        AliveTeams<String, String> alive = new AliveTeams<>();
+        alive.put("alice", "red");
+        alive.put("bob", "red");
+        alive.put("carol", "blue");
+
+        alive.remove("carol");
+        assertEquals(1, alive.getTeamCount());
+        assertEquals(2, alive.getPlayerCount());
+
+        // Removing a player twice must not count their team down twice
+        alive.remove("carol");
+        alive.remove("dave");
+        assertEquals(1, alive.getTeamCount());
+
+        alive.remove("alice");
+        assertEquals(1, alive.getTeamCount());
+
+        alive.remove("bob");
+        assertEquals(0, alive.getTeamCount());
+        assertEquals(0, alive.getPlayerCount());
+
+        alive.put("carol", "blue");
+        assertEquals(1, alive.getTeamCount());
+    }
+
+    @Test
+    public void testClear() {
+        AliveTeams<String, String> alive = new AliveTeams<>();
+        alive.put("alice", "red");
+        alive.put("bob", null);
+
+        alive.clear();
+        assertEquals(0, alive.getTeamCount());
+        assertEquals(0, alive.getPlayerCount());
+
+        alive.put("alice", "red");
+        assertEquals(1, alive.getTeamCount());
+    }
+}
@@ -0,0 +1,156 @@
+package org.battleplugins.arena.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PolymorphicHashMapTest {
+
+    interface Animal {
+    }
+
+    interface Pet extends Animal {
+    }
+
+    static class Mammal {
+    }
+
+    static class Dog extends Mammal implements Pet {
+    }
+
+    static class Puppy extends Dog {
+    }
+
+    @Test
+    public void testExactLookup() {
+        PolymorphicHashMap<Class<?>, String> map = new PolymorphicHashMap<>();
+        map.put(Dog.class, "dog");
+
+        assertEquals("dog", map.get(Dog.class));
+        assertTrue(map.containsKey(Dog.class));
+        assertNull(map.get(Mammal.class));
+        assertFalse(map.containsKey(Mammal.class));
+    }
+
+    @Test
+    public void testInheritedLookup() {
+        PolymorphicHashMap<Class<?>, String> map = new PolymorphicHashMap<>();
+        map.put(Mammal.class, "mammal");
+
+        assertEquals("mammal", map.get(Puppy.class));
+
+        // The nearest superclass wins
+        map.put(Dog.class, "dog");
+        assertEquals("dog", map.get(Puppy.class));
+
+        map.remove(Dog.class);
+        assertEquals("mammal", map.get(Puppy.class));
+
+        map.remove(Mammal.class);
+        assertNull(map.get(Puppy.class));
+        assertFalse(map.containsKey(Puppy.class));
+    }
+
+    @Test
+    public void testInterfaceLookup() {
+        PolymorphicHashMap<Class<?>, String> map = new PolymorphicHashMap<>();
+        map.put(Animal.class, "animal");
+
+        assertEquals("animal", map.get(Puppy.class));
+
+        // Direct interfaces are checked before their parents
+        map.put(Pet.class, "pet");
+        assertEquals("pet", map.get(Puppy.class));
+
+        // Superclasses are checked before interfaces
+        map.put(Mammal.class, "mammal");
+        assertEquals("mammal", map.get(Puppy.class));
+
+        map.remove(Mammal.class);
+        assertEquals("pet", map.get(Puppy.class));
+
+        map.remove(Pet.class);
+        assertEquals("animal", map.get(Puppy.class));
+    }
+
+    @Test
+    public void testViewRemovalInvalidates() {
+        PolymorphicHashMap<Class<?>, String> map = new PolymorphicHashMap<>();
+        map.put(Mammal.class, "mammal");
+        map.put(Pet.class, "pet");
+        assertEquals("mammal", map.get(Puppy.class));
+
+        map.keySet().remove(Mammal.class);
+        assertEquals("pet", map.get(Puppy.class));
+
+        map.values().remove("pet");
+        assertNull(map.get(Puppy.class));
+
+        map.put(Dog.class, "dog");
+        assertEquals("dog", map.get(Puppy.class));
+
+        map.entrySet().removeIf(entry -> entry.getKey() == Dog.class);
+        assertNull(map.get(Puppy.class));
+    }
+
+    @Test
+    public void testIteratorRemovalInvalidates() {
+        PolymorphicHashMap<Class<?>, String> map = new PolymorphicHashMap<>();
+        map.put(Dog.class, "dog");
+        assertEquals("dog", map.get(Puppy.class));
+
+        Iterator<Class<?>> iterator = map.keySet().iterator();
+        iterator.next();
+        iterator.remove();
+
+        assertNull(map.get(Puppy.class));
+    }
+
+    @Test
+    public void testEntrySetValueInvalidates() {
+        PolymorphicHashMap<Class<?>, String> map = new PolymorphicHashMap<>();
+        map.put(Animal.class, "animal");
+        assertEquals("animal", map.get(Puppy.class));
+
+        for (Map.Entry<Class<?>, String> entry : map.entrySet()) {
+            entry.setValue("creature");
+        }
+
+        assertEquals("creature", map.get(Puppy.class));
+    }
+
+    @Test
+    public void testKeySetContainsSubclasses() {
+        PolymorphicHashMap<Class<?>, String> map = new PolymorphicHashMap<>();
+        map.put(Dog.class, "dog");
+
+        // Matches like containsKey, as the underlying HashMap key set does
+        assertTrue(map.keySet().contains(Dog.class));
+        assertTrue(map.keySet().contains(Puppy.class));
+        assertFalse(map.keySet().contains(Mammal.class));
+
+        // Removal through the key set is still exact
+        assertFalse(map.keySet().remove(Puppy.class));
+        assertEquals("dog", map.get(Puppy.class));
+    }
+
+    @Test
+    public void testCloneIsIndependent() {
+        PolymorphicHashMap<Class<?>, String> map = new PolymorphicHashMap<>();
+        map.put(Dog.class, "dog");
+        assertEquals("dog", map.get(Puppy.class));
+
+        @SuppressWarnings("unchecked")
+        PolymorphicHashMap<Class<?>, String> clone = (PolymorphicHashMap<Class<?>, String>) map.clone();
+        map.remove(Dog.class);
+
+        assertNull(map.get(Puppy.class));
+        assertEquals("dog", clone.get(Puppy.class));
+    }
+}